@@ -1,12 +1,26 @@
 package edu.byu.cs329.dom;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
@@ -34,6 +48,18 @@ public class DomViewer {
   private static final String NESTED_LIST_HEADER = "</span>\n<ul class=\"nested\">\n";
   private static final String NESTED_LIST_AND_ITEM_FOOTER = "</ul>\n</li>\n";
 
+  /**
+   * Metadata for each node class filled in the first time a node of that
+   * class is written, so the reflection happens once per property.
+   */
+  private static final ClassValue<Map<StructuralPropertyDescriptor, PropertyMetadata>> METADATA =
+      new ClassValue<Map<StructuralPropertyDescriptor, PropertyMetadata>>() {
+        @Override
+        protected Map<StructuralPropertyDescriptor, PropertyMetadata> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   /**
    * Given the ASTNode instance, print the HTML tree representation to a file.
    * 
@@ -41,16 +67,29 @@ public class DomViewer {
    * @param file The file to output the HTML.
    */
   public static void writeDomToFile(ASTNode node, String file) {
-    String nodeAsHtml = writeAsHtml2(node);
-    try {
-      PrintWriter writer = new PrintWriter(file, "UTF-8");
-      writer.print(nodeAsHtml);
-      writer.close();
+    try (Writer writer = new BufferedWriter(
+        new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+      writeAsHtml(node, writer);
     } catch (Exception e) {
       e.printStackTrace();
     }
   }
 
+  /**
+   * Write the HTML tree representation of the ASTNode as it walks the tree.
+   * 
+   * @param node The ASTNode instance to print in a tree view.
+   * @param writer Where to write the HTML.
+   * @throws IOException if the writer fails.
+   */
+  public static void writeAsHtml(ASTNode node, Writer writer) throws IOException {
+    writer.write(getHead());
+    writer.write("<ul id=\"myUL\">\n");
+    writeNodeAsHtml(node, writer);
+    writer.write("</ul>\n\n");
+    writer.write(getFoot());
+  }
+
   private static String getHead() {
     return "<!DOCTYPE html>\n" + "<html>\n" + "<head>\n"
         + "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n" + "<style>\n"
@@ -80,45 +119,82 @@ public class DomViewer {
         + "</body>\n" + "</html>\n";
   }
 
-  private static String writeAsHtml2(ASTNode node) {
-    String output = "";
-    output += getHead();
-    output += "<ul id=\"myUL\">\n";
-    output += astNodeAsHtmlInner(node);
-    output += "</ul>\n\n";
-    output += getFoot();
-    return output;
+  /**
+   * The position of the walk in one node: the next property to write and,
+   * while a child property or list property is open, the next child.
+   */
+  private static class Frame {
+    final ASTNode node;
+    final List<?> properties;
+    int propertyIndex = 0;
+    List<?> children = null;
+    int childIndex = 0;
+
+    Frame(ASTNode node) {
+      this.node = node;
+      this.properties = node.structuralPropertiesForType();
+    }
   }
 
   /**
-   * Recursive function that creates a nested HTML tree.
+   * Writes a nested HTML tree for the node. The walk keeps its own stack
+   * with one frame per level so deep trees do not overflow the call stack.
    * 
-   * @param node The ASTNode to display.
-   * @return The HTML representation of the ASTNode.
+   * @param root The ASTNode to display.
+   * @param writer Where to write the HTML.
+   * @throws IOException if the writer fails.
    */
-  private static String astNodeAsHtmlInner(ASTNode node) {
+  private static void writeNodeAsHtml(ASTNode root, Writer writer) throws IOException {
+    Deque<Frame> stack = new ArrayDeque<>();
+    stack.push(openNode(root, writer));
 
-    String output = ITEM_HEADER + node.getClass().getSimpleName() + NESTED_LIST_HEADER;
+    while (!stack.isEmpty()) {
+      Frame frame = stack.peek();
 
-    for (Object obj : node.structuralPropertiesForType()) {
-      StructuralPropertyDescriptor descriptor = (StructuralPropertyDescriptor) obj;
+      // Write the next child of the open child or list property
+      if (frame.children != null) {
+        if (frame.childIndex < frame.children.size()) {
+          ASTNode child = (ASTNode) frame.children.get(frame.childIndex++);
+          stack.push(openNode(child, writer));
+        } else {
+          writer.write(NESTED_LIST_AND_ITEM_FOOTER);
+          frame.children = null;
+        }
+        continue;
+      }
+
+      if (frame.propertyIndex == frame.properties.size()) {
+        writer.write(NESTED_LIST_AND_ITEM_FOOTER);
+        stack.pop();
+        continue;
+      }
+
+      ASTNode node = frame.node;
+      StructuralPropertyDescriptor descriptor =
+          (StructuralPropertyDescriptor) frame.properties.get(frame.propertyIndex++);
 
       if (descriptor instanceof SimplePropertyDescriptor) {
         Object value = node.getStructuralProperty(descriptor);
-        
+
         if (value == null) {
           log.warn("Ignoring null StructuralProperty from SimplePropertyDescriptor {} for node {}", descriptor, node);
           continue;
         }
-        
-        output += "<li>" + value.getClass().getSimpleName() + " " 
-            + getMethodName(descriptor, value.getClass()) + "() =&gt; \'" + value.toString() 
-            + "\'</li>\n";
-      
+
+        writer.write("<li>");
+        writer.write(value.getClass().getSimpleName());
+        writer.write(" ");
+        PropertyMetadata metadata = getMetadata(node, descriptor);
+        writer.write(value instanceof Boolean ? metadata.booleanMethodName : metadata.methodName);
+        writer.write("() =&gt; \'");
+        writer.write(value.toString());
+        writer.write("\'</li>\n");
+
       } else if (descriptor instanceof ChildPropertyDescriptor) {
         ASTNode childNode = (ASTNode) node.getStructuralProperty(descriptor);
-        String methodName = getMethodName(descriptor, null);
-        String methodReturnType = getMethodReturnType(node, methodName);
+        PropertyMetadata metadata = getMetadata(node, descriptor);
+        String methodName = metadata.methodName;
+        String methodReturnType = metadata.returnTypeName;
         log.trace("Descriptor methodName: {} returnType {}", methodName, methodReturnType);
 
         // Ignore JavaDoc Property. JavaDoc is part of the AST and their children have no value
@@ -126,39 +202,75 @@ public class DomViewer {
           continue;
         }
 
-        output += ITEM_HEADER + methodReturnType + " " + methodName + "()" + NESTED_LIST_HEADER;
-        if (childNode != null) {
-          output += astNodeAsHtmlInner(childNode);
-        }
-        output += NESTED_LIST_AND_ITEM_FOOTER;
-      
+        writer.write(ITEM_HEADER);
+        writer.write(methodReturnType);
+        writer.write(" ");
+        writer.write(methodName);
+        writer.write("()");
+        writer.write(NESTED_LIST_HEADER);
+        frame.children = childNode != null
+            ? Collections.singletonList(childNode) : Collections.emptyList();
+        frame.childIndex = 0;
+
       } else {
         ChildListPropertyDescriptor list = (ChildListPropertyDescriptor) descriptor;
-        output += ITEM_HEADER + "List&lt;" + list.getElementType().getSimpleName() + "&gt; " 
-            + list.getId() + "()" + NESTED_LIST_HEADER;
+        writer.write(ITEM_HEADER);
+        writer.write("List&lt;");
+        writer.write(list.getElementType().getSimpleName());
+        writer.write("&gt; ");
+        writer.write(list.getId());
+        writer.write("()");
+        writer.write(NESTED_LIST_HEADER);
+        frame.children = (List<?>) node.getStructuralProperty(list);
+        frame.childIndex = 0;
+      }
+    }
+  }
 
-        for (Object j : (List<?>) node.getStructuralProperty(list)) {
-          output += astNodeAsHtmlInner((ASTNode) j);
-        }
+  private static Frame openNode(ASTNode node, Writer writer) throws IOException {
+    writer.write(ITEM_HEADER);
+    writer.write(node.getClass().getSimpleName());
+    writer.write(NESTED_LIST_HEADER);
+    return new Frame(node);
+  }
 
-        output += NESTED_LIST_AND_ITEM_FOOTER;
-      }
+  /**
+   * The names written for one property of one node class.
+   */
+  private static class PropertyMetadata {
+    final String methodName;
+    final String booleanMethodName;
+    final String returnTypeName;
 
+    PropertyMetadata(Class<?> nodeClass, StructuralPropertyDescriptor descriptor) {
+      methodName = getMethodName(descriptor, null);
+      booleanMethodName = getMethodName(descriptor, Boolean.class);
+      returnTypeName = descriptor instanceof ChildPropertyDescriptor
+          ? getMethodReturnType(nodeClass, methodName) : null;
     }
+  }
 
-    output += NESTED_LIST_AND_ITEM_FOOTER;
-    return output;
+  private static PropertyMetadata getMetadata(ASTNode node,
+      StructuralPropertyDescriptor descriptor) {
+    Class<?> nodeClass = node.getClass();
+    Map<StructuralPropertyDescriptor, PropertyMetadata> metadataMap = METADATA.get(nodeClass);
+    PropertyMetadata metadata = metadataMap.get(descriptor);
+    if (metadata == null) {
+      metadata = new PropertyMetadata(nodeClass, descriptor);
+      metadataMap.put(descriptor, metadata);
+    }
+    return metadata;
   }
 
-  private static String getMethodReturnType(ASTNode node, String methodName) {
+  private static String getMethodReturnType(Class<?> nodeClass, String methodName) {
     String methodReturnType = "*";
     try {
-      methodReturnType = node.getClass()
+      methodReturnType = nodeClass
           .getMethod(methodName)
           .getReturnType()
           .getSimpleName();
     } catch (NoSuchMethodException | SecurityException e) {
-      log.warn("Method name {} does not exist for class {}", methodName, node.getClass());
+      log.warn("Method name {} does not exist for class {}", methodName, nodeClass);
     }
     return methodReturnType;
   }
@@ -172,17 +284,71 @@ public class DomViewer {
   /**
    * Read the file at path and return its contents as a String.
    * 
+   * <p>Each line ends in a newline except the last, so a file with Windows
+   * or old Mac line endings, or with a trailing newline, reads the same as
+   * joining its lines with "\n".
+   * 
    * @param path The location of the file to be read.
    * @return The contents of the file as a String.
    */
   public static String readFile(final String path) {
+    return new String(readFileChars(path));
+  }
+
+  /**
+   * Read the UTF-8 file at path into a char array with the same contents as
+   * readFile.
+   * 
+   * <p>The bytes are read in one call and decoded straight into the array,
+   * and the line endings are rewritten in place, so the file is never held
+   * as a list of lines or a String.
+   * 
+   * @param path The location of the file to be read.
+   * @return The contents of the file.
+   */
+  public static char[] readFileChars(final String path) {
     try {
-      return String.join("\n", Files.readAllLines(Paths.get(path)));
+      return joinLines(decode(Files.readAllBytes(Paths.get(path))));
     } catch (IOException ioe) {
       throw new RuntimeException("Error reading input file. Check input file path", ioe);
     }
   }
 
+  private static char[] decode(byte[] bytes) throws IOException {
+    // UTF-8 never decodes to more characters than it has bytes
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPORT)
+        .onUnmappableCharacter(CodingErrorAction.REPORT);
+    char[] chars = new char[bytes.length];
+    CharBuffer out = CharBuffer.wrap(chars);
+    CoderResult result = decoder.decode(ByteBuffer.wrap(bytes), out, true);
+    if (!result.isError()) {
+      result = decoder.flush(out);
+    }
+    if (result.isError()) {
+      result.throwException();
+    }
+    return out.position() == chars.length ? chars : Arrays.copyOf(chars, out.position());
+  }
+
+  private static char[] joinLines(char[] chars) {
+    int length = 0;
+    for (int i = 0; i < chars.length; ++i) {
+      char c = chars[i];
+      if (c == '\r') {
+        c = '\n';
+        if (i + 1 < chars.length && chars[i + 1] == '\n') {
+          ++i;
+        }
+      }
+      chars[length++] = c;
+    }
+    if (length > 0 && chars[length - 1] == '\n') {
+      --length;
+    }
+    return length == chars.length ? chars : Arrays.copyOf(chars, length);
+  }
+
   /**
    * Parse the given source.
    * 
@@ -190,9 +356,19 @@ public class DomViewer {
    * @return An ASTNode representing the entire program.
    */
   public static ASTNode parse(final String sourceString) {
+    return parse(sourceString.toCharArray());
+  }
+
+  /**
+   * Parse the given source.
+   * 
+   * @param source The contents of some set of Java files.
+   * @return An ASTNode representing the entire program.
+   */
+  public static ASTNode parse(final char[] source) {
     ASTParser parser = ASTParser.newParser(AST.JLS3);
     parser.setKind(ASTParser.K_COMPILATION_UNIT);
-    parser.setSource(sourceString.toCharArray());
+    parser.setSource(source);
     Map<?, ?> options = JavaCore.getOptions();
     JavaCore.setComplianceOptions(JavaCore.VERSION_1_7, options);
     parser.setCompilerOptions(options);
@@ -212,8 +388,7 @@ public class DomViewer {
     }
 
     File inputFile = new File(args[0]);
-    String inputFileAsString = readFile(inputFile.getPath());
-    ASTNode node = parse(inputFileAsString);
+    ASTNode node = parse(readFileChars(inputFile.getPath()));
 
     log.info("Node parsed from {}. Writing to file {}. Parsed node: {}", inputFile, args[1], node);
     writeDomToFile(node, args[1]);
@@ -0,0 +1,70 @@
+package edu.byu.cs329.dom;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Tests for reading files in DomViewer")
+public class DomViewerTests {
+
+  @TempDir
+  Path tempDir;
+
+  String write(String name, String contents) throws IOException {
+    Path file = tempDir.resolve(name);
+    Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    return file.toString();
+  }
+
+  String readJoinedLines(String path) throws IOException {
+    return String.join("\n", Files.readAllLines(Paths.get(path)));
+  }
+
+  @Test
+  @DisplayName("Should decode UTF-8 when the file has non-ASCII characters")
+  void should_DecodeUtf8_when_NonAscii() throws IOException {
+    String contents = "class Café {\n  String s = \"über 中文 😀\";\n}";
+    String path = write("Cafe.java", contents);
+    assertEquals(contents, DomViewer.readFile(path));
+    assertArrayEquals(contents.toCharArray(), DomViewer.readFileChars(path));
+  }
+
+  @Test
+  @DisplayName("Should join lines with newlines when the file has CRLF or CR line endings")
+  void should_JoinLinesWithNewlines_when_LineEndingsDiffer() throws IOException {
+    String path = write("Mixed.java", "class A {\r\n  int x;\r  int y;\n\n}\r\n");
+    assertEquals("class A {\n  int x;\n  int y;\n\n}", DomViewer.readFile(path));
+    assertEquals(readJoinedLines(path), DomViewer.readFile(path));
+  }
+
+  @Test
+  @DisplayName("Should drop only the last newline when the file ends with newlines")
+  void should_DropLastNewline_when_TrailingNewlines() throws IOException {
+    String path = write("Trailing.java", "class A {}\n\n");
+    assertEquals("class A {}\n", DomViewer.readFile(path));
+    assertEquals(readJoinedLines(path), DomViewer.readFile(path));
+  }
+
+  @Test
+  @DisplayName("Should read an empty string when the file is empty")
+  void should_ReadEmptyString_when_FileEmpty() throws IOException {
+    String path = write("Empty.java", "");
+    assertEquals("", DomViewer.readFile(path));
+  }
+
+  @Test
+  @DisplayName("Should throw RuntimeException when the file is missing")
+  void should_ThrowRuntimeException_when_FileMissing() {
+    String path = tempDir.resolve("Missing.java").toString();
+    assertThrows(RuntimeException.class, () -> DomViewer.readFile(path));
+  }
+}
@@ -0,0 +1,159 @@
+package edu.byu.cs329.benchmarks;
+
+import edu.byu.cs329.cfg.BasicBlockGraph;
+import edu.byu.cs329.cfg.CompactControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.constantfolding.ConstantFolding;
+import edu.byu.cs329.constantpropagation.ConstantPropagation;
+import edu.byu.cs329.constantpropagation.SparseConditionalConstantPropagation;
+import edu.byu.cs329.rd.BitVectorReachingDefinitionsBuilder;
+import edu.byu.cs329.rd.DefUseIndex;
+import edu.byu.cs329.rd.DemandReachingDefinitionsBuilder;
+import edu.byu.cs329.rd.MethodAnalysisBuilder;
+import edu.byu.cs329.rd.MethodAnalysisBuilder.MethodAnalysis;
+import edu.byu.cs329.rd.ReachingDefinitions;
+import edu.byu.cs329.rd.ReachingDefinitionsBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building control flow graphs, computing reaching definitions,
+ * and the whole constant propagation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisBenchmark {
+
+  /**
+   * The program parsed and folded once and its control flow graphs. Neither
+   * analysis changes the tree so both can be shared across invocations. The
+   * program is folded first the same as in constant propagation.
+   */
+  @State(Scope.Benchmark)
+  public static class Analyzed {
+    ASTNode root;
+    List<ControlFlowGraph> cfgList;
+    List<List<SimpleName>> useLists;
+
+    /**
+     * Parses and folds the program and builds its control flow graphs.
+     *
+     * @param program the program to analyze.
+     */
+    @Setup(Level.Trial)
+    public void analyze(SyntheticProgramState program) {
+      root = program.parse();
+      ConstantFolding.fold(root);
+      cfgList = new ControlFlowGraphBuilder().build(root);
+      useLists = new ArrayList<>();
+      for (ControlFlowGraph cfg : cfgList) {
+        List<SimpleName> useList = new ArrayList<>();
+        cfg.getMethodDeclaration().getBody().accept(new ASTVisitor() {
+          @Override
+          public boolean visit(SimpleName name) {
+            if (!name.isDeclaration()) {
+              useList.add(name);
+            }
+            return false;
+          }
+        });
+        useLists.add(useList);
+      }
+    }
+  }
+
+  /**
+   * A newly parsed program for each invocation since propagation changes
+   * the tree.
+   */
+  @State(Scope.Thread)
+  public static class Parsed {
+    ASTNode root;
+
+    @Setup(Level.Invocation)
+    public void parse(SyntheticProgramState program) {
+      root = program.parse();
+    }
+  }
+
+  @Benchmark
+  public List<ControlFlowGraph> buildControlFlowGraphs(Analyzed analyzed) {
+    return new ControlFlowGraphBuilder().build(analyzed.root);
+  }
+
+  @Benchmark
+  public List<CompactControlFlowGraph> buildCompactControlFlowGraphs(Analyzed analyzed) {
+    return new ControlFlowGraphBuilder().buildCompact(analyzed.root);
+  }
+
+  @Benchmark
+  public List<BasicBlockGraph> buildBasicBlockGraphs(Analyzed analyzed) {
+    return new ControlFlowGraphBuilder().buildBasicBlocks(analyzed.root);
+  }
+
+  @Benchmark
+  public List<ReachingDefinitions> buildReachingDefinitions(Analyzed analyzed) {
+    return new ReachingDefinitionsBuilder().build(analyzed.cfgList);
+  }
+
+  @Benchmark
+  public List<ReachingDefinitions> buildBitVectorReachingDefinitions(Analyzed analyzed) {
+    return new BitVectorReachingDefinitionsBuilder().build(analyzed.cfgList);
+  }
+
+  @Benchmark
+  public List<MethodAnalysis> buildMethodAnalysesInParallel(Analyzed analyzed) {
+    return new MethodAnalysisBuilder().build(analyzed.root);
+  }
+
+  @Benchmark
+  public boolean propagate(Parsed parsed) {
+    return ConstantPropagation.propagate(parsed.root);
+  }
+
+  @Benchmark
+  public boolean propagateConditionally(Parsed parsed) {
+    return SparseConditionalConstantPropagation.propagate(parsed.root);
+  }
+
+  @Benchmark
+  public int queryUsesWithBitVectorReachingDefinitions(Analyzed analyzed) {
+    return queryUses(analyzed, new BitVectorReachingDefinitionsBuilder().build(analyzed.cfgList));
+  }
+
+  @Benchmark
+  public int queryUsesWithDemandReachingDefinitions(Analyzed analyzed) {
+    return queryUses(analyzed, new DemandReachingDefinitionsBuilder().build(analyzed.cfgList));
+  }
+
+  private static int queryUses(Analyzed analyzed, List<ReachingDefinitions> rdList) {
+    int count = 0;
+    for (int i = 0; i < rdList.size(); ++i) {
+      DefUseIndex index = DefUseIndex.of(rdList.get(i),
+              analyzed.cfgList.get(i).getMethodDeclaration());
+      for (SimpleName use : analyzed.useLists.get(i)) {
+        count += index.getReachingDefinitions(use).size();
+      }
+    }
+    return count;
+  }
+}
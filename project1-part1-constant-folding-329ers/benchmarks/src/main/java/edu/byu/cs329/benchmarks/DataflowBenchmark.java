@@ -0,0 +1,110 @@
+package edu.byu.cs329.benchmarks;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.constantfolding.ConstantFolding;
+import edu.byu.cs329.dataflow.AvailableExpressionsAnalysis;
+import edu.byu.cs329.dataflow.DataflowResult;
+import edu.byu.cs329.dataflow.DataflowSolver;
+import edu.byu.cs329.dataflow.LivenessAnalysis;
+import edu.byu.cs329.dataflow.ReachingDefinitionsAnalysis;
+import edu.byu.cs329.dataflow.WorklistStrategy;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the dataflow solver with each worklist strategy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataflowBenchmark {
+
+  /**
+   * The control flow graphs of the folded program and a solver.
+   */
+  @State(Scope.Benchmark)
+  public static class Graphs {
+    @Param({"FIFO", "REVERSE_POSTORDER", "SCC"})
+    public String strategy;
+
+    List<ControlFlowGraph> cfgList;
+    DataflowSolver solver;
+
+    /**
+     * Parses and folds the program and builds its control flow graphs.
+     *
+     * @param program the program to analyze.
+     */
+    @Setup(Level.Trial)
+    public void analyze(SyntheticProgramState program) {
+      ASTNode root = program.parse();
+      ConstantFolding.fold(root);
+      cfgList = new ControlFlowGraphBuilder().build(root);
+      solver = new DataflowSolver(WorklistStrategy.valueOf(strategy));
+    }
+  }
+
+  /**
+   * Solves reaching definitions for every method.
+   *
+   * @param graphs the control flow graphs and the solver.
+   * @return the definitions that reach each statement of each method.
+   */
+  @Benchmark
+  public List<DataflowResult<Set<Definition>>> solveReachingDefinitions(Graphs graphs) {
+    List<DataflowResult<Set<Definition>>> resultList = new ArrayList<>();
+    for (ControlFlowGraph cfg : graphs.cfgList) {
+      resultList.add(graphs.solver.solve(cfg, new ReachingDefinitionsAnalysis(cfg)));
+    }
+    return resultList;
+  }
+
+  /**
+   * Solves liveness for every method.
+   *
+   * @param graphs the control flow graphs and the solver.
+   * @return the variables live at each statement of each method.
+   */
+  @Benchmark
+  public List<DataflowResult<Set<String>>> solveLiveness(Graphs graphs) {
+    List<DataflowResult<Set<String>>> resultList = new ArrayList<>();
+    for (ControlFlowGraph cfg : graphs.cfgList) {
+      resultList.add(graphs.solver.solve(cfg, new LivenessAnalysis(cfg)));
+    }
+    return resultList;
+  }
+
+  /**
+   * Solves available expressions for every method.
+   *
+   * @param graphs the control flow graphs and the solver.
+   * @return the expressions available at each statement of each method.
+   */
+  @Benchmark
+  public List<DataflowResult<Set<String>>> solveAvailableExpressions(Graphs graphs) {
+    List<DataflowResult<Set<String>>> resultList = new ArrayList<>();
+    for (ControlFlowGraph cfg : graphs.cfgList) {
+      resultList.add(graphs.solver.solve(cfg, new AvailableExpressionsAnalysis(cfg)));
+    }
+    return resultList;
+  }
+}
@@ -0,0 +1,108 @@
+package edu.byu.cs329.benchmarks;
+
+import edu.byu.cs329.constantfolding.BinaryRelationFolding;
+import edu.byu.cs329.constantfolding.BlockFolding;
+import edu.byu.cs329.constantfolding.ConstantExpressionFolding;
+import edu.byu.cs329.constantfolding.ConstantFolding;
+import edu.byu.cs329.constantfolding.Folding;
+import edu.byu.cs329.constantfolding.IfBoolFolding;
+import edu.byu.cs329.constantfolding.NumericPlusInfixFolding;
+import edu.byu.cs329.constantfolding.ParenthesizedExpressionFolding;
+import edu.byu.cs329.constantfolding.PrefixNotBoolFolding;
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures each folding on its own and all of them together.
+ *
+ * <p>Folding changes the tree, so every invocation folds a newly parsed
+ * copy of the program. The parse is not part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FoldingBenchmark {
+
+  @Param({
+      "BlockFolding",
+      "ParenthesizedExpressionFolding",
+      "PrefixNotBoolFolding",
+      "NumericPlusInfixFolding",
+      "BinaryRelationFolding",
+      "ConstantExpressionFolding",
+      "IfBoolFolding",
+      "ConstantFolding"})
+  public String folding;
+
+  private Folding folder;
+  private ASTNode root;
+
+  /**
+   * Creates the folding under test.
+   */
+  @Setup(Level.Trial)
+  public void createFolding() {
+    switch (folding) {
+      case "BlockFolding":
+        folder = new BlockFolding();
+        break;
+      case "ParenthesizedExpressionFolding":
+        folder = new ParenthesizedExpressionFolding();
+        break;
+      case "PrefixNotBoolFolding":
+        folder = new PrefixNotBoolFolding();
+        break;
+      case "NumericPlusInfixFolding":
+        folder = new NumericPlusInfixFolding();
+        break;
+      case "BinaryRelationFolding":
+        folder = new BinaryRelationFolding();
+        break;
+      case "ConstantExpressionFolding":
+        folder = new ConstantExpressionFolding();
+        break;
+      case "IfBoolFolding":
+        folder = new IfBoolFolding();
+        break;
+      case "ConstantFolding":
+        folder = null;
+        break;
+      default:
+        ExceptionUtils.throwRuntimeException("Unknown folding " + folding);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void parse(SyntheticProgramState program) {
+    root = program.parse();
+  }
+
+  /**
+   * Folds the program once.
+   *
+   * @return true if the program folded.
+   */
+  @Benchmark
+  public boolean fold() {
+    if (folder == null) {
+      return ConstantFolding.fold(root);
+    }
+    return folder.fold(root);
+  }
+}
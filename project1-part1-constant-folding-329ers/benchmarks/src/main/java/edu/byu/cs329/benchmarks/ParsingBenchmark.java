@@ -0,0 +1,47 @@
+package edu.byu.cs329.benchmarks;
+
+import edu.byu.cs329.utils.JavaSourceParser;
+import edu.byu.cs329.utils.JavaSourceUtils;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading and parsing a Java file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+
+  private final JavaSourceParser cachingParser = new JavaSourceParser(16);
+
+  @Benchmark
+  public ASTNode getCompilationUnit(SyntheticProgramState program) {
+    return JavaSourceUtils.getCompilationUnit(program.uri);
+  }
+
+  /**
+   * Gets the same unchanged file through the cache, so only the first call
+   * reads and parses the file and every call returns the shared tree.
+   *
+   * @param program the program to parse.
+   * @return the read-only CompilationUnit for the program.
+   */
+  @Benchmark
+  public ASTNode parseCached(SyntheticProgramState program) {
+    return cachingParser.parseShared(Paths.get(program.uri));
+  }
+}
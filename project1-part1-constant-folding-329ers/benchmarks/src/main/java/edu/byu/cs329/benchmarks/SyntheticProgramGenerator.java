@@ -0,0 +1,119 @@
+package edu.byu.cs329.benchmarks;
+
+import edu.byu.cs329.utils.ExceptionUtils;
+
+/**
+ * Generates Java programs of a given size for the benchmarks.
+ *
+ * <p>Each method takes one int parameter and starts with a few constant
+ * declarations. The body of each loop and each branch is then nested to the
+ * given depth, alternating between plain blocks and ifs, and every level
+ * assigns the method variables. The expressions are chosen so that every
+ * folding has something to fold and constant propagation has definitions to
+ * replace.
+ *
+ * <p>The output stays inside the subset of Java that the analyses support:
+ * only assignments as expression statements, one fragment per declaration,
+ * and a statement after every nested if. The control flow graph builder
+ * does not support plain nested blocks, so the program must be folded
+ * before building its graphs.
+ */
+public class SyntheticProgramGenerator {
+
+  private static final String INDENT = "  ";
+
+  private final int methodCount;
+  private final int depth;
+  private final int loopCount;
+  private final int branchCount;
+
+  /**
+   * Creates a generator.
+   *
+   * @param methodCount number of methods in the class.
+   * @param depth nesting depth of each loop and branch.
+   * @param loopCount number of while loops in each method.
+   * @param branchCount number of if statements in each method.
+   * @requires methodCount > 0
+   * @requires depth >= 0 && loopCount >= 0 && branchCount >= 0
+   */
+  public SyntheticProgramGenerator(int methodCount, int depth, int loopCount, int branchCount) {
+    if (methodCount <= 0 || depth < 0 || loopCount < 0 || branchCount < 0) {
+      ExceptionUtils.throwRuntimeException(
+              "Invalid size passed to SyntheticProgramGenerator");
+    }
+    this.methodCount = methodCount;
+    this.depth = depth;
+    this.loopCount = loopCount;
+    this.branchCount = branchCount;
+  }
+
+  /**
+   * Generates the source of a class.
+   *
+   * @param className the simple name of the class.
+   * @return the source of the class.
+   */
+  public String generate(String className) {
+    StringBuilder builder = new StringBuilder();
+    builder.append("package benchmarks;\n\n");
+    builder.append("public class ").append(className).append(" {\n");
+    for (int i = 0; i < methodCount; ++i) {
+      if (i > 0) {
+        builder.append('\n');
+      }
+      appendMethod(builder, i);
+    }
+    builder.append("}\n");
+    return builder.toString();
+  }
+
+  private void appendMethod(StringBuilder builder, int index) {
+    line(builder, 1, "public int method" + index + "(int p) {");
+    line(builder, 2, "int a = (1 + 2) + " + index + ";");
+    line(builder, 2, "int b = a;");
+    line(builder, 2, "boolean f = !(3 < 4);");
+    line(builder, 2, "int c;");
+    for (int i = 0; i < loopCount; ++i) {
+      line(builder, 2, "while (p < " + (10 + i) + ") {");
+      appendNested(builder, 3, depth);
+      line(builder, 3, "p = p + 1;");
+      line(builder, 2, "}");
+    }
+    for (int i = 0; i < branchCount; ++i) {
+      line(builder, 2, "if (b < " + (5 + i) + ") {");
+      appendNested(builder, 3, depth);
+      line(builder, 2, "} else {");
+      line(builder, 3, "c = b + " + i + ";");
+      line(builder, 2, "}");
+    }
+    line(builder, 2, "return b;");
+    line(builder, 1, "}");
+  }
+
+  private void appendNested(StringBuilder builder, int level, int remaining) {
+    line(builder, level, "b = a;");
+    line(builder, level, "c = (b + 2) + 3;");
+    line(builder, level, "if (!false) {");
+    line(builder, level + 1, "c = 1 + 2;");
+    line(builder, level, "}");
+    if (remaining == 0) {
+      return;
+    }
+    if (remaining % 2 == 0) {
+      line(builder, level, "{");
+    } else {
+      line(builder, level, "if (c < " + (10 + remaining) + ") {");
+    }
+    appendNested(builder, level + 1, remaining - 1);
+    line(builder, level, "}");
+    line(builder, level, "c = b + 1;");
+  }
+
+  private static void line(StringBuilder builder, int level, String text) {
+    for (int i = 0; i < level; ++i) {
+      builder.append(INDENT);
+    }
+    builder.append(text).append('\n');
+  }
+}
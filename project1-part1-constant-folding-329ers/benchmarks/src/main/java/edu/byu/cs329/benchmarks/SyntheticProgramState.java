@@ -0,0 +1,74 @@
+package edu.byu.cs329.benchmarks;
+
+import edu.byu.cs329.utils.JavaSourceUtils;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A synthetic program written to a temporary file once per trial.
+ *
+ * <p>The size parameters are shared by all the benchmarks so that results
+ * for the same sizes can be compared across the stages of the pipeline.
+ */
+@State(Scope.Benchmark)
+public class SyntheticProgramState {
+
+  @Param({"1", "16"})
+  public int methodCount;
+
+  @Param({"2", "8"})
+  public int depth;
+
+  @Param({"2"})
+  public int loopCount;
+
+  @Param({"2"})
+  public int branchCount;
+
+  public URI uri;
+
+  private Path file;
+
+  /**
+   * Generates the program and writes it to a temporary file.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  @Setup(Level.Trial)
+  public void writeProgram() throws IOException {
+    String source = new SyntheticProgramGenerator(methodCount, depth, loopCount, branchCount)
+            .generate("Synthetic");
+    file = Files.createTempFile("Synthetic", ".java");
+    Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+    uri = file.toUri();
+  }
+
+  /**
+   * Deletes the temporary file.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void deleteProgram() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * Parses a new copy of the program.
+   *
+   * @return the CompilationUnit for the program.
+   */
+  public ASTNode parse() {
+    return JavaSourceUtils.getCompilationUnit(uri);
+  }
+}
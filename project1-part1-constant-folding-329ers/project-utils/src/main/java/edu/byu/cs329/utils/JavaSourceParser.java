@@ -0,0 +1,246 @@
+package edu.byu.cs329.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses Java source into a CompilationUnit.
+ *
+ * <p>The compiler options are computed once for all parsers, and each thread
+ * reuses its own ASTParser. A parser resets itself at the end of every parse
+ * so it is configured again before each one.
+ *
+ * <p>A parser created with a cache size keeps the CompilationUnit of the
+ * most recently shared files keyed by path, modification time, and size.
+ * parseShared hands out the cached tree itself, so every caller of the same
+ * unchanged file gets the same instance, with its comments and line numbers.
+ * Shared trees are read-only. Each node is protected when the tree is
+ * cached, so any change to it throws IllegalArgumentException. parse always
+ * reads and parses the file into a new tree the caller is free to change.
+ */
+public class JavaSourceParser {
+  static final Logger log = LoggerFactory.getLogger(JavaSourceParser.class);
+
+  private static final Map<String, String> OPTIONS = newOptions();
+
+  private static final ThreadLocal<ASTParser> PARSER =
+          ThreadLocal.withInitial(() -> ASTParser.newParser(AST.JLS3));
+
+  private final Map<CacheKey, ASTNode> cache;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * Creates a parser without a cache.
+   */
+  public JavaSourceParser() {
+    this(0);
+  }
+
+  /**
+   * Creates a parser that caches up to cacheSize files.
+   *
+   * @param cacheSize the most files to keep in the cache, 0 for no cache.
+   * @requires cacheSize >= 0
+   */
+  public JavaSourceParser(final int cacheSize) {
+    if (cacheSize < 0) {
+      ExceptionUtils.throwRuntimeException(
+              "Negative cache size passed to JavaSourceParser");
+    }
+    if (cacheSize == 0) {
+      cache = null;
+      return;
+    }
+    cache = Collections.synchronizedMap(new LinkedHashMap<CacheKey, ASTNode>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, ASTNode> eldest) {
+        return size() > cacheSize;
+      }
+    });
+  }
+
+  /**
+   * Parses the source.
+   *
+   * @param source the Java source.
+   * @return ASTNode for the CompilationUnit of the source.
+   * @requires source != null
+   */
+  public ASTNode parse(final char[] source) {
+    ExceptionUtils.requiresNonNull(source, "Null source passed to JavaSourceParser.parse");
+    ASTParser parser = PARSER.get();
+    parser.setKind(ASTParser.K_COMPILATION_UNIT);
+    parser.setSource(source);
+    parser.setCompilerOptions(OPTIONS);
+    return parser.createAST(null);
+  }
+
+  /**
+   * Reads and parses the file.
+   *
+   * <p>The cache is not used, so the tree is new and may be changed. A file
+   * that cannot be read is logged and parses as empty source.
+   *
+   * @param file the path to the file.
+   * @return ASTNode for the CompilationUnit in the file.
+   * @requires file != null
+   */
+  public ASTNode parse(final Path file) {
+    ExceptionUtils.requiresNonNull(file, "Null file passed to JavaSourceParser.parse");
+    return parse(readFile(file));
+  }
+
+  /**
+   * Gets the read-only tree of the file from the cache, parsing it if the
+   * file is new or has changed since it was cached.
+   *
+   * <p>A miss parses the file, protects every node, and caches the tree. A
+   * hit returns that same tree, so it costs no parse and no copy. The tree
+   * must not be changed, and any attempt throws IllegalArgumentException. A
+   * caller that needs to change the tree uses parse instead. A parser
+   * without a cache, or a file that cannot be read, gives a new tree that
+   * is not cached.
+   *
+   * @param file the path to the file.
+   * @return ASTNode for the read-only CompilationUnit in the file.
+   * @requires file != null
+   */
+  public ASTNode parseShared(final Path file) {
+    ExceptionUtils.requiresNonNull(file, "Null file passed to JavaSourceParser.parseShared");
+    if (cache == null) {
+      return parse(readFile(file));
+    }
+
+    CacheKey key = getCacheKey(file);
+    if (key == null) {
+      missCount.incrementAndGet();
+      return parse(readFile(file));
+    }
+
+    ASTNode cached = cache.get(key);
+    if (cached != null) {
+      hitCount.incrementAndGet();
+      return cached;
+    }
+
+    missCount.incrementAndGet();
+    ASTNode node = parse(readFile(file));
+    protect(node);
+    cache.put(key, node);
+    return node;
+  }
+
+  /**
+   * Gets the number of shared trees answered from the cache.
+   *
+   * @return the number of cache hits.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Gets the number of shared trees that were not in the cache.
+   *
+   * @return the number of cache misses.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Removes every file from the cache.
+   */
+  public void clearCache() {
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Reads the file as UTF-8 into a character array.
+   *
+   * @param file the path to the file.
+   * @return the contents of the file, or an empty array if it cannot be read.
+   */
+  static char[] readFile(final Path file) {
+    try {
+      return MappedFileUtils.readChars(file);
+    } catch (IOException ioe) {
+      log.error("File not readable " + ioe.getMessage());
+    }
+    return new char[0];
+  }
+
+  private static CacheKey getCacheKey(final Path file) {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      return new CacheKey(file.toAbsolutePath().normalize(),
+              attributes.lastModifiedTime().toMillis(), attributes.size());
+    } catch (IOException ioe) {
+      log.error("File not readable " + ioe.getMessage());
+    }
+    return null;
+  }
+
+  private static void protect(final ASTNode root) {
+    root.accept(new ASTVisitor(true) {
+      @Override
+      public void preVisit(ASTNode node) {
+        node.setFlags(node.getFlags() | ASTNode.PROTECT);
+      }
+    });
+  }
+
+  private static Map<String, String> newOptions() {
+    @SuppressWarnings("unchecked")
+    Map<String, String> options = new HashMap<String, String>(JavaCore.getOptions());
+    JavaCore.setComplianceOptions(JavaCore.VERSION_1_7, options);
+    return Collections.unmodifiableMap(options);
+  }
+
+  private static final class CacheKey {
+    private final Path path;
+    private final long modifiedTime;
+    private final long size;
+
+    CacheKey(final Path path, final long modifiedTime, final long size) {
+      this.path = path;
+      this.modifiedTime = modifiedTime;
+      this.size = size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) o;
+      return path.equals(other.path) && modifiedTime == other.modifiedTime && size == other.size;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, modifiedTime, size);
+    }
+  }
+}
@@ -1,24 +1,20 @@
 package edu.byu.cs329.utils;
 
-import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Map;
 import java.util.Objects;
 
-import org.eclipse.jdt.core.JavaCore;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class JavaSourceUtils {
   static final Logger log = LoggerFactory.getLogger(JavaSourceUtils.class);
 
+  private static final JavaSourceParser parser = new JavaSourceParser();
+
   /**
    * Get the URI for a file from the class path.
    *
@@ -46,9 +42,7 @@ public class JavaSourceUtils {
    * @return ASTNode for the CompilationUnit in the file.
    */
   public static ASTNode getCompilationUnit(final URI file) {
-    String inputFileAsString = readFile(file);
-    ASTNode node = parse(inputFileAsString);
-    return node;
+    return parser.parse(Paths.get(file));
   }
 
   /**
@@ -64,23 +58,4 @@ public class JavaSourceUtils {
     ASTNode root = getCompilationUnit(uri);
     return root;
   }
-
-  private static String readFile(final URI path) {
-    try {
-      return String.join("\n", Files.readAllLines(Paths.get(path)));
-    } catch (IOException ioe) {
-      log.error("File not readable " + ioe.getMessage());
-    }
-    return "";
-  }
-
-  private static ASTNode parse(final String sourceString) {
-    ASTParser parser = ASTParser.newParser(AST.JLS3);
-    parser.setKind(ASTParser.K_COMPILATION_UNIT);
-    parser.setSource(sourceString.toCharArray());
-    Map<?, ?> options = JavaCore.getOptions();
-    JavaCore.setComplianceOptions(JavaCore.VERSION_1_7, options);
-    parser.setCompilerOptions(options);
-    return parser.createAST(null);
-  }
 }
@@ -0,0 +1,121 @@
+package edu.byu.cs329.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads source files through a read-only memory mapping.
+ *
+ * <p>Mapping lets the decoder read the bytes of the file in place, so a file
+ * is never copied into a byte array on the heap before it becomes the char
+ * array a parser takes.
+ *
+ * <p>A mapping is released as soon as the file is decoded, not left for the
+ * garbage collector. A MappedByteBuffer is a few bytes of heap that holds
+ * the whole file in address space and keeps the file open. The collector
+ * has no reason to free it soon, so a batch over many files would pile up
+ * mappings, and on Windows a mapped file cannot be deleted or written over.
+ * Java has no public call to release a mapping, so the cleaner is reached
+ * once through sun.misc.Unsafe by reflection. When the JVM does not allow
+ * that, the mapping is left to the collector as before and only the early
+ * release is lost.
+ */
+public class MappedFileUtils {
+  static final Logger log = LoggerFactory.getLogger(MappedFileUtils.class);
+
+  private static final Object UNSAFE;
+  private static final Method INVOKE_CLEANER;
+
+  static {
+    Object unsafe = null;
+    Method invokeCleaner = null;
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field field = unsafeClass.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      unsafe = field.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      log.debug("Mapped files are released by the garbage collector: " + e);
+    }
+    UNSAFE = unsafe;
+    INVOKE_CLEANER = invokeCleaner;
+  }
+
+  /**
+   * Reads a UTF-8 file into a character array through a memory mapping.
+   *
+   * <p>The bytes are decoded straight from the mapping into the array. The
+   * array is trimmed only when the file has characters that take more than
+   * one byte. The mapping is released before returning when the JVM allows
+   * it, and otherwise when the garbage collector frees the buffer.
+   *
+   * @param file the path to the file.
+   * @return the contents of the file.
+   * @throws IOException if the file cannot be read or is not valid UTF-8.
+   */
+  public static char[] readChars(final Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("File too large to read " + file);
+      }
+      if (size == 0) {
+        return new char[0];
+      }
+      MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      try {
+        return decode(bytes, (int) size);
+      } finally {
+        unmap(bytes);
+      }
+    }
+  }
+
+  private static char[] decode(final ByteBuffer bytes, final int size) throws IOException {
+    // UTF-8 never decodes to more characters than it has bytes
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+    char[] chars = new char[size];
+    CharBuffer out = CharBuffer.wrap(chars);
+    CoderResult result = decoder.decode(bytes, out, true);
+    if (result.isError()) {
+      result.throwException();
+    }
+    result = decoder.flush(out);
+    if (result.isError()) {
+      result.throwException();
+    }
+    if (out.position() == chars.length) {
+      return chars;
+    }
+    return Arrays.copyOf(chars, out.position());
+  }
+
+  private static void unmap(final MappedByteBuffer buffer) {
+    if (INVOKE_CLEANER == null) {
+      return;
+    }
+    try {
+      INVOKE_CLEANER.invoke(UNSAFE, buffer);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      log.debug("Failed to release mapped file: " + e);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package edu.byu.cs329.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.text.edits.TextEdit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A CompilationUnit that records its modifications so the result can be
+ * written as edits to the original source.
+ *
+ * <p>The tree records every change made to it from the time it is parsed.
+ * getEdits turns those changes into text edits against the original source,
+ * and only the spans of the nodes that changed are rewritten. The text
+ * around them, with its comments and formatting, is kept as it was, where
+ * toString would print the whole tree again with the debug printer.
+ *
+ * <p>Text the edits have to make up, such as the indentation of a moved
+ * statement, uses spaces.
+ */
+public class RecordedCompilationUnit {
+  static final Logger log = LoggerFactory.getLogger(RecordedCompilationUnit.class);
+
+  private static final Map<String, String> OPTIONS = newOptions();
+
+  private final String source;
+  private final CompilationUnit compilationUnit;
+
+  private RecordedCompilationUnit(final String source) {
+    this.source = source;
+    this.compilationUnit = (CompilationUnit) new JavaSourceParser().parse(source.toCharArray());
+    compilationUnit.recordModifications();
+  }
+
+  /**
+   * Parses the source and starts recording the changes to its tree.
+   *
+   * @param source the Java source.
+   * @return the recorded CompilationUnit of the source.
+   * @requires source != null
+   */
+  public static RecordedCompilationUnit parse(final String source) {
+    ExceptionUtils.requiresNonNull(source,
+            "Null source passed to RecordedCompilationUnit.parse");
+    return new RecordedCompilationUnit(source);
+  }
+
+  /**
+   * Reads and parses the file and starts recording the changes to its tree.
+   *
+   * <p>A file that cannot be read is logged and parses as empty source.
+   *
+   * @param file the path to the file.
+   * @return the recorded CompilationUnit in the file.
+   * @requires file != null
+   */
+  public static RecordedCompilationUnit parse(final Path file) {
+    ExceptionUtils.requiresNonNull(file, "Null file passed to RecordedCompilationUnit.parse");
+    return new RecordedCompilationUnit(new String(JavaSourceParser.readFile(file)));
+  }
+
+  /**
+   * Gets the tree, which may be changed freely.
+   *
+   * @return the CompilationUnit.
+   */
+  public CompilationUnit getCompilationUnit() {
+    return compilationUnit;
+  }
+
+  /**
+   * Gets the original source.
+   *
+   * @return the source the tree was parsed from.
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * Gets the edits that take the original source to the current tree.
+   *
+   * @return the edits, with no children if the tree did not change.
+   */
+  public TextEdit getEdits() {
+    return compilationUnit.rewrite(new Document(source), OPTIONS);
+  }
+
+  /**
+   * Applies the edits to the original source.
+   *
+   * @return the source of the current tree.
+   */
+  public String getRewrittenSource() {
+    TextEdit edits = getEdits();
+    if (!edits.hasChildren()) {
+      return source;
+    }
+    Document document = new Document(source);
+    try {
+      edits.apply(document);
+    } catch (BadLocationException e) {
+      // The edits are made against this same source
+      log.error("Edits do not fit the source " + e.getMessage());
+      throw new IllegalStateException(e);
+    }
+    return document.get();
+  }
+
+  /**
+   * Writes the source of the current tree as UTF-8.
+   *
+   * @param file the path to write.
+   * @throws IOException if the file cannot be written.
+   * @requires file != null
+   */
+  public void write(final Path file) throws IOException {
+    ExceptionUtils.requiresNonNull(file, "Null file passed to RecordedCompilationUnit.write");
+    Files.write(file, getRewrittenSource().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Map<String, String> newOptions() {
+    @SuppressWarnings("unchecked")
+    Map<String, String> options = new HashMap<String, String>(JavaCore.getOptions());
+    JavaCore.setComplianceOptions(JavaCore.VERSION_1_7, options);
+    options.put(DefaultCodeFormatterConstants.FORMATTER_TAB_CHAR, JavaCore.SPACE);
+    options.put(DefaultCodeFormatterConstants.FORMATTER_TAB_SIZE, "2");
+    options.put(DefaultCodeFormatterConstants.FORMATTER_INDENTATION_SIZE, "2");
+    return Collections.unmodifiableMap(options);
+  }
+}
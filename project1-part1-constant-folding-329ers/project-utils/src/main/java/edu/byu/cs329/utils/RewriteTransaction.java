@@ -0,0 +1,281 @@
+package edu.byu.cs329.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ChildPropertyDescriptor;
+import org.eclipse.jdt.core.dom.StructuralPropertyDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records edits to an AST and applies them together.
+ *
+ * <p>Replacements, removals, and splices are recorded against the parent and
+ * location of the child they edit, and nothing changes until commit. Commit
+ * edits each list in one pass over it, so finding the edited children costs
+ * one walk of the list instead of a search for each edit. A replacement by
+ * one node is set in place, and only a removal or a splice of more than one
+ * node shifts the children after it. The children that are not edited keep
+ * their place, so a tree that records its modifications sees only the real
+ * changes.
+ *
+ * <p>Lists under deeper parents are edited first, and a new child that an
+ * applied edit already replaced stands for its replacement, so replacing an
+ * if statement with a branch that was itself folded, or splicing a block
+ * whose own nested blocks were spliced, takes the result of the deeper
+ * edit. The nodes given to splice are read when the edit is applied.
+ *
+ * <p>New children are moved, not copied. A new child that is somewhere else
+ * in the tree is detached from there when its edit is applied.
+ *
+ * <p>Every change commit makes is logged, and rollback undoes them all in
+ * reverse, so a speculative rewrite can be taken back without copying the
+ * tree first. The tree must not be changed by other means between commit and
+ * rollback.
+ */
+public class RewriteTransaction {
+  static final Logger log = LoggerFactory.getLogger(RewriteTransaction.class);
+
+  private final Map<Location, Map<ASTNode, List<? extends ASTNode>>> editMap =
+          new LinkedHashMap<>();
+  private final Map<ASTNode, List<ASTNode>> forwardMap = new IdentityHashMap<>();
+  private final Deque<Runnable> undoLog = new ArrayDeque<>();
+
+  /**
+   * Records the replacement of an existing child with a new child.
+   *
+   * @param oldChild the old child.
+   * @param newChild the new child, which may be anywhere in the tree.
+   */
+  public void replace(ASTNode oldChild, ASTNode newChild) {
+    Objects.requireNonNull(newChild);
+    record(oldChild, Collections.singletonList(newChild));
+  }
+
+  /**
+   * Records the removal of an existing child from its parent.
+   *
+   * @param child the child to remove.
+   */
+  public void remove(ASTNode child) {
+    record(child, Collections.emptyList());
+  }
+
+  /**
+   * Records the replacement of an existing child in a list with a list of
+   * nodes, keeping their order.
+   *
+   * @param oldChild the old child, which must be in a list.
+   * @param newChildren the new children, read when the edit is applied.
+   */
+  public void splice(ASTNode oldChild, List<? extends ASTNode> newChildren) {
+    Objects.requireNonNull(newChildren);
+    StructuralPropertyDescriptor location = TreeModificationUtils.getLocationInParent(oldChild);
+    if (!location.isChildListProperty()) {
+      throwUnsupported("Location '" + location.toString() + "' is not a list");
+    }
+    record(oldChild, newChildren);
+  }
+
+  /**
+   * Tells if there are edits that are not yet committed.
+   *
+   * @return true if no edit is waiting for commit.
+   */
+  public boolean isEmpty() {
+    return editMap.isEmpty();
+  }
+
+  /**
+   * Applies every recorded edit.
+   *
+   * @return true if there were edits to apply.
+   */
+  public boolean commit() {
+    if (editMap.isEmpty()) {
+      return false;
+    }
+    Map<Location, Integer> depthMap = new IdentityHashMap<>();
+    for (Location location : editMap.keySet()) {
+      depthMap.put(location, getDepth(location.parent));
+    }
+    List<Location> locationList = new ArrayList<>(editMap.keySet());
+    locationList.sort(Comparator.comparingInt((Location l) -> depthMap.get(l)).reversed());
+    for (Location location : locationList) {
+      forwardMap.putAll(apply(location, editMap.get(location)));
+    }
+    editMap.clear();
+    forwardMap.clear();
+    return true;
+  }
+
+  /**
+   * Undoes every change made by commit and drops any edits not committed.
+   */
+  public void rollback() {
+    editMap.clear();
+    while (!undoLog.isEmpty()) {
+      undoLog.pop().run();
+    }
+  }
+
+  private void record(ASTNode oldChild, List<? extends ASTNode> newChildren) {
+    StructuralPropertyDescriptor property = TreeModificationUtils.getLocationInParent(oldChild);
+    if (property.isChildProperty() && newChildren.size() > 1) {
+      throwUnsupported("Location '" + property.toString() + "' holds one node");
+    }
+    editMap.computeIfAbsent(new Location(oldChild.getParent(), property),
+        k -> new IdentityHashMap<>()).put(oldChild, newChildren);
+  }
+
+  private Map<ASTNode, List<ASTNode>> apply(Location location,
+                                            Map<ASTNode, List<? extends ASTNode>> edits) {
+    Map<ASTNode, List<ASTNode>> replacementMap = new IdentityHashMap<>();
+    List<ASTNode> movedList = new ArrayList<>();
+    for (Map.Entry<ASTNode, List<? extends ASTNode>> entry : edits.entrySet()) {
+      List<ASTNode> replacement = new ArrayList<>();
+      for (ASTNode newChild : entry.getValue()) {
+        addForwarded(newChild, replacement);
+      }
+      replacementMap.put(entry.getKey(), replacement);
+      movedList.addAll(replacement);
+    }
+    detachAll(movedList);
+
+    if (location.property.isChildProperty()) {
+      Object current = location.parent.getStructuralProperty(location.property);
+      List<ASTNode> replacement = replacementMap.get(current);
+      if (replacement != null) {
+        setChild(location, replacement.isEmpty() ? null : replacement.get(0));
+      }
+      return replacementMap;
+    }
+
+    // One pass edits the list in place, so the children that are not edited
+    // stay where they are and a recorded rewrite leaves their text alone
+    List<ASTNode> list = getList(location);
+    for (int i = 0; i < list.size(); ++i) {
+      List<ASTNode> replacement = replacementMap.get(list.get(i));
+      if (replacement == null) {
+        continue;
+      }
+      if (replacement.isEmpty()) {
+        removeAt(list, i--);
+        continue;
+      }
+      setAt(list, i, replacement.get(0));
+      for (int k = 1; k < replacement.size(); ++k) {
+        addAt(list, ++i, replacement.get(k));
+      }
+    }
+    return replacementMap;
+  }
+
+  private void addForwarded(ASTNode node, List<ASTNode> result) {
+    List<ASTNode> replacement = forwardMap.get(node);
+    if (replacement == null) {
+      result.add(node);
+      return;
+    }
+    for (ASTNode forwarded : replacement) {
+      addForwarded(forwarded, result);
+    }
+  }
+
+  private void detachAll(List<ASTNode> nodeList) {
+    Map<Location, Map<ASTNode, List<? extends ASTNode>>> sourceMap = new LinkedHashMap<>();
+    for (ASTNode node : nodeList) {
+      if (node.getParent() == null) {
+        continue;
+      }
+      StructuralPropertyDescriptor property = TreeModificationUtils.getLocationInParent(node);
+      sourceMap.computeIfAbsent(new Location(node.getParent(), property),
+          k -> new IdentityHashMap<>()).put(node, Collections.emptyList());
+    }
+    for (Map.Entry<Location, Map<ASTNode, List<? extends ASTNode>>> entry
+            : sourceMap.entrySet()) {
+      Location location = entry.getKey();
+      if (location.property.isChildListProperty()) {
+        apply(location, entry.getValue());
+      } else {
+        ASTNode node = entry.getValue().keySet().iterator().next();
+        boolean isMandatory = ((ChildPropertyDescriptor) location.property).isMandatory();
+        setChild(location, isMandatory ? node.getAST().createInstance(node.getClass()) : null);
+      }
+    }
+  }
+
+  private void setAt(List<ASTNode> list, int index, ASTNode child) {
+    ASTNode oldChild = list.set(index, child);
+    undoLog.push(() -> list.set(index, oldChild));
+  }
+
+  private void removeAt(List<ASTNode> list, int index) {
+    ASTNode oldChild = list.remove(index);
+    undoLog.push(() -> list.add(index, oldChild));
+  }
+
+  private void addAt(List<ASTNode> list, int index, ASTNode child) {
+    list.add(index, child);
+    undoLog.push(() -> list.remove(index));
+  }
+
+  private void setChild(Location location, ASTNode child) {
+    Object oldChild = location.parent.getStructuralProperty(location.property);
+    location.parent.setStructuralProperty(location.property, child);
+    undoLog.push(() -> location.parent.setStructuralProperty(location.property, oldChild));
+  }
+
+  private static List<ASTNode> getList(Location location) {
+    @SuppressWarnings("unchecked")
+    List<ASTNode> list = (List<ASTNode>) location.parent.getStructuralProperty(location.property);
+    return list;
+  }
+
+  private static int getDepth(ASTNode node) {
+    int depth = 0;
+    for (ASTNode current = node; current != null; current = current.getParent()) {
+      ++depth;
+    }
+    return depth;
+  }
+
+  private static void throwUnsupported(String msg) {
+    RuntimeException exception = new UnsupportedOperationException(msg);
+    log.error(msg, exception);
+    throw exception;
+  }
+
+  private static final class Location {
+    final ASTNode parent;
+    final StructuralPropertyDescriptor property;
+
+    Location(ASTNode parent, StructuralPropertyDescriptor property) {
+      this.parent = parent;
+      this.property = property;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Location)) {
+        return false;
+      }
+      Location other = (Location) o;
+      return parent == other.parent && property == other.property;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(parent) + System.identityHashCode(property);
+    }
+  }
+}
@@ -1,9 +1,11 @@
 package edu.byu.cs329.utils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ChildPropertyDescriptor;
 import org.eclipse.jdt.core.dom.StructuralPropertyDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,7 +49,78 @@ public class TreeModificationUtils {
     }
   }
 
-  private static StructuralPropertyDescriptor getLocationInParent(ASTNode node) {
+  /**
+   * Detaches a node from its parent so it can be moved elsewhere in the AST.
+   *
+   * <p>A node in a list is removed from the list. A node that its parent
+   * must have is swapped for a fresh empty node of the same class, and any
+   * other node is cleared. Nothing is copied, so the cost does not depend
+   * on the size of the subtree.
+   *
+   * @param node the node to detach.
+   * @return node, now with no parent.
+   */
+  public static ASTNode detach(ASTNode node) {
+    Objects.requireNonNull(node);
+    if (node.getParent() == null) {
+      return node;
+    }
+    StructuralPropertyDescriptor location = getLocationInParent(node);
+    if (location.isChildProperty() && ((ChildPropertyDescriptor) location).isMandatory()) {
+      replaceChildInParent(node, node.getAST().createInstance(node.getClass()));
+    } else {
+      removeChildInParent(node);
+    }
+    return node;
+  }
+
+  /**
+   * Replaces an existing child with a node moved from elsewhere in the AST.
+   *
+   * <p>The new child is detached from where it is first, so it may be under
+   * the old child, as when an if statement is replaced by its own branch.
+   *
+   * @param oldChild the old child.
+   * @param newChild the node to move into the place of oldChild.
+   */
+  public static void moveChildInParent(ASTNode oldChild, ASTNode newChild) {
+    Objects.requireNonNull(newChild);
+    replaceChildInParent(oldChild, detach(newChild));
+  }
+
+  /**
+   * Replaces an existing child in a list with nodes moved from elsewhere in
+   * the AST, keeping their order.
+   *
+   * <p>Each new child is detached from where it is first, so they may be
+   * under the old child, as when a nested block is replaced by its own
+   * statements. An empty list removes the old child.
+   *
+   * @param oldChild the old child, which must be in a list.
+   * @param newChildren the nodes to move into the place of oldChild.
+   */
+  public static void spliceChildInParent(ASTNode oldChild, List<? extends ASTNode> newChildren) {
+    Objects.requireNonNull(newChildren);
+    StructuralPropertyDescriptor location = getLocationInParent(oldChild);
+    if (!location.isChildListProperty()) {
+      String msg = "Location '" + location.toString() + "' is not a list";
+      RuntimeException exception = new UnsupportedOperationException(msg);
+      log.error(msg, exception);
+      throw exception;
+    }
+    @SuppressWarnings("unchecked")
+    List<ASTNode> propertyListForLocation =
+            (List<ASTNode>) (oldChild.getParent().getStructuralProperty(location));
+    List<ASTNode> movedChildren = new ArrayList<>(newChildren);
+    for (ASTNode newChild : movedChildren) {
+      detach(newChild);
+    }
+    int index = propertyListForLocation.indexOf(oldChild);
+    propertyListForLocation.remove(index);
+    propertyListForLocation.addAll(index, movedChildren);
+  }
+
+  static StructuralPropertyDescriptor getLocationInParent(ASTNode node) {
     StructuralPropertyDescriptor location = node.getLocationInParent();
     Objects.requireNonNull(location);
     if (location.isChildProperty() || location.isChildListProperty()) {
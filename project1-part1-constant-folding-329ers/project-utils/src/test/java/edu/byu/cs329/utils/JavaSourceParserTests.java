@@ -0,0 +1,182 @@
+package edu.byu.cs329.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.eclipse.jdt.core.dom.ASTMatcher;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for JavaSourceParser")
+public class JavaSourceParserTests {
+  static final String SOURCE_A = "// A comment\nclass A {\n  int x = 1;\n}\n";
+  static final String SOURCE_B = "class B {\n  int y = 2;\n}\n";
+
+  @TempDir
+  Path tempDir;
+
+  Path write(String name, String source) throws IOException {
+    return Files.write(tempDir.resolve(name), source.getBytes(StandardCharsets.UTF_8));
+  }
+
+  String getTypeName(ASTNode root) {
+    TypeDeclaration type = (TypeDeclaration) ((CompilationUnit) root).types().get(0);
+    return type.getName().getIdentifier();
+  }
+
+  @Test
+  @DisplayName("Should throw RuntimeException when cache size is negative")
+  void should_ThrowRuntimeException_when_CacheSizeNegative() {
+    assertThrows(RuntimeException.class, () -> new JavaSourceParser(-1));
+  }
+
+  @Test
+  @DisplayName("Should parse the file when it is not in the cache")
+  void should_ParseFile_when_Miss() throws IOException {
+    Path file = write("A.java", SOURCE_A);
+    JavaSourceParser parser = new JavaSourceParser(4);
+
+    ASTNode root = parser.parseShared(file);
+
+    ASTNode expected = new JavaSourceParser().parse(SOURCE_A.toCharArray());
+    assertAll(
+        () -> assertTrue(expected.subtreeMatch(new ASTMatcher(), root)),
+        () -> assertEquals(0, parser.getHitCount()),
+        () -> assertEquals(1, parser.getMissCount())
+    );
+  }
+
+  @Test
+  @DisplayName("Should return the same tree when the file is in the cache")
+  void should_ReturnSameTree_when_Hit() throws IOException {
+    Path file = write("A.java", SOURCE_A);
+    JavaSourceParser parser = new JavaSourceParser(4);
+
+    ASTNode miss = parser.parseShared(file);
+    ASTNode hit = parser.parseShared(file);
+
+    assertAll(
+        () -> assertSame(miss, hit),
+        () -> assertEquals(1, parser.getHitCount()),
+        () -> assertEquals(1, parser.getMissCount())
+    );
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgumentException when a shared tree is changed")
+  void should_ThrowIllegalArgumentException_when_SharedTreeChanged() throws IOException {
+    Path file = write("A.java", SOURCE_A);
+    JavaSourceParser parser = new JavaSourceParser(4);
+
+    CompilationUnit shared = (CompilationUnit) parser.parseShared(file);
+    TypeDeclaration type = (TypeDeclaration) shared.types().get(0);
+
+    assertAll(
+        () -> assertThrows(IllegalArgumentException.class, () -> shared.types().clear()),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> type.setName(shared.getAST().newSimpleName("B"))),
+        () -> assertEquals("A", getTypeName(parser.parseShared(file)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should return a tree that can be changed when parsing without the cache")
+  void should_ReturnNewTree_when_ParsingPath() throws IOException {
+    Path file = write("A.java", SOURCE_A);
+    JavaSourceParser parser = new JavaSourceParser(4);
+
+    ASTNode shared = parser.parseShared(file);
+    CompilationUnit parsed = (CompilationUnit) parser.parse(file);
+    parsed.types().clear();
+
+    assertAll(
+        () -> assertNotSame(shared, parsed),
+        () -> assertEquals("A", getTypeName(shared)),
+        () -> assertEquals(0, parser.getHitCount()),
+        () -> assertEquals(1, parser.getMissCount())
+    );
+  }
+
+  @Test
+  @DisplayName("Should keep comments and line numbers when the tree is shared")
+  void should_KeepCommentsAndLineNumbers_when_Shared() throws IOException {
+    Path file = write("A.java", SOURCE_A);
+    JavaSourceParser parser = new JavaSourceParser(4);
+
+    CompilationUnit expected = (CompilationUnit) new JavaSourceParser().parse(file);
+    parser.parseShared(file);
+    CompilationUnit hit = (CompilationUnit) parser.parseShared(file);
+
+    int position = SOURCE_A.indexOf("int x");
+    assertAll(
+        () -> assertEquals(1, hit.getCommentList().size()),
+        () -> assertEquals(expected.getCommentList().size(), hit.getCommentList().size()),
+        () -> assertEquals(expected.getLineNumber(position), hit.getLineNumber(position)),
+        () -> assertTrue(expected.subtreeMatch(new ASTMatcher(), hit))
+    );
+  }
+
+  @Test
+  @DisplayName("Should parse again when the file was evicted")
+  void should_ParseAgain_when_Evicted() throws IOException {
+    Path fileA = write("A.java", SOURCE_A);
+    Path fileB = write("B.java", SOURCE_B);
+    JavaSourceParser parser = new JavaSourceParser(1);
+
+    parser.parseShared(fileA);
+    parser.parseShared(fileB);
+    ASTNode root = parser.parseShared(fileA);
+
+    assertAll(
+        () -> assertEquals("A", getTypeName(root)),
+        () -> assertEquals(0, parser.getHitCount()),
+        () -> assertEquals(3, parser.getMissCount())
+    );
+  }
+
+  @Test
+  @DisplayName("Should parse again when the modification time changes")
+  void should_ParseAgain_when_ModificationTimeChanges() throws IOException {
+    Path file = write("A.java", SOURCE_A);
+    JavaSourceParser parser = new JavaSourceParser(4);
+    parser.parseShared(file);
+
+    // The same size, so only the modification time tells the files apart
+    Files.write(file, SOURCE_A.replace('A', 'C').getBytes(StandardCharsets.UTF_8));
+    FileTime modified = Files.getLastModifiedTime(file);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 60_000));
+    ASTNode root = parser.parseShared(file);
+
+    assertAll(
+        () -> assertEquals("C", getTypeName(root)),
+        () -> assertEquals(0, parser.getHitCount()),
+        () -> assertEquals(2, parser.getMissCount())
+    );
+  }
+
+  @Test
+  @DisplayName("Should parse again when the cache is cleared")
+  void should_ParseAgain_when_Cleared() throws IOException {
+    Path file = write("A.java", SOURCE_A);
+    JavaSourceParser parser = new JavaSourceParser(4);
+
+    parser.parseShared(file);
+    parser.clearCache();
+    parser.parseShared(file);
+
+    assertEquals(2, parser.getMissCount());
+  }
+}
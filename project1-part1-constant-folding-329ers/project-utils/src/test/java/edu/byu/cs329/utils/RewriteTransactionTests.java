@@ -0,0 +1,181 @@
+package edu.byu.cs329.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.NumberLiteral;
+import org.eclipse.jdt.core.dom.ParenthesizedExpression;
+import org.eclipse.jdt.core.dom.ReturnStatement;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.Statement;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for RewriteTransaction")
+public class RewriteTransactionTests {
+
+  Block parseBody(String body) {
+    String source = "class A {\n  int f(int a, int b, int c) {\n" + body + "\n  }\n}\n";
+    CompilationUnit root = (CompilationUnit) new JavaSourceParser().parse(source.toCharArray());
+    TypeDeclaration type = (TypeDeclaration) root.types().get(0);
+    return type.getMethods()[0].getBody();
+  }
+
+  Statement getStatement(Block body, int index) {
+    return (Statement) body.statements().get(index);
+  }
+
+  Expression getInitializer(Block body, int index) {
+    VariableDeclarationStatement statement =
+            (VariableDeclarationStatement) getStatement(body, index);
+    return ((VariableDeclarationFragment) statement.fragments().get(0)).getInitializer();
+  }
+
+  String toText(Block body) {
+    return body.toString().replaceAll("\\s+", " ").trim();
+  }
+
+  @Test
+  @DisplayName("Should restore a mandatory child when a new child was moved out of it")
+  void should_RestoreMandatoryChild_when_MovedOutAndRolledBack() {
+    Block body = parseBody("int x = a + b; int y = c; return x;");
+    InfixExpression sum = (InfixExpression) getInitializer(body, 0);
+    SimpleName a = (SimpleName) sum.getLeftOperand();
+    Expression c = getInitializer(body, 1);
+    String original = toText(body);
+    RewriteTransaction transaction = new RewriteTransaction();
+
+    transaction.replace(c, a);
+    assertTrue(transaction.commit());
+
+    // The left operand is mandatory, so a new instance fills the hole
+    ASTNode placeholder = sum.getLeftOperand();
+    assertAll(
+        () -> assertSame(a, getInitializer(body, 1)),
+        () -> assertNotSame(a, placeholder),
+        () -> assertTrue(placeholder instanceof SimpleName),
+        () -> assertSame(sum, placeholder.getParent()),
+        () -> assertNull(c.getParent())
+    );
+
+    transaction.rollback();
+    assertAll(
+        () -> assertEquals(original, toText(body)),
+        () -> assertSame(a, sum.getLeftOperand()),
+        () -> assertSame(sum, a.getParent()),
+        () -> assertSame(c, getInitializer(body, 1))
+    );
+  }
+
+  @Test
+  @DisplayName("Should restore the old child when a replace is rolled back")
+  void should_RestoreOldChild_when_ReplaceRolledBack() {
+    Block body = parseBody("int x = 1; return x;");
+    ReturnStatement returnStatement = (ReturnStatement) getStatement(body, 1);
+    Expression oldExpression = returnStatement.getExpression();
+    NumberLiteral newExpression = body.getAST().newNumberLiteral("2");
+    String original = toText(body);
+    RewriteTransaction transaction = new RewriteTransaction();
+
+    transaction.replace(oldExpression, newExpression);
+    transaction.commit();
+    assertEquals("{ int x=1; return 2; }", toText(body));
+
+    transaction.rollback();
+    assertAll(
+        () -> assertEquals(original, toText(body)),
+        () -> assertSame(oldExpression, returnStatement.getExpression()),
+        () -> assertNull(newExpression.getParent())
+    );
+  }
+
+  @Test
+  @DisplayName("Should restore the list when a remove is rolled back")
+  void should_RestoreList_when_RemoveRolledBack() {
+    Block body = parseBody("int x = 1; int y = 2; int z = 3; return x;");
+    List<Object> statementList = new ArrayList<>(body.statements());
+    RewriteTransaction transaction = new RewriteTransaction();
+
+    transaction.remove(getStatement(body, 1));
+    transaction.remove(getStatement(body, 2));
+    transaction.commit();
+    assertEquals("{ int x=1; return x; }", toText(body));
+
+    transaction.rollback();
+    assertEquals(statementList, body.statements());
+  }
+
+  @Test
+  @DisplayName("Should undo every commit when rolled back after two commits")
+  void should_UndoEveryCommit_when_RolledBackAfterTwoCommits() {
+    Block body = parseBody("int x = 1; int y = 2; return x;");
+    List<Object> statementList = new ArrayList<>(body.statements());
+    Expression initializer = getInitializer(body, 0);
+    String original = toText(body);
+    RewriteTransaction transaction = new RewriteTransaction();
+
+    transaction.replace(initializer, body.getAST().newNumberLiteral("5"));
+    transaction.commit();
+    transaction.remove(getStatement(body, 1));
+    transaction.commit();
+    assertAll(
+        () -> assertEquals("{ int x=5; return x; }", toText(body)),
+        () -> assertTrue(transaction.isEmpty()),
+        () -> assertFalse(transaction.commit())
+    );
+
+    transaction.rollback();
+    assertAll(
+        () -> assertEquals(original, toText(body)),
+        () -> assertEquals(statementList, body.statements()),
+        () -> assertSame(initializer, getInitializer(body, 0))
+    );
+  }
+
+  @Test
+  @DisplayName("Should take the deepest result when replacements chain across depths")
+  void should_TakeDeepestResult_when_ReplacementsChainAcrossDepths() {
+    Block body = parseBody("return (((1)));");
+    ReturnStatement returnStatement = (ReturnStatement) getStatement(body, 0);
+    ParenthesizedExpression outer = (ParenthesizedExpression) returnStatement.getExpression();
+    ParenthesizedExpression middle = (ParenthesizedExpression) outer.getExpression();
+    ParenthesizedExpression inner = (ParenthesizedExpression) middle.getExpression();
+    Expression literal = inner.getExpression();
+    RewriteTransaction transaction = new RewriteTransaction();
+
+    // Each parenthesis is replaced by the one inside it, which is itself
+    // replaced one level deeper, so the return gets the literal
+    transaction.replace(outer, middle);
+    transaction.replace(middle, inner);
+    transaction.replace(inner, literal);
+    transaction.commit();
+    assertAll(
+        () -> assertEquals("{ return 1; }", toText(body)),
+        () -> assertSame(literal, returnStatement.getExpression())
+    );
+
+    transaction.rollback();
+    assertAll(
+        () -> assertEquals("{ return (((1))); }", toText(body)),
+        () -> assertSame(outer, returnStatement.getExpression()),
+        () -> assertSame(middle, outer.getExpression()),
+        () -> assertSame(inner, middle.getExpression()),
+        () -> assertSame(literal, inner.getExpression())
+    );
+  }
+}
@@ -0,0 +1,261 @@
+package edu.byu.cs329.cfg;
+
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * A control flow graph with one node per basic block.
+ *
+ * <p>A basic block is a maximal run of statements where each statement
+ * after the first has exactly one predecessor, and that predecessor is the
+ * statement before it with no other successor. Control enters a block only
+ * at its first statement and leaves only from its last, so an analysis can
+ * summarize each block with one transfer function and iterate over blocks
+ * instead of statements.
+ *
+ * <p>Blocks have dense indexes from 0 to size() - 1 in the reverse
+ * post-order of their first statements, so the block of the start is always
+ * 0. The statements of the blocks are stored in one array grouped by block.
+ * Statement level questions still go to the graph the blocks were built
+ * from, see getControlFlowGraph.
+ */
+public class BasicBlockGraph {
+
+  private final ControlFlowGraph cfg;
+  private final Statement[] statements;
+  private final int[] blockOffsets;
+  private final int[] blockOfPosition;
+  private final Map<Statement, Integer> positionMap;
+  private final int[][] succs;
+  private final int[][] preds;
+
+  private BasicBlockGraph(ControlFlowGraph cfg) {
+    this.cfg = cfg;
+
+    // Grow a block from every statement not already in one. The only
+    // predecessor of a statement inside a block comes before it in reverse
+    // post-order, so each block is started from its first statement.
+    List<Statement> order = cfg.getReversePostorder();
+    statements = new Statement[order.size()];
+    positionMap = new IdentityHashMap<>();
+    List<Integer> offsetList = new ArrayList<>();
+    int position = 0;
+    for (Statement leader : order) {
+      if (positionMap.containsKey(leader)) {
+        continue;
+      }
+      offsetList.add(position);
+      Statement current = leader;
+      while (true) {
+        positionMap.put(current, position);
+        statements[position++] = current;
+        Statement next = getOnlySucc(current);
+        if (next == null || positionMap.containsKey(next) || getCount(cfg.getPreds(next)) != 1) {
+          break;
+        }
+        current = next;
+      }
+    }
+    offsetList.add(position);
+
+    int size = offsetList.size() - 1;
+    blockOffsets = new int[size + 1];
+    blockOfPosition = new int[position];
+    for (int i = 0; i <= size; ++i) {
+      blockOffsets[i] = offsetList.get(i);
+    }
+    for (int i = 0; i < size; ++i) {
+      Arrays.fill(blockOfPosition, blockOffsets[i], blockOffsets[i + 1], i);
+    }
+
+    succs = new int[size][];
+    preds = new int[size][];
+    for (int i = 0; i < size; ++i) {
+      succs[i] = getBlocks(cfg.getSuccs(statements[blockOffsets[i + 1] - 1]));
+      preds[i] = getBlocks(cfg.getPreds(statements[blockOffsets[i]]));
+    }
+  }
+
+  /**
+   * Creates the basic blocks of a control flow graph.
+   *
+   * @param cfg the statement level graph.
+   * @return the blocks of the statements reachable from the start.
+   * @requires cfg != null /\ cfg.getStart() != null
+   */
+  public static BasicBlockGraph of(ControlFlowGraph cfg) {
+    ExceptionUtils.requiresNonNull(cfg, "Null graph passed to BasicBlockGraph.of");
+    ExceptionUtils.requiresNonNull(cfg.getStart(),
+            "Graph with no start passed to BasicBlockGraph.of");
+    return new BasicBlockGraph(cfg);
+  }
+
+  /**
+   * Gets the statement level graph of the blocks.
+   *
+   * @return the graph the blocks were built from.
+   */
+  public ControlFlowGraph getControlFlowGraph() {
+    return cfg;
+  }
+
+  /**
+   * Gets the number of blocks.
+   *
+   * @return the number of blocks.
+   */
+  public int size() {
+    return succs.length;
+  }
+
+  /**
+   * Gets the number of statements in all the blocks.
+   *
+   * @return the number of statements reachable from the start.
+   */
+  public int getStatementCount() {
+    return statements.length;
+  }
+
+  /**
+   * Gets the number of statements in a block.
+   *
+   * @param block the index of the block.
+   * @return the number of statements in the block.
+   * @requires 0 <= block < size()
+   */
+  public int getStatementCount(int block) {
+    return blockOffsets[block + 1] - blockOffsets[block];
+  }
+
+  /**
+   * Gets the block of a statement.
+   *
+   * @param s the statement.
+   * @return the index of the block with s or -1 if s is not in the graph.
+   */
+  public int getBlock(Statement s) {
+    Integer position = positionMap.get(s);
+    return position == null ? -1 : blockOfPosition[position];
+  }
+
+  /**
+   * Gets where a statement is in its block.
+   *
+   * @param s the statement.
+   * @return the index of s in its block or -1 if s is not in the graph.
+   */
+  public int getIndexInBlock(Statement s) {
+    Integer position = positionMap.get(s);
+    return position == null ? -1 : position - blockOffsets[blockOfPosition[position]];
+  }
+
+  /**
+   * Gets one statement of a block.
+   *
+   * @param block the index of the block.
+   * @param k which statement.
+   * @return the statement.
+   * @requires 0 <= block < size() /\ 0 <= k < getStatementCount(block)
+   */
+  public Statement getStatement(int block, int k) {
+    return statements[blockOffsets[block] + k];
+  }
+
+  /**
+   * Gets the statements of a block in the order they run.
+   *
+   * @param block the index of the block.
+   * @return a read-only list of the statements.
+   * @requires 0 <= block < size()
+   */
+  public List<Statement> getStatements(int block) {
+    return Collections.unmodifiableList(
+            Arrays.asList(statements).subList(blockOffsets[block], blockOffsets[block + 1]));
+  }
+
+  /**
+   * Gets the number of successors of a block.
+   *
+   * @param block the index of the block.
+   * @return the number of successors.
+   * @requires 0 <= block < size()
+   */
+  public int getSuccCount(int block) {
+    return succs[block].length;
+  }
+
+  /**
+   * Gets one successor of a block.
+   *
+   * @param block the index of the block.
+   * @param k which successor.
+   * @return the index of the successor.
+   * @requires 0 <= block < size() /\ 0 <= k < getSuccCount(block)
+   */
+  public int getSucc(int block, int k) {
+    return succs[block][k];
+  }
+
+  /**
+   * Gets the number of predecessors of a block.
+   *
+   * @param block the index of the block.
+   * @return the number of predecessors.
+   * @requires 0 <= block < size()
+   */
+  public int getPredCount(int block) {
+    return preds[block].length;
+  }
+
+  /**
+   * Gets one predecessor of a block.
+   *
+   * @param block the index of the block.
+   * @param k which predecessor.
+   * @return the index of the predecessor.
+   * @requires 0 <= block < size() /\ 0 <= k < getPredCount(block)
+   */
+  public int getPred(int block, int k) {
+    return preds[block][k];
+  }
+
+  private Statement getOnlySucc(Statement s) {
+    Set<Statement> next = cfg.getSuccs(s);
+    if (next == null || next.size() != 1) {
+      return null;
+    }
+    return next.iterator().next();
+  }
+
+  private int[] getBlocks(Set<Statement> statementSet) {
+    if (statementSet == null) {
+      return new int[0];
+    }
+    Set<Integer> blocks = new LinkedHashSet<>();
+    for (Statement statement : statementSet) {
+      Integer position = positionMap.get(statement);
+      if (position != null) {
+        blocks.add(blockOfPosition[position]);
+      }
+    }
+    int[] array = new int[blocks.size()];
+    int i = 0;
+    for (int block : blocks) {
+      array[i++] = block;
+    }
+    return array;
+  }
+
+  private static int getCount(Set<Statement> statementSet) {
+    return statementSet == null ? 0 : statementSet.size();
+  }
+}
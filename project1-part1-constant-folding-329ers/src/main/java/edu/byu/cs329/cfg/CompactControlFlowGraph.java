@@ -0,0 +1,295 @@
+package edu.byu.cs329.cfg;
+
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * A control flow graph stored as arrays.
+ *
+ * <p>Every statement reachable from the start has a dense index from 0 to
+ * size() - 1 in reverse post-order, so the start is always index 0 and
+ * getReversePostorder lists the statements by index. The successors of
+ * index i are succTargets[succOffsets[i]] to
+ * succTargets[succOffsets[i + 1] - 1] in compressed sparse row form, and
+ * the predecessors are stored the same way. Analyses can walk the edges by
+ * index without touching any sets.
+ *
+ * <p>getSuccs and getPreds return read-only views over the arrays. As in the
+ * graphs from ControlFlowGraphBuilder.build, they return null when a
+ * statement has no successors or no predecessors or is not in the graph.
+ */
+public class CompactControlFlowGraph implements ControlFlowGraph {
+
+  private final MethodDeclaration methodDeclaration;
+  private final Statement start;
+  private final Statement end;
+  private final Statement[] statements;
+  private final Map<Statement, Integer> indexMap;
+  private final int[] succOffsets;
+  private final int[] succTargets;
+  private final int[] predOffsets;
+  private final int[] predTargets;
+
+  private CompactControlFlowGraph(MethodDeclaration methodDeclaration, Statement start,
+                                  Statement end, List<Statement> order,
+                                  Function<Statement, Set<Statement>> succs) {
+    this.methodDeclaration = methodDeclaration;
+    this.start = start;
+    this.end = end;
+
+    statements = order.toArray(new Statement[0]);
+    indexMap = new IdentityHashMap<>();
+    int edgeCount = 0;
+    for (int i = 0; i < statements.length; ++i) {
+      indexMap.put(statements[i], i);
+      Set<Statement> next = succs.apply(statements[i]);
+      if (next != null) {
+        edgeCount += next.size();
+      }
+    }
+
+    int size = statements.length;
+    succOffsets = new int[size + 1];
+    succTargets = new int[edgeCount];
+    int[] predCounts = new int[size + 1];
+    int k = 0;
+    for (int i = 0; i < size; ++i) {
+      succOffsets[i] = k;
+      Set<Statement> next = succs.apply(statements[i]);
+      if (next != null) {
+        for (Statement succ : next) {
+          int target = indexMap.get(succ);
+          succTargets[k++] = target;
+          ++predCounts[target + 1];
+        }
+      }
+    }
+    succOffsets[size] = k;
+
+    predOffsets = new int[size + 1];
+    for (int i = 0; i < size; ++i) {
+      predOffsets[i + 1] = predOffsets[i] + predCounts[i + 1];
+    }
+    predTargets = new int[edgeCount];
+    int[] fill = new int[size];
+    for (int i = 0; i < size; ++i) {
+      for (int e = succOffsets[i]; e < succOffsets[i + 1]; ++e) {
+        int target = succTargets[e];
+        predTargets[predOffsets[target] + fill[target]++] = i;
+      }
+    }
+  }
+
+  /**
+   * Creates a compact graph with the successors in the map.
+   *
+   * @param methodDeclaration the method of the graph.
+   * @param start the first statement.
+   * @param end the end of the method.
+   * @param reversePostorder the statements reachable from start in reverse post-order.
+   * @param successors the successors of each statement.
+   * @return the compact graph for the statements reachable from start.
+   * @requires reversePostorder.get(0) == start /\ successors != null
+   */
+  static CompactControlFlowGraph of(MethodDeclaration methodDeclaration, Statement start,
+                                    Statement end, List<Statement> reversePostorder,
+                                    Map<Statement, Set<Statement>> successors) {
+    return new CompactControlFlowGraph(methodDeclaration, start, end, reversePostorder,
+            successors::get);
+  }
+
+  /**
+   * Creates a compact copy of any control flow graph.
+   *
+   * @param cfg the graph to copy.
+   * @return the compact graph for the statements reachable from the start.
+   * @requires cfg != null /\ cfg.getStart() != null
+   */
+  public static CompactControlFlowGraph of(ControlFlowGraph cfg) {
+    ExceptionUtils.requiresNonNull(cfg, "Null graph passed to CompactControlFlowGraph.of");
+    if (cfg instanceof CompactControlFlowGraph) {
+      return (CompactControlFlowGraph) cfg;
+    }
+    ExceptionUtils.requiresNonNull(cfg.getStart(),
+            "Graph with no start passed to CompactControlFlowGraph.of");
+    return new CompactControlFlowGraph(cfg.getMethodDeclaration(), cfg.getStart(),
+            cfg.getEnd(), cfg.getReversePostorder(), cfg::getSuccs);
+  }
+
+  @Override
+  public Statement getStart() {
+    return start;
+  }
+
+  @Override
+  public Statement getEnd() {
+    return end;
+  }
+
+  @Override
+  public MethodDeclaration getMethodDeclaration() {
+    return methodDeclaration;
+  }
+
+  @Override
+  public Set<Statement> getSuccs(Statement s) {
+    return getView(s, succOffsets, succTargets);
+  }
+
+  @Override
+  public Set<Statement> getPreds(Statement s) {
+    return getView(s, predOffsets, predTargets);
+  }
+
+  @Override
+  public List<Statement> getReversePostorder() {
+    return Collections.unmodifiableList(Arrays.asList(statements));
+  }
+
+  /**
+   * Gets the number of statements in the graph.
+   *
+   * @return the number of statements reachable from the start.
+   */
+  public int size() {
+    return statements.length;
+  }
+
+  /**
+   * Gets the index of a statement.
+   *
+   * @param s the statement.
+   * @return the index of s or -1 if s is not in the graph.
+   */
+  public int getIndex(Statement s) {
+    Integer index = indexMap.get(s);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Gets the statement at an index.
+   *
+   * @param index the index.
+   * @return the statement at the index.
+   * @requires 0 <= index < size()
+   */
+  public Statement getStatement(int index) {
+    return statements[index];
+  }
+
+  /**
+   * Gets the number of successors of the statement at an index.
+   *
+   * @param index the index.
+   * @return the number of successors.
+   * @requires 0 <= index < size()
+   */
+  public int getSuccCount(int index) {
+    return succOffsets[index + 1] - succOffsets[index];
+  }
+
+  /**
+   * Gets one successor of the statement at an index.
+   *
+   * @param index the index.
+   * @param k which successor.
+   * @return the index of the successor.
+   * @requires 0 <= index < size() /\ 0 <= k < getSuccCount(index)
+   */
+  public int getSucc(int index, int k) {
+    return succTargets[succOffsets[index] + k];
+  }
+
+  /**
+   * Gets the number of predecessors of the statement at an index.
+   *
+   * @param index the index.
+   * @return the number of predecessors.
+   * @requires 0 <= index < size()
+   */
+  public int getPredCount(int index) {
+    return predOffsets[index + 1] - predOffsets[index];
+  }
+
+  /**
+   * Gets one predecessor of the statement at an index.
+   *
+   * @param index the index.
+   * @param k which predecessor.
+   * @return the index of the predecessor.
+   * @requires 0 <= index < size() /\ 0 <= k < getPredCount(index)
+   */
+  public int getPred(int index, int k) {
+    return predTargets[predOffsets[index] + k];
+  }
+
+  private Set<Statement> getView(Statement s, int[] offsets, int[] targets) {
+    Integer index = indexMap.get(s);
+    if (index == null || offsets[index] == offsets[index + 1]) {
+      return null;
+    }
+    return new StatementSet(targets, offsets[index], offsets[index + 1]);
+  }
+
+  private final class StatementSet extends AbstractSet<Statement> {
+    private final int[] targets;
+    private final int from;
+    private final int to;
+
+    StatementSet(int[] targets, int from, int to) {
+      this.targets = targets;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      Integer index = indexMap.get(o);
+      if (index == null) {
+        return false;
+      }
+      for (int i = from; i < to; ++i) {
+        if (targets[i] == index) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Iterator<Statement> iterator() {
+      return new Iterator<Statement>() {
+        int next = from;
+
+        @Override
+        public boolean hasNext() {
+          return next < to;
+        }
+
+        @Override
+        public Statement next() {
+          if (next >= to) {
+            throw new NoSuchElementException();
+          }
+          return statements[targets[next++]];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+}
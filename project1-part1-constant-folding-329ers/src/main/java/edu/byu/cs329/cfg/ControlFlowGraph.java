@@ -1,5 +1,6 @@
 package edu.byu.cs329.cfg;
 
+import java.util.List;
 import java.util.Set;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Statement;
@@ -14,4 +15,18 @@ public interface ControlFlowGraph {
   public Set<Statement> getSuccs(final Statement s);
 
   public Set<Statement> getPreds(final Statement s);
+
+  /**
+   * Gets the statements reachable from the start in reverse post-order.
+   *
+   * <p>The start is first, and outside of loops every statement comes after
+   * its predecessors. Forward analyses converge in fewer passes when they
+   * visit statements in this order. The default walks the successors from
+   * the start with ControlFlowGraphUtils each time it is called.
+   *
+   * @return the reachable statements in reverse post-order.
+   */
+  public default List<Statement> getReversePostorder() {
+    return ControlFlowGraphUtils.getReversePostorder(getStart(), this::getSuccs);
+  }
 }
@@ -34,8 +34,40 @@ public class ControlFlowGraphBuilder {
     return visitor.cgfList;
   }
 
+  /**
+   * Creates a compact control flow graph for every method.
+   *
+   * @param node compilation unit.
+   * @return list of compact control flow graphs.
+   */
+  public List<CompactControlFlowGraph> buildCompact(ASTNode node) {
+    Visitor visitor = new Visitor();
+    visitor.isCompact = true;
+    node.accept(visitor);
+    List<CompactControlFlowGraph> compactList = new ArrayList<CompactControlFlowGraph>();
+    for (ControlFlowGraph cfg : visitor.cgfList) {
+      compactList.add((CompactControlFlowGraph) cfg);
+    }
+    return compactList;
+  }
+
+  /**
+   * Creates a basic block graph for every method.
+   *
+   * @param node compilation unit.
+   * @return list of basic block graphs.
+   */
+  public List<BasicBlockGraph> buildBasicBlocks(ASTNode node) {
+    List<BasicBlockGraph> blockGraphList = new ArrayList<BasicBlockGraph>();
+    for (ControlFlowGraph cfg : build(node)) {
+      blockGraphList.add(BasicBlockGraph.of(cfg));
+    }
+    return blockGraphList;
+  }
+
   class Visitor extends ASTVisitor {
     public List<ControlFlowGraph> cgfList = new ArrayList<ControlFlowGraph>();
+    boolean isCompact = false;
     Map<Statement, Set<Statement>> edges = new HashMap<Statement, Set<Statement>>();
     Statement start = null;
     Statement end = null;
@@ -43,6 +75,7 @@ public class ControlFlowGraphBuilder {
     // Ignore in specification
     Map<Statement, Set<Statement>> successors = new HashMap<Statement, Set<Statement>>();
     Map<Statement, Set<Statement>> predecessors = new HashMap<Statement, Set<Statement>>();
+    List<Statement> reversePostorder = new ArrayList<Statement>();
 
     /**
      * Visit method declaration.
@@ -178,9 +211,11 @@ public class ControlFlowGraphBuilder {
      */
     @Override
     public void endVisit(MethodDeclaration node) {
-      Set<Statement> reachableSet = new HashSet<Statement>();
-      computeSuccessorsAndPredecessors(reachableSet, start);
-      ControlFlowGraph cfg = buildControlFlowGraph();
+      computeSuccessorsAndPredecessors();
+      ControlFlowGraph cfg = isCompact
+              ? CompactControlFlowGraph.of(
+                      methodDeclaration, start, end, reversePostorder, successors)
+              : buildControlFlowGraph();
       cgfList.add(cfg);
     }
 
@@ -195,6 +230,8 @@ public class ControlFlowGraphBuilder {
         final Statement start = Visitor.this.start;
         final Statement end = Visitor.this.end;
         final MethodDeclaration methodDeclaration = Visitor.this.methodDeclaration;
+        final List<Statement> reversePostorder =
+                Collections.unmodifiableList(Visitor.this.reversePostorder);
 
         @Override
         public Statement getStart() {
@@ -228,6 +265,11 @@ public class ControlFlowGraphBuilder {
           }
           return returnValue;
         }
+
+        @Override
+        public List<Statement> getReversePostorder() {
+          return reversePostorder;
+        }
       };
     }
 
@@ -238,18 +280,23 @@ public class ControlFlowGraphBuilder {
       methodDeclaration = null;
       successors = new HashMap<Statement, Set<Statement>>();
       predecessors = new HashMap<Statement, Set<Statement>>();
+      reversePostorder = new ArrayList<Statement>();
     }
 
-    private void computeSuccessorsAndPredecessors(Set<Statement> set, Statement s) {
-      if (set.contains(s)) {
-        return;
-      }
-      set.add(s);
-      for (Statement successor : getStatements(edges, s)) {
-        getStatements(successors, s).add(successor);
-        getStatements(predecessors, successor).add(s);
-        computeSuccessorsAndPredecessors(set, successor);
-      }
+    /**
+     * Depth first search from start over the edges that keeps the reachable
+     * edges in successors and predecessors and records the reverse
+     * post-order of the reachable statements.
+     */
+    private void computeSuccessorsAndPredecessors() {
+      reversePostorder = ControlFlowGraphUtils.getReversePostorder(start, s -> {
+        Set<Statement> next = getStatements(edges, s);
+        for (Statement successor : next) {
+          getStatements(successors, s).add(successor);
+          getStatements(predecessors, successor).add(s);
+        }
+        return next;
+      });
     }
 
     private Set<Statement> getStatements(Map<Statement, Set<Statement>> map, Statement statement) {
@@ -0,0 +1,63 @@
+package edu.byu.cs329.cfg;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.eclipse.jdt.core.dom.Statement;
+
+public class ControlFlowGraphUtils {
+
+  /**
+   * Walks a graph from a root with an explicit stack and lists the
+   * statements it reaches in reverse post-order.
+   *
+   * <p>The walk follows whatever edges next gives, so the same walk serves
+   * the successors of a graph, its predecessors for a backward order, or
+   * edges that are still being built. The stack is explicit so that a long
+   * method does not overflow the call stack. Next is called once for each
+   * statement reached, when the walk first gets to it.
+   *
+   * @param root the statement to start from.
+   * @param next the statements an edge leads to from a statement, or null
+   *             for none.
+   * @return the statements reachable from root in reverse post-order, with
+   *         root first.
+   * @requires root != null /\ next != null
+   */
+  public static List<Statement> getReversePostorder(Statement root,
+                                                    Function<Statement, Set<Statement>> next) {
+    List<Statement> postorder = new ArrayList<>();
+    Set<Statement> visited = new HashSet<>();
+    Deque<Statement> statementStack = new ArrayDeque<>();
+    Deque<Iterator<Statement>> iteratorStack = new ArrayDeque<>();
+    visited.add(root);
+    statementStack.push(root);
+    iteratorStack.push(getIterator(next.apply(root)));
+    while (!statementStack.isEmpty()) {
+      Iterator<Statement> iterator = iteratorStack.peek();
+      if (iterator.hasNext()) {
+        Statement statement = iterator.next();
+        if (visited.add(statement)) {
+          statementStack.push(statement);
+          iteratorStack.push(getIterator(next.apply(statement)));
+        }
+      } else {
+        iteratorStack.pop();
+        postorder.add(statementStack.pop());
+      }
+    }
+    Collections.reverse(postorder);
+    return postorder;
+  }
+
+  private static Iterator<Statement> getIterator(Set<Statement> statementSet) {
+    return statementSet == null
+            ? Collections.<Statement>emptyIterator() : statementSet.iterator();
+  }
+}
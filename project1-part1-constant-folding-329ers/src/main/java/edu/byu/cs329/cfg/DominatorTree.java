@@ -0,0 +1,374 @@
+package edu.byu.cs329.cfg;
+
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * The dominator or post-dominator tree of a control flow graph.
+ *
+ * <p>A statement a dominates b when every path from the start to b goes
+ * through a. A statement a post-dominates b when every path from b to the
+ * end goes through a. The post-dominator tree is the dominator tree of the
+ * graph with its edges reversed and rooted at the end, so both are built
+ * the same way and answer the same questions.
+ *
+ * <p>The tree is built with the iterative algorithm of Cooper, Harvey, and
+ * Kennedy over the statements in reverse post-order, which is fast on the
+ * shallow graphs of structured code. The tree is then numbered with a depth
+ * first search so that the statements a node dominates are exactly those
+ * numbered from the node to its last descendant, and dominates is two
+ * comparisons.
+ *
+ * <p>Statements that cannot reach the root in the direction of the tree,
+ * such as those after a return for dominators or in an endless loop for
+ * post-dominators, are not in the tree.
+ */
+public class DominatorTree {
+
+  private static final int UNDEFINED = -1;
+
+  private final ControlFlowGraph cfg;
+  private final boolean isPostDominatorTree;
+  private final Statement[] statements;
+  private final Map<Statement, Integer> indexMap;
+  private final int[] idoms;
+  private final int[][] children;
+  private final int[] preorder;
+  private final int[] lastDescendant;
+  private final int[][] frontiers;
+
+  private DominatorTree(ControlFlowGraph cfg, boolean isPostDominatorTree) {
+    this.cfg = cfg;
+    this.isPostDominatorTree = isPostDominatorTree;
+    Function<Statement, Set<Statement>> forward = isPostDominatorTree
+            ? cfg::getPreds : cfg::getSuccs;
+    Function<Statement, Set<Statement>> backward = isPostDominatorTree
+            ? cfg::getSuccs : cfg::getPreds;
+
+    // The graph keeps its forward order, and its default is the same walk
+    List<Statement> order = isPostDominatorTree
+            ? ControlFlowGraphUtils.getReversePostorder(cfg.getEnd(), forward)
+            : cfg.getReversePostorder();
+    statements = order.toArray(new Statement[0]);
+    indexMap = new IdentityHashMap<>();
+    for (int i = 0; i < statements.length; ++i) {
+      indexMap.put(statements[i], i);
+    }
+
+    int size = statements.length;
+    int[][] preds = new int[size][];
+    for (int i = 0; i < size; ++i) {
+      preds[i] = getIndexes(backward.apply(statements[i]));
+    }
+    idoms = computeImmediateDominators(preds);
+    children = computeChildren();
+    preorder = new int[size];
+    lastDescendant = new int[size];
+    numberTree();
+    frontiers = computeFrontiers(preds);
+  }
+
+  /**
+   * Creates the dominator tree of a graph rooted at its start.
+   *
+   * @param cfg the control flow graph.
+   * @return the dominator tree.
+   * @requires cfg != null /\ cfg.getStart() != null
+   */
+  public static DominatorTree dominators(ControlFlowGraph cfg) {
+    ExceptionUtils.requiresNonNull(cfg, "Null graph passed to DominatorTree.dominators");
+    ExceptionUtils.requiresNonNull(cfg.getStart(),
+            "Graph with no start passed to DominatorTree.dominators");
+    return new DominatorTree(cfg, false);
+  }
+
+  /**
+   * Creates the post-dominator tree of a graph rooted at its end.
+   *
+   * @param cfg the control flow graph.
+   * @return the post-dominator tree.
+   * @requires cfg != null /\ cfg.getEnd() != null
+   */
+  public static DominatorTree postDominators(ControlFlowGraph cfg) {
+    ExceptionUtils.requiresNonNull(cfg, "Null graph passed to DominatorTree.postDominators");
+    ExceptionUtils.requiresNonNull(cfg.getEnd(),
+            "Graph with no end passed to DominatorTree.postDominators");
+    return new DominatorTree(cfg, true);
+  }
+
+  /**
+   * Gets the graph of the tree.
+   *
+   * @return the control flow graph the tree was built from.
+   */
+  public ControlFlowGraph getControlFlowGraph() {
+    return cfg;
+  }
+
+  /**
+   * Tells if this is a post-dominator tree.
+   *
+   * @return true if the tree is rooted at the end of the graph.
+   */
+  public boolean isPostDominatorTree() {
+    return isPostDominatorTree;
+  }
+
+  /**
+   * Gets the root of the tree.
+   *
+   * @return the start for dominators or the end for post-dominators.
+   */
+  public Statement getRoot() {
+    return statements[0];
+  }
+
+  /**
+   * Tells if a statement is in the tree.
+   *
+   * @param s the statement.
+   * @return true if s reaches the root in the direction of the tree.
+   */
+  public boolean contains(Statement s) {
+    return indexMap.containsKey(s);
+  }
+
+  /**
+   * Gets the immediate dominator of a statement.
+   *
+   * @param s the statement.
+   * @return the parent of s in the tree, or null if s is the root or not in
+   *         the tree.
+   */
+  public Statement getImmediateDominator(Statement s) {
+    Integer index = indexMap.get(s);
+    if (index == null || index == 0) {
+      return null;
+    }
+    return statements[idoms[index]];
+  }
+
+  /**
+   * Gets the statements immediately dominated by a statement.
+   *
+   * @param s the statement.
+   * @return a read-only list of the children of s in the tree, empty if s is
+   *         not in the tree.
+   */
+  public List<Statement> getChildren(Statement s) {
+    Integer index = indexMap.get(s);
+    if (index == null) {
+      return Collections.emptyList();
+    }
+    return new StatementList(children[index]);
+  }
+
+  /**
+   * Tells if one statement dominates another in constant time.
+   *
+   * <p>Every statement dominates itself.
+   *
+   * @param a the dominator.
+   * @param b the dominated statement.
+   * @return true if a and b are in the tree and a dominates b.
+   */
+  public boolean dominates(Statement a, Statement b) {
+    Integer indexA = indexMap.get(a);
+    Integer indexB = indexMap.get(b);
+    if (indexA == null || indexB == null) {
+      return false;
+    }
+    return preorder[indexA] <= preorder[indexB]
+            && preorder[indexB] <= lastDescendant[indexA];
+  }
+
+  /**
+   * Tells if one statement dominates another and is not the same statement.
+   *
+   * @param a the dominator.
+   * @param b the dominated statement.
+   * @return true if a dominates b and a != b.
+   */
+  public boolean strictlyDominates(Statement a, Statement b) {
+    return a != b && dominates(a, b);
+  }
+
+  /**
+   * Gets the dominance frontier of a statement.
+   *
+   * <p>The frontier is every statement b where s dominates a predecessor of
+   * b but does not strictly dominate b. For a post-dominator tree the
+   * predecessors are the successors in the graph, and the frontier of s is
+   * the branches that s is control dependent on.
+   *
+   * @param s the statement.
+   * @return a read-only list of the frontier, empty if s is not in the tree.
+   */
+  public List<Statement> getDominanceFrontier(Statement s) {
+    Integer index = indexMap.get(s);
+    if (index == null) {
+      return Collections.emptyList();
+    }
+    return new StatementList(frontiers[index]);
+  }
+
+  private int[] computeImmediateDominators(int[][] preds) {
+    // Statements are numbered in reverse post-order, so a dominator always
+    // has a smaller number than the statements it dominates
+    int size = statements.length;
+    int[] result = new int[size];
+    Arrays.fill(result, UNDEFINED);
+    result[0] = 0;
+    boolean isChanged = true;
+    while (isChanged) {
+      isChanged = false;
+      for (int i = 1; i < size; ++i) {
+        int idom = UNDEFINED;
+        for (int pred : preds[i]) {
+          if (result[pred] == UNDEFINED) {
+            continue;
+          }
+          idom = idom == UNDEFINED ? pred : intersect(result, pred, idom);
+        }
+        if (result[i] != idom) {
+          result[i] = idom;
+          isChanged = true;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static int intersect(int[] idoms, int a, int b) {
+    while (a != b) {
+      while (a > b) {
+        a = idoms[a];
+      }
+      while (b > a) {
+        b = idoms[b];
+      }
+    }
+    return a;
+  }
+
+  private int[][] computeChildren() {
+    int size = statements.length;
+    int[] counts = new int[size];
+    for (int i = 1; i < size; ++i) {
+      ++counts[idoms[i]];
+    }
+    int[][] result = new int[size][];
+    for (int i = 0; i < size; ++i) {
+      result[i] = new int[counts[i]];
+      counts[i] = 0;
+    }
+    for (int i = 1; i < size; ++i) {
+      int parent = idoms[i];
+      result[parent][counts[parent]++] = i;
+    }
+    return result;
+  }
+
+  private void numberTree() {
+    // Iterative depth first search so deep trees do not overflow the stack
+    int number = 0;
+    Deque<int[]> stack = new ArrayDeque<>();
+    preorder[0] = number++;
+    stack.push(new int[] {0, 0});
+    while (!stack.isEmpty()) {
+      int[] frame = stack.peek();
+      int node = frame[0];
+      if (frame[1] < children[node].length) {
+        int child = children[node][frame[1]++];
+        preorder[child] = number++;
+        stack.push(new int[] {child, 0});
+      } else {
+        lastDescendant[node] = number - 1;
+        stack.pop();
+      }
+    }
+  }
+
+  private int[][] computeFrontiers(int[][] preds) {
+    int size = statements.length;
+    List<Set<Integer>> frontierList = new ArrayList<>(size);
+    for (int i = 0; i < size; ++i) {
+      frontierList.add(new LinkedHashSet<>());
+    }
+    for (int i = 0; i < size; ++i) {
+      if (preds[i].length < 2) {
+        continue;
+      }
+      // The root has no immediate dominator, so its walks go all the way up
+      int stop = i == 0 ? UNDEFINED : idoms[i];
+      for (int pred : preds[i]) {
+        int runner = pred;
+        while (runner != stop) {
+          frontierList.get(runner).add(i);
+          if (runner == 0) {
+            break;
+          }
+          runner = idoms[runner];
+        }
+      }
+    }
+    int[][] result = new int[size][];
+    for (int i = 0; i < size; ++i) {
+      result[i] = toArray(frontierList.get(i));
+    }
+    return result;
+  }
+
+  private int[] getIndexes(Set<Statement> statementSet) {
+    if (statementSet == null) {
+      return new int[0];
+    }
+    Set<Integer> indexes = new LinkedHashSet<>();
+    for (Statement statement : statementSet) {
+      Integer index = indexMap.get(statement);
+      if (index != null) {
+        indexes.add(index);
+      }
+    }
+    return toArray(indexes);
+  }
+
+  private static int[] toArray(Set<Integer> set) {
+    int[] array = new int[set.size()];
+    int i = 0;
+    for (int value : set) {
+      array[i++] = value;
+    }
+    return array;
+  }
+
+  private final class StatementList extends AbstractList<Statement> {
+    private final int[] indexes;
+
+    StatementList(int[] indexes) {
+      this.indexes = indexes;
+    }
+
+    @Override
+    public Statement get(int i) {
+      return statements[indexes[i]];
+    }
+
+    @Override
+    public int size() {
+      return indexes.length;
+    }
+  }
+}
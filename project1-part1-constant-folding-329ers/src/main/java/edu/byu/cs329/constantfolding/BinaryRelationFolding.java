@@ -2,13 +2,12 @@ package edu.byu.cs329.constantfolding;
 
 import edu.byu.cs329.utils.ExceptionUtils;
 import edu.byu.cs329.utils.TreeModificationUtils;
-import org.eclipse.jdt.core.dom.AST;
+import java.util.Collections;
+import java.util.Set;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTVisitor;
-import org.eclipse.jdt.core.dom.BooleanLiteral;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.InfixExpression;
-import org.eclipse.jdt.core.dom.NumberLiteral;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,11 +15,17 @@ import org.slf4j.LoggerFactory;
  * Replaces binary relational InfixExpressions (<) where both are NumberLiterals
  * with a BooleanLiteral.
  *
+ * <p>It is not in the ConstantFolding pipeline. ConstantExpressionFolding
+ * covers every relation there, and both evaluate with ConstantValueTable.
+ *
  * @author Joshua Higgins and Brigham Andersen
  */
 public class BinaryRelationFolding implements Folding {
   static final Logger log = LoggerFactory.getLogger(ParenthesizedExpressionFolding.class);
 
+  private static final Set<InfixExpression.Operator> OPERATORS =
+          Collections.singleton(InfixExpression.Operator.LESS);
+
   public BinaryRelationFolding() {
   }
 
@@ -42,10 +47,10 @@ public class BinaryRelationFolding implements Folding {
    *
    * <p>isFoldable(n) := isInfixExpression(n)
    * /\ ( hasLessThanOperator(operator(n))
-   * /\ has 2+ number literals
-   * || isFoldable(expression(n)))
+   * /\ isIntConstant(left(n)) /\ isIntConstant(right(n)))
    *
-   * <p>literal(n) := if isLiteral(n) then n else literal(expression(n))
+   * <p>isIntConstant(o) := isIntegralLiteral(o)
+   * \/ (isParenthesized(o) /\ isIntConstant(expression(o)))
    *
    * @param root the root of the tree to traverse.
    * @return true if parenthesized literals were replaced in the rooted tree
@@ -66,9 +71,13 @@ public class BinaryRelationFolding implements Folding {
    */
   public boolean fold(final ASTNode root) {
     checkRequires(root);
-    Visitor visitor = new Visitor();
-    root.accept(visitor);
-    return visitor.didFold;
+    ConstantValueTable table = ConstantValueTable.of(root, OPERATORS);
+    boolean didFold = false;
+    for (Expression expression : table.getOutermost()) {
+      replace(expression, table.getValue(expression));
+      didFold = true;
+    }
+    return didFold;
   }
 
   private void checkRequires(final ASTNode root) {
@@ -81,35 +90,38 @@ public class BinaryRelationFolding implements Folding {
     }
   }
 
-  class Visitor extends ASTVisitor {
-    public boolean didFold = false;
-
-    private boolean isLessThanOperator(InfixExpression exp) {
-      return exp.getOperator().equals(InfixExpression.Operator.LESS);
+  /**
+   * Replaces the infix expression with a BooleanLiteral if it compares int
+   * literals with the less than operator.
+   *
+   * <p>Only the node and its operands are read.
+   *
+   * @param node the node to fold.
+   * @return true if the node was replaced with a boolean literal.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node) {
+    if (!(node instanceof InfixExpression)) {
+      return false;
     }
-
-    private boolean checkForNumLits(InfixExpression exp) {
-      return (exp.getLeftOperand() instanceof NumberLiteral)
-              && (exp.getRightOperand() instanceof NumberLiteral);
+    InfixExpression infix = (InfixExpression) node;
+    if (!isLessThanOperator(infix)) {
+      return false;
     }
+    Object value = ConstantValueTable.evaluateNode(infix, OPERATORS);
+    if (value == null) {
+      return false;
+    }
+    replace(infix, value);
+    return true;
+  }
 
-    @Override
-    public void endVisit(InfixExpression node) {
-      if (!isLessThanOperator(node)) {
-        return;
-      }
-      if (!checkForNumLits(node)) {
-        return;
-      }
-
-      AST ast = node.getAST();
-      int leftOperand = Integer.parseInt(node.getLeftOperand().toString());
-      int rightOperand = Integer.parseInt(node.getRightOperand().toString());
+  private void replace(Expression expression, Object value) {
+    Expression newLit = ConstantValueTable.newLiteral(expression.getAST(), value);
+    TreeModificationUtils.replaceChildInParent(expression, newLit);
+  }
 
-      boolean boolVal = leftOperand < rightOperand;
-      BooleanLiteral newLit = ast.newBooleanLiteral(boolVal);
-      TreeModificationUtils.replaceChildInParent(node, newLit);
-      didFold = true;
-    }
+  private boolean isLessThanOperator(InfixExpression exp) {
+    return exp.getOperator().equals(InfixExpression.Operator.LESS);
   }
 }
@@ -1,9 +1,8 @@
 package edu.byu.cs329.constantfolding;
 
 import edu.byu.cs329.utils.ExceptionUtils;
-import edu.byu.cs329.utils.TreeModificationUtils;
+import edu.byu.cs329.utils.RewriteTransaction;
 import java.util.List;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Block;
@@ -50,8 +49,11 @@ public class BlockFolding implements Folding {
   @Override
   public boolean fold(ASTNode root) {
     checkRequires(root);
-    Visitor visitor = new Visitor();
+    // The edits are recorded while visiting and applied together after
+    RewriteTransaction transaction = new RewriteTransaction();
+    Visitor visitor = new Visitor(transaction);
     root.accept(visitor);
+    transaction.commit();
     return visitor.didFold;
   }
 
@@ -64,41 +66,73 @@ public class BlockFolding implements Folding {
     }
   }
 
-  class Visitor extends ASTVisitor {
-    boolean didFold = false;
+  /**
+   * Flattens each nested block into the block.
+   *
+   * <p>The statements of a nested block are moved into its place, so only
+   * the nested blocks are touched and nothing is copied.
+   *
+   * @param node the node to fold.
+   * @return true if the node is a block that contains a block.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node) {
+    RewriteTransaction transaction = new RewriteTransaction();
+    boolean didFold = foldNode(node, transaction);
+    transaction.commit();
+    return didFold;
+  }
 
-    @Override
-    public void endVisit(Block node) {
-      List<Statement> statements = getStatementList(node.statements());
-      AST ast = node.getAST();
-      Block block = ast.newBlock();
-      List<Statement> newStatements = getStatementList(block.statements());
-      for (Statement statement : statements) {
-        addStatements(statement, newStatements);
+  /**
+   * Records the flattening of each nested block in the block.
+   *
+   * @param node the node to fold.
+   * @param transaction the transaction to record the edits in.
+   * @return true if the node is a block that contains a block.
+   */
+  boolean foldNode(final ASTNode node, RewriteTransaction transaction) {
+    if (!(node instanceof Block)) {
+      return false;
+    }
+    Block block = (Block) node;
+    List<Statement> statements = getStatementList(block.statements());
+    if (!hasNestedBlock(statements)) {
+      return false;
+    }
+    for (Statement statement : statements) {
+      if (statement instanceof Block) {
+        transaction.splice(statement, getStatementList(((Block) statement).statements()));
       }
-      TreeModificationUtils.replaceChildInParent(node, block);
     }
+    return true;
+  }
 
-    private void addStatements(Statement statement, List<Statement> newStatements) {
-      AST ast = statement.getAST();
-      if (!(statement instanceof Block)) {
-        Statement newStatement = (Statement) (ASTNode.copySubtree(ast, statement));
-        newStatements.add(newStatement);
-        return;
-      }
-      didFold = true;
-      Block block = (Block) statement;
-      List<Statement> statements = getStatementList(block.statements());
-      for (Statement statementInBlock : statements) {
-        Statement newStatement = (Statement) (ASTNode.copySubtree(ast, statementInBlock));
-        newStatements.add(newStatement);
+  private boolean hasNestedBlock(List<Statement> statements) {
+    for (Statement statement : statements) {
+      if (statement instanceof Block) {
+        return true;
       }
     }
+    return false;
+  }
 
-    private List<Statement> getStatementList(Object list) {
-      @SuppressWarnings("unchecked")
-      List<Statement> statementList = (List<Statement>) (list);
-      return statementList;
+  private List<Statement> getStatementList(Object list) {
+    @SuppressWarnings("unchecked")
+    List<Statement> statementList = (List<Statement>) (list);
+    return statementList;
+  }
+
+  class Visitor extends ASTVisitor {
+    boolean didFold = false;
+    private final RewriteTransaction transaction;
+
+    Visitor(RewriteTransaction transaction) {
+      this.transaction = transaction;
+    }
+
+    @Override
+    public void endVisit(Block node) {
+      didFold = foldNode(node, transaction) || didFold;
     }
   }
 }
@@ -0,0 +1,133 @@
+package edu.byu.cs329.constantfolding;
+
+import edu.byu.cs329.utils.ExceptionUtils;
+import edu.byu.cs329.utils.TreeModificationUtils;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replaces infix and prefix expressions over int, long, char, and boolean
+ * constants with the literal of their value.
+ */
+public class ConstantExpressionFolding implements ValueTableFolding {
+  static final Logger log = LoggerFactory.getLogger(ConstantExpressionFolding.class);
+
+  public ConstantExpressionFolding() {
+  }
+
+  /**
+   * Replaces every outermost constant expression in the tree with its value.
+   *
+   * <p>Every arithmetic, shift, bitwise, relational, equality, and logical
+   * operator is evaluated as Java evaluates it, over int, long, char, and
+   * boolean literals in any radix. A division or remainder by zero is not a
+   * constant, so it is kept to throw when it runs.
+   *
+   * <p>top := all nodes reachable from root such that each node
+   * is an outermost constant expression
+   *
+   * <p>parents := all nodes such that each one is the parent
+   * of some node in top
+   *
+   * <p>isConstant(n) := isIntegralOrBooleanLiteral(n)
+   * \/ (isParenthesized(n) /\ isConstant(expression(n)))
+   * \/ ((isInfixExpression(n) \/ isPrefixExpression(n))
+   * /\ forall operands o of n, isConstant(o)
+   * /\ value(n) is defined)
+   *
+   * <p>isFoldable(n) := isConstant(n)
+   * /\ (isInfixExpression(n) \/ isPrefixExpression(n))
+   * /\ not isNegatedNumberLiteral(n)
+   *
+   * @param root the root of the tree to traverse.
+   * @return true if constant expressions were replaced in the rooted tree
+   * @modifies nodes in parents
+   * @requires root != null
+   * @requires (root instanceof CompilationUnit) \/ parent(root) != null
+   * @ensures fold(root) == (old(top) != emptyset)
+   * @ensures forall n in old(top), exists n' in nodes
+   *         fresh(n')
+   *         /\ isLiteralOrNegatedNumberLiteral(n')
+   *         /\ value(n') == old(value(n))
+   *         /\ type(n') == old(type(n))
+   *         /\ children(parent(n')) == (children(parent(n)) setminus {n})
+   *         union {n'}
+   */
+  public boolean fold(final ASTNode root) {
+    checkRequires(root);
+    ConstantValueTable table = ConstantValueTable.ofAll(root);
+    boolean didFold = false;
+    for (Expression expression : table.getOutermost()) {
+      replace(expression, table.getValue(expression));
+      didFold = true;
+    }
+    return didFold;
+  }
+
+  private void checkRequires(final ASTNode root) {
+    ExceptionUtils.requiresNonNull(root, "Null root passed to ConstantExpressionFolding.fold");
+
+    if (!(root instanceof CompilationUnit) && root.getParent() == null) {
+      ExceptionUtils.throwRuntimeException(
+              "Non-CompilationUnit root with no parent passed to ConstantExpressionFolding.fold");
+    }
+  }
+
+  /**
+   * Replaces the infix or prefix expression with the literal of its value if
+   * its operands are literals.
+   *
+   * <p>Only the node and its operands are read. A fold of the tree visits
+   * the operands first, so a constant operand is already a literal.
+   *
+   * @param node the node to fold.
+   * @return true if the node was replaced with a literal.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node) {
+    if (!(node instanceof InfixExpression) && !(node instanceof PrefixExpression)) {
+      return false;
+    }
+    Expression expression = (Expression) node;
+    if (ConstantValueTable.isLiteralForm(expression)) {
+      return false;
+    }
+    Object value = ConstantValueTable.evaluateNodeAll(expression);
+    if (value == null) {
+      return false;
+    }
+    replace(expression, value);
+    return true;
+  }
+
+  /**
+   * Replaces the expression with the literal of its value if the table has
+   * it as an outermost constant expression.
+   *
+   * <p>The inner steps of a constant expression are not outermost, so only
+   * the outermost one gets a literal, and finding it is one lookup.
+   *
+   * @param node the node to fold.
+   * @param table the values of the tree from the start of the fold pass.
+   * @return true if the node was replaced with a literal.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node, final ConstantValueTable table) {
+    if (!(node instanceof Expression) || !table.isOutermost((Expression) node)) {
+      return false;
+    }
+    Expression expression = (Expression) node;
+    replace(expression, table.getValue(expression));
+    return true;
+  }
+
+  private void replace(Expression expression, Object value) {
+    Expression newLit = ConstantValueTable.newLiteral(expression.getAST(), value);
+    TreeModificationUtils.replaceChildInParent(expression, newLit);
+  }
+}
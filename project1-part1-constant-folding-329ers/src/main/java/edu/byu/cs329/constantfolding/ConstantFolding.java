@@ -1,8 +1,8 @@
 package edu.byu.cs329.constantfolding;
 
-import edu.byu.cs329.utils.JavaSourceUtils;
+import edu.byu.cs329.utils.RecordedCompilationUnit;
 import java.io.File;
-import java.io.PrintWriter;
+import java.nio.file.Paths;
 import java.util.List;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.slf4j.Logger;
@@ -11,6 +11,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Implements constant folding.
  *
+ * <p>ConstantExpressionFolding folds every operator in the pipeline. The
+ * single-rule foldings for +, <, and ! are not in it.
+ *
  * @author James Wasson
  * @author Eric Mercer
  */
@@ -25,33 +28,22 @@ public class ConstantFolding {
    * @return boolean indicating if the AST folded.
    */
   public static boolean fold(ASTNode compilationUnit) {
-    boolean didChangeAtAll = false;
-    boolean isChanged = true;
     List<Folding> foldingList = List.of(
             new BlockFolding(),
             new ParenthesizedExpressionFolding(),
-            new PrefixNotBoolFolding(),
-            new NumericPlusInfixFolding(),
-            new BinaryRelationFolding(),
+            new ConstantExpressionFolding(),
             new IfBoolFolding());
 
-    while (isChanged) {
-      isChanged = false;
-      for (Folding folding : foldingList) {
-        isChanged = isChanged || folding.fold(compilationUnit);
-
-        if (isChanged) {
-          didChangeAtAll = true;
-        }
-      }
-    }
-
-    return didChangeAtAll;
+    WorklistFolding worklistFolding = new WorklistFolding(foldingList);
+    return worklistFolding.fold(compilationUnit);
   }
 
   /**
    * Performs constant folding on a Java file.
    *
+   * <p>The output is the input with only the folded spans rewritten, so the
+   * rest of the file keeps its comments and formatting.
+   *
    * @param args The args[0] is the file to fold and the args[1] is where to write
    *             the output
    */
@@ -63,13 +55,11 @@ public class ConstantFolding {
     }
 
     File inputFile = new File(args[0]);
-    ASTNode compilationUnit = JavaSourceUtils.getCompilationUnit(inputFile.toURI());
-    fold(compilationUnit);
+    RecordedCompilationUnit compilationUnit = RecordedCompilationUnit.parse(inputFile.toPath());
+    fold(compilationUnit.getCompilationUnit());
 
     try {
-      PrintWriter writer = new PrintWriter(args[1], "UTF-8");
-      writer.print(compilationUnit.toString());
-      writer.close();
+      compilationUnit.write(Paths.get(args[1]));
     } catch (Exception e) {
       e.printStackTrace();
     }
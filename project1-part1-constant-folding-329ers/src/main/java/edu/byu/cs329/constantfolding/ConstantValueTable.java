@@ -0,0 +1,531 @@
+package edu.byu.cs329.constantfolding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.BooleanLiteral;
+import org.eclipse.jdt.core.dom.CharacterLiteral;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.NumberLiteral;
+import org.eclipse.jdt.core.dom.ParenthesizedExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+
+/**
+ * The constant value of every expression under a node.
+ *
+ * <p>Values are computed bottom-up in one walk and kept in a table keyed by
+ * node identity. An int literal is an Integer, a long literal is a Long, a
+ * char literal is a Character, and a boolean literal is a Boolean. A
+ * parenthesized expression has the value of what it holds, and an operator
+ * expression has a value when its operator is one the table is made for and
+ * its operands have values of types the operator takes. Any other expression
+ * has no value. Each literal token is parsed once, and an operation reads
+ * the values of its operands from the table, so nothing is turned back into
+ * text or into a node along the way.
+ *
+ * <p>Operations follow Java: operands are promoted to int or long, int and
+ * long arithmetic wraps on overflow, and shift distances are masked. As in
+ * a Java constant expression, every operand must have a value, even when the
+ * left operand of a conditional operator decides the result. Folding
+ * false && g() would make a constant the source never had and change which
+ * statements javac finds unreachable. A division or remainder by zero has
+ * no value, so it is kept and still throws when it runs. Floating point and
+ * String values are not evaluated.
+ *
+ * <p>This is the one evaluator of the package. ConstantExpressionFolding
+ * uses every operator, and the single-rule foldings use a table made for
+ * just their own operators.
+ *
+ * <p>An outermost expression is an operator expression with a value that is
+ * not already in the form of a literal and is not an operand of another one
+ * with a value, looking through parentheses. Folding replaces only the
+ * outermost expressions, so a chain of any depth becomes a single literal
+ * with no literals made for its inner steps.
+ */
+final class ConstantValueTable {
+
+  private static final Set<InfixExpression.Operator> ALL_OPERATORS = Set.of(
+          InfixExpression.Operator.TIMES,
+          InfixExpression.Operator.DIVIDE,
+          InfixExpression.Operator.REMAINDER,
+          InfixExpression.Operator.PLUS,
+          InfixExpression.Operator.MINUS,
+          InfixExpression.Operator.LEFT_SHIFT,
+          InfixExpression.Operator.RIGHT_SHIFT_SIGNED,
+          InfixExpression.Operator.RIGHT_SHIFT_UNSIGNED,
+          InfixExpression.Operator.LESS,
+          InfixExpression.Operator.GREATER,
+          InfixExpression.Operator.LESS_EQUALS,
+          InfixExpression.Operator.GREATER_EQUALS,
+          InfixExpression.Operator.EQUALS,
+          InfixExpression.Operator.NOT_EQUALS,
+          InfixExpression.Operator.XOR,
+          InfixExpression.Operator.AND,
+          InfixExpression.Operator.OR,
+          InfixExpression.Operator.CONDITIONAL_AND,
+          InfixExpression.Operator.CONDITIONAL_OR);
+
+  private final Set<InfixExpression.Operator> operators;
+  private final boolean isPrefixEvaluated;
+  private final Map<Expression, Object> valueMap = new IdentityHashMap<>();
+  private final List<Expression> foldableList = new ArrayList<>();
+  private final Set<Expression> outermostSet =
+          Collections.newSetFromMap(new IdentityHashMap<>());
+  private final List<Expression> outermostList = new ArrayList<>();
+
+  private ConstantValueTable(Set<InfixExpression.Operator> operators,
+                             boolean isPrefixEvaluated) {
+    this.operators = operators;
+    this.isPrefixEvaluated = isPrefixEvaluated;
+  }
+
+  /**
+   * Computes the value of every expression under a node for some infix
+   * operators and no prefix operators.
+   *
+   * @param root the root of the tree to evaluate.
+   * @param operators the infix operators to evaluate.
+   * @return the table of values.
+   * @requires root != null /\ operators != null
+   */
+  static ConstantValueTable of(ASTNode root, Set<InfixExpression.Operator> operators) {
+    ConstantValueTable table = new ConstantValueTable(operators, false);
+    table.evaluate(root);
+    return table;
+  }
+
+  /**
+   * Computes the value of every expression under a node for every operator.
+   *
+   * @param root the root of the tree to evaluate.
+   * @return the table of values.
+   * @requires root != null
+   */
+  static ConstantValueTable ofAll(ASTNode root) {
+    ConstantValueTable table = new ConstantValueTable(ALL_OPERATORS, true);
+    table.evaluate(root);
+    return table;
+  }
+
+  /**
+   * Computes the value of one operator expression for some infix operators
+   * and no prefix operators from operands that are already literals.
+   *
+   * <p>Only the node and its literal operands are read, so the cost does not
+   * grow with the depth of the tree under the node. An operand that is not a
+   * literal, even one in parentheses, has no value.
+   *
+   * @param node the expression to evaluate.
+   * @param operators the infix operators to evaluate.
+   * @return the value of node, or null if it has none.
+   * @requires node != null /\ operators != null
+   */
+  static Object evaluateNode(Expression node, Set<InfixExpression.Operator> operators) {
+    return new ConstantValueTable(operators, false).evaluateOperator(node);
+  }
+
+  /**
+   * Computes the value of one operator expression for every operator from
+   * operands that are already literals.
+   *
+   * @param node the expression to evaluate.
+   * @return the value of node, or null if it has none.
+   * @requires node != null
+   */
+  static Object evaluateNodeAll(Expression node) {
+    return new ConstantValueTable(ALL_OPERATORS, true).evaluateOperator(node);
+  }
+
+  /**
+   * Gets the value of an expression.
+   *
+   * @param expression the expression.
+   * @return an Integer, Long, Character, or Boolean, or null if expression
+   *         has no value.
+   */
+  Object getValue(Expression expression) {
+    return valueMap.get(expression);
+  }
+
+  /**
+   * Gets the outermost expressions with a value.
+   *
+   * @return the outermost operator expressions in post-order.
+   */
+  List<Expression> getOutermost() {
+    return Collections.unmodifiableList(outermostList);
+  }
+
+  /**
+   * Tells if an expression was outermost when the table was computed.
+   *
+   * @param expression the expression.
+   * @return true if expression is one of getOutermost.
+   */
+  boolean isOutermost(Expression expression) {
+    return outermostSet.contains(expression);
+  }
+
+  /**
+   * Makes the literal for a value.
+   *
+   * <p>A negative number is a minus prefix on the literal of its magnitude,
+   * since a number literal has no sign.
+   *
+   * @param ast the AST to make the literal in.
+   * @param value an Integer, Long, or Boolean.
+   * @return a new expression for value.
+   */
+  static Expression newLiteral(AST ast, Object value) {
+    if (value instanceof Boolean) {
+      return ast.newBooleanLiteral((Boolean) value);
+    }
+    long longValue = ((Number) value).longValue();
+    String suffix = value instanceof Long ? "L" : "";
+    if (longValue >= 0) {
+      return ast.newNumberLiteral(longValue + suffix);
+    }
+    PrefixExpression negative = ast.newPrefixExpression();
+    negative.setOperator(PrefixExpression.Operator.MINUS);
+    // The magnitude of Long.MIN_VALUE only fits unsigned
+    negative.setOperand(ast.newNumberLiteral(Long.toUnsignedString(-longValue) + suffix));
+    return negative;
+  }
+
+  /**
+   * Parses an int or long literal.
+   *
+   * @param literal the literal.
+   * @return the Integer or Long value of the literal, or null if it is a
+   *         floating point literal or out of range.
+   */
+  static Number parseNumber(NumberLiteral literal) {
+    String token = literal.getToken().replace("_", "").toLowerCase();
+    boolean isLong = token.endsWith("l");
+    if (isLong) {
+      token = token.substring(0, token.length() - 1);
+    }
+    int radix = 10;
+    if (token.startsWith("0x")) {
+      radix = 16;
+      token = token.substring(2);
+    } else if (token.startsWith("0b")) {
+      radix = 2;
+      token = token.substring(2);
+    } else if (token.length() > 1 && token.startsWith("0")) {
+      radix = 8;
+      token = token.substring(1);
+    }
+    try {
+      // Only decimal literals are signed, the others may set the sign bit
+      if (isLong) {
+        return radix == 10 ? Long.parseLong(token) : Long.parseUnsignedLong(token, radix);
+      }
+      return radix == 10 ? Integer.parseInt(token) : Integer.parseUnsignedInt(token, radix);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private void evaluate(ASTNode root) {
+    root.accept(new Evaluator());
+    for (Expression expression : foldableList) {
+      if (!hasConstantParent(expression)) {
+        outermostList.add(expression);
+        outermostSet.add(expression);
+      }
+    }
+  }
+
+  private Object evaluateOperator(Expression node) {
+    List<Expression> operandList = new ArrayList<>();
+    if (node instanceof InfixExpression) {
+      InfixExpression infix = (InfixExpression) node;
+      operandList.add(infix.getLeftOperand());
+      operandList.add(infix.getRightOperand());
+      for (Object o : infix.extendedOperands()) {
+        operandList.add((Expression) o);
+      }
+    } else if (node instanceof PrefixExpression) {
+      operandList.add(((PrefixExpression) node).getOperand());
+    } else {
+      return null;
+    }
+    Evaluator evaluator = new Evaluator();
+    for (Expression operand : operandList) {
+      if (isLiteralForm(operand)) {
+        operand.accept(evaluator);
+      }
+    }
+    // Only the node itself is visited, not the operands again
+    if (node instanceof InfixExpression) {
+      evaluator.endVisit((InfixExpression) node);
+    } else {
+      evaluator.endVisit((PrefixExpression) node);
+    }
+    return valueMap.get(node);
+  }
+
+  private boolean hasConstantParent(Expression expression) {
+    ASTNode parent = expression.getParent();
+    while (parent instanceof ParenthesizedExpression) {
+      parent = parent.getParent();
+    }
+    boolean isOperator = parent instanceof InfixExpression
+            || parent instanceof PrefixExpression;
+    return isOperator && valueMap.containsKey(parent);
+  }
+
+  /**
+   * Tells if an expression is already in the form newLiteral gives.
+   *
+   * @param expression the expression.
+   * @return true if expression is a literal or a negated number literal.
+   */
+  static boolean isLiteralForm(Expression expression) {
+    if (expression instanceof PrefixExpression) {
+      PrefixExpression prefix = (PrefixExpression) expression;
+      return prefix.getOperator() == PrefixExpression.Operator.MINUS
+              && prefix.getOperand() instanceof NumberLiteral;
+    }
+    return expression instanceof NumberLiteral || expression instanceof BooleanLiteral
+            || expression instanceof CharacterLiteral;
+  }
+
+  private static Number promote(Object value) {
+    if (value instanceof Character) {
+      return (int) (Character) value;
+    }
+    if (value instanceof Integer || value instanceof Long) {
+      return (Number) value;
+    }
+    return null;
+  }
+
+  private static Object computePrefix(PrefixExpression.Operator operator, Object operand) {
+    if (operator == PrefixExpression.Operator.NOT) {
+      return operand instanceof Boolean ? !(Boolean) operand : null;
+    }
+    Number number = promote(operand);
+    if (number == null) {
+      return null;
+    }
+    boolean isLong = number instanceof Long;
+    long value = number.longValue();
+    if (operator == PrefixExpression.Operator.PLUS) {
+      return number;
+    } else if (operator == PrefixExpression.Operator.MINUS) {
+      return isLong ? (Object) (-value) : (Object) (-(int) value);
+    } else if (operator == PrefixExpression.Operator.COMPLEMENT) {
+      return isLong ? (Object) (~value) : (Object) (~(int) value);
+    }
+    return null;
+  }
+
+  private static Object compute(InfixExpression.Operator operator, Object left, Object right) {
+    if (left instanceof Boolean && right instanceof Boolean) {
+      return computeBoolean(operator, (Boolean) left, (Boolean) right);
+    }
+    Number leftNumber = promote(left);
+    Number rightNumber = promote(right);
+    if (leftNumber == null || rightNumber == null) {
+      return null;
+    }
+    if (operator == InfixExpression.Operator.LEFT_SHIFT
+            || operator == InfixExpression.Operator.RIGHT_SHIFT_SIGNED
+            || operator == InfixExpression.Operator.RIGHT_SHIFT_UNSIGNED) {
+      // A shift has the type of its left operand alone
+      int distance = rightNumber.intValue();
+      if (leftNumber instanceof Long) {
+        return computeLongShift(operator, leftNumber.longValue(), distance);
+      }
+      return computeIntShift(operator, leftNumber.intValue(), distance);
+    }
+    if (leftNumber instanceof Long || rightNumber instanceof Long) {
+      return computeLong(operator, leftNumber.longValue(), rightNumber.longValue());
+    }
+    return computeInt(operator, leftNumber.intValue(), rightNumber.intValue());
+  }
+
+  private static Object computeBoolean(InfixExpression.Operator operator,
+                                       boolean left, boolean right) {
+    if (operator == InfixExpression.Operator.CONDITIONAL_AND
+            || operator == InfixExpression.Operator.AND) {
+      return left && right;
+    } else if (operator == InfixExpression.Operator.CONDITIONAL_OR
+            || operator == InfixExpression.Operator.OR) {
+      return left || right;
+    } else if (operator == InfixExpression.Operator.XOR
+            || operator == InfixExpression.Operator.NOT_EQUALS) {
+      return left != right;
+    } else if (operator == InfixExpression.Operator.EQUALS) {
+      return left == right;
+    }
+    return null;
+  }
+
+  private static Object computeInt(InfixExpression.Operator operator, int left, int right) {
+    if (operator == InfixExpression.Operator.TIMES) {
+      return left * right;
+    } else if (operator == InfixExpression.Operator.DIVIDE) {
+      return right == 0 ? null : (Object) (left / right);
+    } else if (operator == InfixExpression.Operator.REMAINDER) {
+      return right == 0 ? null : (Object) (left % right);
+    } else if (operator == InfixExpression.Operator.PLUS) {
+      return left + right;
+    } else if (operator == InfixExpression.Operator.MINUS) {
+      return left - right;
+    } else if (operator == InfixExpression.Operator.AND) {
+      return left & right;
+    } else if (operator == InfixExpression.Operator.OR) {
+      return left | right;
+    } else if (operator == InfixExpression.Operator.XOR) {
+      return left ^ right;
+    }
+    return compare(operator, Integer.compare(left, right));
+  }
+
+  private static Object computeLong(InfixExpression.Operator operator, long left, long right) {
+    if (operator == InfixExpression.Operator.TIMES) {
+      return left * right;
+    } else if (operator == InfixExpression.Operator.DIVIDE) {
+      return right == 0 ? null : (Object) (left / right);
+    } else if (operator == InfixExpression.Operator.REMAINDER) {
+      return right == 0 ? null : (Object) (left % right);
+    } else if (operator == InfixExpression.Operator.PLUS) {
+      return left + right;
+    } else if (operator == InfixExpression.Operator.MINUS) {
+      return left - right;
+    } else if (operator == InfixExpression.Operator.AND) {
+      return left & right;
+    } else if (operator == InfixExpression.Operator.OR) {
+      return left | right;
+    } else if (operator == InfixExpression.Operator.XOR) {
+      return left ^ right;
+    }
+    return compare(operator, Long.compare(left, right));
+  }
+
+  private static Object computeIntShift(InfixExpression.Operator operator,
+                                        int left, int distance) {
+    if (operator == InfixExpression.Operator.LEFT_SHIFT) {
+      return left << distance;
+    } else if (operator == InfixExpression.Operator.RIGHT_SHIFT_SIGNED) {
+      return left >> distance;
+    }
+    return left >>> distance;
+  }
+
+  private static Object computeLongShift(InfixExpression.Operator operator,
+                                         long left, int distance) {
+    if (operator == InfixExpression.Operator.LEFT_SHIFT) {
+      return left << distance;
+    } else if (operator == InfixExpression.Operator.RIGHT_SHIFT_SIGNED) {
+      return left >> distance;
+    }
+    return left >>> distance;
+  }
+
+  private static Object compare(InfixExpression.Operator operator, int comparison) {
+    if (operator == InfixExpression.Operator.LESS) {
+      return comparison < 0;
+    } else if (operator == InfixExpression.Operator.GREATER) {
+      return comparison > 0;
+    } else if (operator == InfixExpression.Operator.LESS_EQUALS) {
+      return comparison <= 0;
+    } else if (operator == InfixExpression.Operator.GREATER_EQUALS) {
+      return comparison >= 0;
+    } else if (operator == InfixExpression.Operator.EQUALS) {
+      return comparison == 0;
+    } else if (operator == InfixExpression.Operator.NOT_EQUALS) {
+      return comparison != 0;
+    }
+    return null;
+  }
+
+  class Evaluator extends ASTVisitor {
+    @Override
+    public void endVisit(NumberLiteral node) {
+      Number value = parseNumber(node);
+      if (value != null) {
+        valueMap.put(node, value);
+      }
+    }
+
+    @Override
+    public void endVisit(CharacterLiteral node) {
+      valueMap.put(node, node.charValue());
+    }
+
+    @Override
+    public void endVisit(BooleanLiteral node) {
+      valueMap.put(node, node.booleanValue());
+    }
+
+    @Override
+    public void endVisit(ParenthesizedExpression node) {
+      Object value = valueMap.get(node.getExpression());
+      if (value != null) {
+        valueMap.put(node, value);
+      }
+    }
+
+    @Override
+    public void endVisit(PrefixExpression node) {
+      if (!isPrefixEvaluated) {
+        return;
+      }
+      Object value = computePrefix(node.getOperator(), getOperandValue(node));
+      if (value == null) {
+        return;
+      }
+      valueMap.put(node, value);
+      if (!isLiteralForm(node)) {
+        foldableList.add(node);
+      }
+    }
+
+    @Override
+    public void endVisit(InfixExpression node) {
+      InfixExpression.Operator operator = node.getOperator();
+      if (!operators.contains(operator)) {
+        return;
+      }
+      // Operands combine from the left, as Java evaluates them
+      Object value = compute(operator, valueMap.get(node.getLeftOperand()),
+              valueMap.get(node.getRightOperand()));
+      for (Object o : node.extendedOperands()) {
+        if (value == null) {
+          return;
+        }
+        value = compute(operator, value, valueMap.get((Expression) o));
+      }
+      if (value != null) {
+        valueMap.put(node, value);
+        foldableList.add(node);
+      }
+    }
+
+    private Object getOperandValue(PrefixExpression node) {
+      Expression operand = node.getOperand();
+      if (node.getOperator() == PrefixExpression.Operator.MINUS
+              && operand instanceof NumberLiteral && !valueMap.containsKey(operand)) {
+        // The one literal of each type that is only allowed after a minus
+        String token = ((NumberLiteral) operand).getToken();
+        if ("2147483648".equals(token)) {
+          return Integer.MIN_VALUE;
+        } else if ("9223372036854775808L".equalsIgnoreCase(token)) {
+          return Long.MIN_VALUE;
+        }
+      }
+      return valueMap.get(operand);
+    }
+  }
+}
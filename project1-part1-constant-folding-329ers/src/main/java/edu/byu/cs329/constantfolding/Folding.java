@@ -4,4 +4,13 @@ import org.eclipse.jdt.core.dom.ASTNode;
 
 public interface Folding {
   public boolean fold(final ASTNode root);
+
+  /**
+   * Folds the node itself without visiting any of its children.
+   *
+   * @param node the node to fold.
+   * @return true if the node was replaced, removed, or rewritten in place.
+   * @requires node != null
+   */
+  public boolean foldNode(final ASTNode node);
 }
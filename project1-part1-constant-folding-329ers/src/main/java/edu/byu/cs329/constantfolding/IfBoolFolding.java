@@ -1,8 +1,7 @@
 package edu.byu.cs329.constantfolding;
 
 import edu.byu.cs329.utils.ExceptionUtils;
-import edu.byu.cs329.utils.TreeModificationUtils;
-import org.eclipse.jdt.core.dom.AST;
+import edu.byu.cs329.utils.RewriteTransaction;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.BooleanLiteral;
@@ -49,7 +48,7 @@ public class IfBoolFolding implements Folding {
    * @requires (root instanceof CompilationUnit) \/ parent(root) != null
    *         (children(parent(n)) setminus {n})
    * @ensures forall n in old(top), exists n' in nodes
-   *         fresh(n')
+   *         n' \in old(children(n))
    *         /\ isBooleanLiteral(n')
    *         /\ odd number of nested prefixes ==> boolVal(n') == !boolVal(n)
    *         /\ even number of nested prefixes ==> boolVal(n') == boolVal(n)
@@ -61,8 +60,11 @@ public class IfBoolFolding implements Folding {
    */
   public boolean fold(final ASTNode root) {
     checkRequires(root);
-    Visitor visitor = new Visitor();
+    // The edits are recorded while visiting and applied together after
+    RewriteTransaction transaction = new RewriteTransaction();
+    Visitor visitor = new Visitor(transaction);
     root.accept(visitor);
+    transaction.commit();
     return visitor.didFold;
   }
 
@@ -75,42 +77,71 @@ public class IfBoolFolding implements Folding {
     }
   }
 
+  /**
+   * Replaces the if statement with the branch its BooleanLiteral condition
+   * selects, or removes it when that branch does not exist.
+   *
+   * <p>The branch is moved into the place of the if statement, not copied.
+   *
+   * @param node the node to fold.
+   * @return true if the node was replaced or removed.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node) {
+    RewriteTransaction transaction = new RewriteTransaction();
+    boolean didFold = foldNode(node, transaction);
+    transaction.commit();
+    return didFold;
+  }
+
+  /**
+   * Records the replacement or removal of the if statement.
+   *
+   * @param node the node to fold.
+   * @param transaction the transaction to record the edits in.
+   * @return true if the node will be replaced or removed.
+   */
+  boolean foldNode(final ASTNode node, RewriteTransaction transaction) {
+    if (!(node instanceof IfStatement)) {
+      return false;
+    }
+    IfStatement ifStatement = (IfStatement) node;
+    if (!isIfBoolExpression(ifStatement)) {
+      return false;
+    }
+
+    // Handle false case
+    BooleanLiteral boolLiteral = (BooleanLiteral) ifStatement.getExpression();
+    if (boolLiteral.booleanValue() == false) {
+      if (ifStatement.getElseStatement() != null) {
+        // replace the child with else
+        transaction.replace(ifStatement, ifStatement.getElseStatement());
+      } else {
+        // We want to remove entire if statement
+        transaction.remove(ifStatement);
+      }
+    } else {
+      // Handle true case
+      transaction.replace(ifStatement, ifStatement.getThenStatement());
+    }
+    return true;
+  }
+
+  private boolean isIfBoolExpression(IfStatement exp) {
+    return exp.getExpression() instanceof BooleanLiteral;
+  }
+
   class Visitor extends ASTVisitor {
     public boolean didFold = false;
+    private final RewriteTransaction transaction;
 
-    private boolean isIfBoolExpression(IfStatement exp) {
-      return exp.getExpression() instanceof BooleanLiteral;
+    Visitor(RewriteTransaction transaction) {
+      this.transaction = transaction;
     }
 
     @Override
     public void endVisit(IfStatement node) {
-      if (!isIfBoolExpression(node)) {
-        return;
-      }
-
-      // Handle false case
-      BooleanLiteral boolLiteral = (BooleanLiteral) node.getExpression();
-      if (boolLiteral.booleanValue() == false) {
-        if (node.getElseStatement() != null) {
-          // replace the child with else
-          AST ast = node.getAST();
-          ASTNode exp = node.getElseStatement();
-          ASTNode newExp = ASTNode.copySubtree(ast, exp);
-          TreeModificationUtils.replaceChildInParent(node, newExp);
-          didFold = true;
-        } else {
-          // We want to remove entire if statement
-          TreeModificationUtils.removeChildInParent(node);
-          didFold = true;
-        }
-      } else {
-        // Handle true case
-        AST ast = node.getAST();
-        ASTNode exp = node.getThenStatement();
-        ASTNode newExp = ASTNode.copySubtree(ast, exp);
-        TreeModificationUtils.replaceChildInParent(node, newExp);
-        didFold = true;
-      }
+      didFold = foldNode(node, transaction) || didFold;
     }
   }
 }
@@ -2,25 +2,31 @@ package edu.byu.cs329.constantfolding;
 
 import edu.byu.cs329.utils.ExceptionUtils;
 import edu.byu.cs329.utils.TreeModificationUtils;
-import java.util.List;
-import org.eclipse.jdt.core.dom.AST;
+import java.util.Collections;
+import java.util.Set;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.InfixExpression;
-import org.eclipse.jdt.core.dom.NumberLiteral;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Folds infix expression with + operator into a single value.
  *
+ * <p>This is one rule of the folding spec with its own tests. ConstantFolding
+ * runs ConstantExpressionFolding instead, which folds + along with every
+ * other operator from the same ConstantValueTable, so the two always agree
+ * on the value of a sum.
+ *
  * @author Joshua Higgins and Brigham Andersen
  */
 public class NumericPlusInfixFolding implements Folding {
   static final Logger log = LoggerFactory.getLogger(ParenthesizedExpressionFolding.class);
 
+  private static final Set<InfixExpression.Operator> OPERATORS =
+          Collections.singleton(InfixExpression.Operator.PLUS);
+
   public NumericPlusInfixFolding() {
   }
 
@@ -40,10 +46,10 @@ public class NumericPlusInfixFolding implements Folding {
    *
    * <p>isFoldable(n) := isInfixExpression(n)
    * /\ ( hasPlusOperator(operator(n))
-   * /\ has 2+ number literals
-   * || isFoldable(expression(n)))
+   * /\ forall operands o of n, isIntConstant(o))
    *
-   * <p>literal(n) := if isLiteral(n) then n else literal(expression(n))
+   * <p>isIntConstant(o) := isIntegralLiteral(o) \/ isFoldable(o)
+   * \/ (isParenthesized(o) /\ isIntConstant(expression(o)))
    *
    * @param root the root of the tree to traverse.
    * @return true if parenthesized literals were replaced in the rooted tree
@@ -63,9 +69,14 @@ public class NumericPlusInfixFolding implements Folding {
    */
   public boolean fold(final ASTNode root) {
     checkRequires(root);
-    Visitor visitor = new Visitor();
-    root.accept(visitor);
-    return visitor.didFold;
+    // Inner sums are read from the table, so only the outermost get literals
+    ConstantValueTable table = ConstantValueTable.of(root, OPERATORS);
+    boolean didFold = false;
+    for (Expression expression : table.getOutermost()) {
+      replace(expression, table.getValue(expression));
+      didFold = true;
+    }
+    return didFold;
   }
 
   private void checkRequires(final ASTNode root) {
@@ -78,48 +89,38 @@ public class NumericPlusInfixFolding implements Folding {
     }
   }
 
-  class Visitor extends ASTVisitor {
-    public boolean didFold = false;
-
-    private boolean isPlusOperator(InfixExpression exp) {
-      return exp.getOperator().equals(InfixExpression.Operator.PLUS);
+  /**
+   * Replaces the infix expression with its sum if it adds int literals.
+   *
+   * <p>Only the node and its operands are read. A fold of the tree visits
+   * the operands first, so a sum in an operand is already a literal.
+   *
+   * @param node the node to fold.
+   * @return true if the node was replaced with a number literal.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node) {
+    if (!(node instanceof InfixExpression)) {
+      return false;
     }
-
-    private boolean checkForNumLits(InfixExpression exp) {
-      return (exp.getLeftOperand() instanceof NumberLiteral)
-              && (exp.getRightOperand() instanceof NumberLiteral);
+    InfixExpression infix = (InfixExpression) node;
+    if (!isPlusOperator(infix)) {
+      return false;
     }
+    Object sum = ConstantValueTable.evaluateNode(infix, OPERATORS);
+    if (sum == null) {
+      return false;
+    }
+    replace(infix, sum);
+    return true;
+  }
 
-    @Override
-    public void endVisit(InfixExpression node) {
-      if (!isPlusOperator(node)) {
-        return;
-      }
-      if (!checkForNumLits(node)) {
-        return;
-      }
-
-      int sum = 0;
-
-      AST ast = node.getAST();
-      // Add child Number Literals
-      int leftOperand = Integer.parseInt(node.getLeftOperand().toString());
-      int rightOperand = Integer.parseInt(node.getRightOperand().toString());
-
-      sum = leftOperand + rightOperand;
+  private void replace(Expression expression, Object sum) {
+    Expression newLit = ConstantValueTable.newLiteral(expression.getAST(), sum);
+    TreeModificationUtils.replaceChildInParent(expression, newLit);
+  }
 
-      // Add extended Number Literals
-      @SuppressWarnings("unchecked")
-      List<Expression> extendedOperands = (List<Expression>) node.extendedOperands();
-      if (extendedOperands.size() > 0) {
-        for (Expression exp : extendedOperands) {
-          sum += Integer.parseInt(exp.toString());
-        }
-      }
-      // Replace with the resulting number literal
-      NumberLiteral newLit = ast.newNumberLiteral(String.valueOf(sum));
-      TreeModificationUtils.replaceChildInParent(node, newLit);
-      didFold = true;
-    }
+  private boolean isPlusOperator(InfixExpression exp) {
+    return exp.getOperator().equals(InfixExpression.Operator.PLUS);
   }
 }
@@ -78,28 +78,43 @@ public class ParenthesizedExpressionFolding implements Folding {
     }
   }
 
+  /**
+   * Replaces the parenthesized expression with its literal.
+   *
+   * @param node the node to fold.
+   * @return true if the node was replaced with the literal.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node) {
+    if (!(node instanceof ParenthesizedExpression)) {
+      return false;
+    }
+    ParenthesizedExpression parenthesized = (ParenthesizedExpression) node;
+    ASTNode exp = parenthesized.getExpression();
+    if (!isLiteralExpression(exp)) {
+      return false;
+    }
+    AST ast = parenthesized.getAST();
+    ASTNode newExp = ASTNode.copySubtree(ast, exp);
+    TreeModificationUtils.replaceChildInParent(parenthesized, newExp);
+    return true;
+  }
+
+  private boolean isLiteralExpression(ASTNode exp) {
+    return (exp instanceof BooleanLiteral)
+            || (exp instanceof CharacterLiteral)
+            || (exp instanceof NullLiteral)
+            || (exp instanceof StringLiteral)
+            || (exp instanceof TypeLiteral)
+            || (exp instanceof NumberLiteral);
+  }
+
   class Visitor extends ASTVisitor {
     public boolean didFold = false;
 
-    private boolean isLiteralExpression(ASTNode exp) {
-      return (exp instanceof BooleanLiteral)
-              || (exp instanceof CharacterLiteral)
-              || (exp instanceof NullLiteral)
-              || (exp instanceof StringLiteral)
-              || (exp instanceof TypeLiteral)
-              || (exp instanceof NumberLiteral);
-    }
-
     @Override
     public void endVisit(ParenthesizedExpression node) {
-      ASTNode exp = node.getExpression();
-      if (!isLiteralExpression(exp)) {
-        return;
-      }
-      AST ast = node.getAST();
-      ASTNode newExp = ASTNode.copySubtree(ast, exp);
-      TreeModificationUtils.replaceChildInParent(node, newExp);
-      didFold = true;
+      didFold = foldNode(node) || didFold;
     }
   }
 }
@@ -15,6 +15,9 @@ import org.slf4j.LoggerFactory;
  * Replaces logical not (!) PrefixExpressions containing a BooleanLiteral with a
  * BooleanLiteral.
  *
+ * <p>ConstantFolding folds ! with ConstantExpressionFolding, which also
+ * looks through parentheses, so this rule is only used on its own.
+ *
  * @author Joshua Higgins and Brigham Andersen
  */
 public class PrefixNotBoolFolding implements Folding {
@@ -77,33 +80,48 @@ public class PrefixNotBoolFolding implements Folding {
     }
   }
 
-  class Visitor extends ASTVisitor {
-    public boolean didFold = false;
+  /**
+   * Replaces the prefix expression with the flipped BooleanLiteral if it is a
+   * logical not of a BooleanLiteral.
+   *
+   * @param node the node to fold.
+   * @return true if the node was replaced with a boolean literal.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node) {
+    if (!(node instanceof PrefixExpression)) {
+      return false;
+    }
+    PrefixExpression prefix = (PrefixExpression) node;
+    if (!isExclamationMark(prefix)) {
+      return false;
+    }
+    ASTNode exp = prefix.getOperand();
 
-    private boolean isExclamationMark(PrefixExpression exp) {
-      return exp.getOperator().equals(PrefixExpression.Operator.NOT);
+    if (!(exp instanceof BooleanLiteral)) {
+      return false;
     }
 
-    @Override
-    public void endVisit(PrefixExpression node) {
-      if (!isExclamationMark(node)) {
-        return;
-      }
-      ASTNode exp = node.getOperand();
+    BooleanLiteral boolLiteral = (BooleanLiteral) exp;
 
-      if (!(exp instanceof BooleanLiteral)) {
-        return;
-      }
+    boolean boolVal = boolLiteral.booleanValue();
+    AST ast = prefix.getAST();
+    // Replace with a flipped BooleanLiteral
+    BooleanLiteral newLit = ast.newBooleanLiteral(!boolVal);
+    TreeModificationUtils.replaceChildInParent(prefix, newLit);
+    return true;
+  }
 
-      BooleanLiteral boolLiteral = (BooleanLiteral) exp;
+  private boolean isExclamationMark(PrefixExpression exp) {
+    return exp.getOperator().equals(PrefixExpression.Operator.NOT);
+  }
 
-      boolean boolVal = boolLiteral.booleanValue();
-      AST ast = node.getAST();
-      // Replace with a flipped BooleanLiteral
-      BooleanLiteral newLit = ast.newBooleanLiteral(!boolVal);
-      TreeModificationUtils.replaceChildInParent(node, newLit);
+  class Visitor extends ASTVisitor {
+    public boolean didFold = false;
 
-      didFold = true;
+    @Override
+    public void endVisit(PrefixExpression node) {
+      didFold = foldNode(node) || didFold;
     }
   }
 }
@@ -0,0 +1,20 @@
+package edu.byu.cs329.constantfolding;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+
+/**
+ * A folding that can read the constant values of a whole fold pass from one
+ * table instead of evaluating each node again.
+ */
+interface ValueTableFolding extends Folding {
+  /**
+   * Folds the node with the values in a table computed over the tree at the
+   * start of the pass.
+   *
+   * @param node the node to fold.
+   * @param table the values of the tree the node is in.
+   * @return true if the node was replaced.
+   * @requires node != null /\ table != null
+   */
+  boolean foldNode(final ASTNode node, final ConstantValueTable table);
+}
@@ -0,0 +1,140 @@
+package edu.byu.cs329.constantfolding;
+
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies a list of foldings to a fixed point with a single walk of the tree.
+ */
+public class WorklistFolding implements Folding {
+  static final Logger log = LoggerFactory.getLogger(WorklistFolding.class);
+
+  private final List<Folding> foldingList;
+  private int visitCount = 0;
+  private ConstantValueTable table = null;
+
+  public WorklistFolding(List<Folding> foldingList) {
+    this.foldingList = foldingList;
+  }
+
+  /**
+   * Folds the tree with every folding until none of them apply.
+   *
+   * <p>The worklist starts with every node reachable from the root in
+   * post-order so each node is folded after its children. Every folding is
+   * applied to a node with foldNode before moving on. When a node is
+   * rewritten its parent is put back on the worklist if it is not already
+   * there. A node that replaces another is either new or was already folded
+   * in its old position, so it never needs to be folded again.
+   *
+   * <p>When a folding can read a value table, the values of the whole tree
+   * are computed once before the walk and every such folding reads them, so
+   * no node is evaluated more than once in the pass.
+   *
+   * <p>The result is the same tree as calling fold on each folding in turn
+   * until none of them change the tree.
+   *
+   * @param root the root of the tree to traverse.
+   * @return true if any folding changed the tree.
+   * @requires root != null
+   * @requires (root instanceof CompilationUnit) \/ parent(root) != null
+   * @ensures getVisitCount() = the number of nodes taken off the worklist
+   */
+  @Override
+  public boolean fold(final ASTNode root) {
+    checkRequires(root);
+    visitCount = 0;
+    table = null;
+    for (Folding folding : foldingList) {
+      if (folding instanceof ValueTableFolding) {
+        table = ConstantValueTable.ofAll(root);
+        break;
+      }
+    }
+    Deque<ASTNode> worklist = new ArrayDeque<>();
+    Set<ASTNode> queued = Collections.newSetFromMap(new IdentityHashMap<>());
+    root.accept(new ASTVisitor() {
+      @Override
+      public void postVisit(ASTNode node) {
+        worklist.add(node);
+        queued.add(node);
+      }
+    });
+
+    boolean didFold = false;
+    while (!worklist.isEmpty()) {
+      ASTNode node = worklist.poll();
+      queued.remove(node);
+      ASTNode parent = node.getParent();
+      if (parent == null && node != root) {
+        continue;
+      }
+      ++visitCount;
+      if (foldNode(node)) {
+        didFold = true;
+        if (parent != null && queued.add(parent)) {
+          worklist.add(parent);
+        }
+      }
+    }
+    table = null;
+    log.debug("Folded with {} node visits", visitCount);
+    return didFold;
+  }
+
+  /**
+   * Applies each folding to the node until one of them detaches it.
+   *
+   * @param node the node to fold.
+   * @return true if any folding changed the node.
+   */
+  @Override
+  public boolean foldNode(final ASTNode node) {
+    ASTNode parent = node.getParent();
+    boolean didFold = false;
+    for (Folding folding : foldingList) {
+      if (foldNode(folding, node)) {
+        didFold = true;
+        if (node.getParent() != parent) {
+          break;
+        }
+      }
+    }
+    return didFold;
+  }
+
+  private boolean foldNode(Folding folding, ASTNode node) {
+    if (table != null && folding instanceof ValueTableFolding) {
+      return ((ValueTableFolding) folding).foldNode(node, table);
+    }
+    return folding.foldNode(node);
+  }
+
+  /**
+   * Gets the number of nodes taken off the worklist by the last fold.
+   *
+   * @return the number of node visits.
+   */
+  public int getVisitCount() {
+    return visitCount;
+  }
+
+  private void checkRequires(final ASTNode root) {
+    ExceptionUtils.requiresNonNull(root, "Null root passed to WorklistFolding.fold");
+
+    if (!(root instanceof CompilationUnit) && root.getParent() == null) {
+      ExceptionUtils.throwRuntimeException(
+              "Non-CompilationUnit root with no parent passed to WorklistFolding.fold");
+    }
+  }
+}
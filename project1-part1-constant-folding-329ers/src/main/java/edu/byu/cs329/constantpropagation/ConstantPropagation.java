@@ -1,15 +1,19 @@
 package edu.byu.cs329.constantpropagation;
 
-import edu.byu.cs329.cfg.ControlFlowGraph;
-import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
 import edu.byu.cs329.constantfolding.ConstantFolding;
+import edu.byu.cs329.rd.MethodAnalysisBuilder;
+import edu.byu.cs329.rd.MethodAnalysisBuilder.MethodAnalysis;
 import edu.byu.cs329.rd.ReachingDefinitions;
-import edu.byu.cs329.rd.ReachingDefinitionsBuilder;
-import edu.byu.cs329.utils.JavaSourceUtils;
+import edu.byu.cs329.rd.ReachingDefinitionsMode;
+import edu.byu.cs329.utils.RecordedCompilationUnit;
 import java.io.File;
-import java.io.PrintWriter;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,42 +29,76 @@ public class ConstantPropagation {
   /**
    * Performs constant propagation.
    *
+   * <p>Each method is propagated and folded until it stops changing. Only
+   * the methods that changed in an iteration get a new control flow graph
+   * and reaching definitions for the next one. The rest keep theirs.
+   *
+   * <p>The methods of an iteration are analyzed in parallel before any of
+   * them change, and then propagated and folded one at a time, each with
+   * the reaching definitions of its own method.
+   *
    * @param node the root node for constant propagation.
    */
   public static boolean propagate(ASTNode node) {
-    // For each method, repeat until no changes
+    return propagate(node, ReachingDefinitionsMode.FULL);
+  }
+
+  /**
+   * Performs constant propagation with the given reaching definitions.
+   *
+   * <p>The propagator only asks for the definitions of the variables it
+   * meets, so DEMAND skips the variables that are never used.
+   *
+   * @param node the root node for constant propagation.
+   * @param mode how the reaching definitions of each method are computed.
+   * @requires mode != null
+   */
+  public static boolean propagate(ASTNode node, ReachingDefinitionsMode mode) {
     boolean didChangeAtAll = false;
-    boolean isChanged = true;
 
-    while (isChanged) {
-      // 1. Constant folding
-      boolean didConstantFold = ConstantFolding.fold(node);
+    // 1. Constant folding (including anything outside of a method)
+    ConstantFolding.fold(node);
+
+    MethodAnalysisBuilder analysisBuilder = new MethodAnalysisBuilder(mode);
+    Map<MethodDeclaration, ReachingDefinitions> rdMap = new IdentityHashMap<>();
+    ConstantPropagator propagator = new ConstantPropagator(rdMap);
+    List<MethodDeclaration> changedList = MethodAnalysisBuilder.getMethodDeclarations(node);
+    int rebuildCount = 0;
 
-      // 2. Construct the control flow graph
-      ControlFlowGraphBuilder cfgBuilder = new ControlFlowGraphBuilder();
-      List<ControlFlowGraph> cfgList = cfgBuilder.build(node);
+    while (!changedList.isEmpty()) {
+      // 2. and 3. Control flow graph and reaching definitions for changed methods
+      for (MethodAnalysis analysis : analysisBuilder.build(changedList)) {
+        rdMap.put(analysis.getMethodDeclaration(), analysis.getReachingDefinitions());
+        ++rebuildCount;
+      }
 
-      // 3. Perform reaching definitions
-      ReachingDefinitionsBuilder rdBuilder = new ReachingDefinitionsBuilder();
-      List<ReachingDefinitions> rdList = rdBuilder.build(cfgList);
+      // 4. Replace / propagate and then fold again
+      List<MethodDeclaration> stillChangingList = new ArrayList<>();
+      for (MethodDeclaration methodDeclaration : changedList) {
+        boolean didPropagateConstants = propagator.replace(methodDeclaration);
+        boolean didConstantFold = ConstantFolding.fold(methodDeclaration);
 
-      // 4. Replace / propagate
-      ConstantPropagator propagator = new ConstantPropagator(rdList);
-      boolean didPropagateConstants = propagator.replace(node);
+        if (didPropagateConstants) {
+          didChangeAtAll = true;
+        }
 
-      if (didPropagateConstants) {
-        didChangeAtAll = true;
+        if (didPropagateConstants || didConstantFold) {
+          stillChangingList.add(methodDeclaration);
+        }
       }
-
-      isChanged = didConstantFold || didPropagateConstants;
+      changedList = stillChangingList;
     }
 
+    log.debug("Built reaching definitions {} times for {} methods", rebuildCount, rdMap.size());
     return didChangeAtAll;
   }
 
   /**
    * Performs constant folding on a Java file.
    *
+   * <p>The output is the input with only the changed spans rewritten, so the
+   * rest of the file keeps its comments and formatting.
+   *
    * @param args args[0] is the file to fold and args[1] is where to write the
    *             output
    */
@@ -72,15 +110,11 @@ public class ConstantPropagation {
     }
 
     File inputFile = new File(args[0]);
-    // String inputFileAsString = readFile(inputFile.toURI());
-    ASTNode node = JavaSourceUtils
-            .getCompilationUnit(inputFile.toURI());// parse(inputFileAsString);
-    ConstantPropagation.propagate(node);
+    RecordedCompilationUnit compilationUnit = RecordedCompilationUnit.parse(inputFile.toPath());
+    ConstantPropagation.propagate(compilationUnit.getCompilationUnit());
 
     try {
-      PrintWriter writer = new PrintWriter(args[1], "UTF-8");
-      writer.print(node.toString());
-      writer.close();
+      compilationUnit.write(Paths.get(args[1]));
     } catch (Exception e) {
       e.printStackTrace();
     }
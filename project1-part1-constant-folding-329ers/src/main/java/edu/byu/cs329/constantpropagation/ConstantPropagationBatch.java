@@ -0,0 +1,302 @@
+package edu.byu.cs329.constantpropagation;
+
+import edu.byu.cs329.utils.MappedFileUtils;
+import edu.byu.cs329.utils.RecordedCompilationUnit;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Constant propagation over many files in one JVM.
+ */
+public class ConstantPropagationBatch {
+
+  static final Logger log = LoggerFactory.getLogger(ConstantPropagationBatch.class);
+
+  /**
+   * The outcome of propagating one file.
+   */
+  public static class Result {
+    private final Path input;
+    private final Path output;
+    private final boolean didChange;
+    private final long elapsedNanos;
+    private final Exception error;
+
+    Result(Path input, Path output, boolean didChange, long elapsedNanos, Exception error) {
+      this.input = input;
+      this.output = output;
+      this.didChange = didChange;
+      this.elapsedNanos = elapsedNanos;
+      this.error = error;
+    }
+
+    public Path getInput() {
+      return input;
+    }
+
+    public Path getOutput() {
+      return output;
+    }
+
+    public boolean didChange() {
+      return didChange;
+    }
+
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    /**
+     * Gets why the file failed.
+     *
+     * @return the error, or null if the file was propagated and written.
+     */
+    public Exception getError() {
+      return error;
+    }
+
+    public boolean isSuccess() {
+      return error == null;
+    }
+  }
+
+  /**
+   * A Java file to propagate and where to write it.
+   *
+   * <p>A job made with an output directory fails without writing if its
+   * output, once normalized, is not under that directory.
+   */
+  public static class Job {
+    private final Path input;
+    private final Path output;
+    private final Path outputDirectory;
+
+    /**
+     * Creates a job that may write anywhere.
+     *
+     * @param input the file to propagate.
+     * @param output where to write the propagated file.
+     */
+    public Job(Path input, Path output) {
+      this(input, output, null);
+    }
+
+    /**
+     * Creates a job that writes only under the output directory.
+     *
+     * @param input the file to propagate.
+     * @param output where to write the propagated file.
+     * @param outputDirectory the directory output must be under, or null.
+     */
+    public Job(Path input, Path output, Path outputDirectory) {
+      this.input = input;
+      this.output = output.toAbsolutePath().normalize();
+      this.outputDirectory = outputDirectory == null
+              ? null : outputDirectory.toAbsolutePath().normalize();
+    }
+
+    public Path getInput() {
+      return input;
+    }
+
+    public Path getOutput() {
+      return output;
+    }
+  }
+
+  /**
+   * Creates a job for every Java file under the directory.
+   *
+   * <p>The output of each file keeps its path relative to the input directory.
+   *
+   * @param inputDirectory directory to search for Java files.
+   * @param outputDirectory directory to write the output.
+   * @return a job for each Java file in path order.
+   * @throws IOException if the directory cannot be walked.
+   */
+  public static List<Job> jobsForDirectory(Path inputDirectory, Path outputDirectory)
+          throws IOException {
+    try (Stream<Path> paths = Files.walk(inputDirectory)) {
+      return paths
+              .filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".java"))
+              .sorted()
+              .map(path -> new Job(path,
+                      outputDirectory.resolve(inputDirectory.relativize(path)), outputDirectory))
+              .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Creates a job for every file named in the list.
+   *
+   * <p>The list has one path per line. Blank lines are ignored. Relative
+   * paths are resolved against the directory of the list and keep that
+   * relative path under the output directory. Absolute paths keep their
+   * whole path, without the root, under the output directory, so files with
+   * the same name in different directories do not share an output. A
+   * relative path that leaves the output directory through .. makes a job
+   * that fails.
+   *
+   * @param fileList file with one path per line.
+   * @param outputDirectory directory to write the output.
+   * @return a job for each listed file in list order.
+   * @throws IOException if the list cannot be read or two entries have the
+   *         same output.
+   */
+  public static List<Job> jobsForFileList(Path fileList, Path outputDirectory)
+          throws IOException {
+    Path base = fileList.toAbsolutePath().getParent();
+    List<Job> jobs = new ArrayList<>();
+    Set<Path> outputs = new HashSet<>();
+    for (String line : Files.readAllLines(fileList, StandardCharsets.UTF_8)) {
+      String name = line.trim();
+      if (name.isEmpty()) {
+        continue;
+      }
+      Path path = Paths.get(name);
+      Path output = path.isAbsolute()
+              ? outputDirectory.resolve(path.getRoot().relativize(path))
+              : outputDirectory.resolve(path);
+      Job job = new Job(base.resolve(path), output, outputDirectory);
+      // Jobs run at once, so two with one output would overwrite each other
+      if (!outputs.add(job.getOutput())) {
+        throw new IOException("More than one entry in " + fileList + " writes " + job.getOutput());
+      }
+      jobs.add(job);
+    }
+    return jobs;
+  }
+
+  /**
+   * Parses, propagates, and writes every job on a bounded pool.
+   *
+   * <p>A job that fails is logged and recorded in its result. It does not
+   * stop the other jobs.
+   *
+   * @param jobs the files to propagate.
+   * @param parallelism the number of worker threads.
+   * @return the result for each job in the same order as the jobs.
+   * @requires parallelism > 0
+   */
+  public static List<Result> propagate(List<Job> jobs, int parallelism) {
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    AtomicInteger completed = new AtomicInteger();
+    try {
+      List<ForkJoinTask<Result>> tasks = new ArrayList<>();
+      for (Job job : jobs) {
+        tasks.add(pool.submit(() -> {
+          Result result = propagate(job);
+          logProgress(result, completed.incrementAndGet(), jobs.size());
+          return result;
+        }));
+      }
+      List<Result> results = new ArrayList<>();
+      for (ForkJoinTask<Result> task : tasks) {
+        results.add(task.join());
+      }
+      return results;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Parses, propagates, and writes one job.
+   *
+   * <p>The input is read directly rather than through JavaSourceUtils, which
+   * parses a file it cannot read as empty source, so that a missing or
+   * unreadable input fails the job. The output is the input with only the
+   * changed spans rewritten, so the rest of the file keeps its comments and
+   * formatting.
+   *
+   * @param job the file to propagate.
+   * @return the result with the error if it failed.
+   */
+  public static Result propagate(Job job) {
+    boolean didChange = false;
+    Exception error = null;
+    long start = System.nanoTime();
+    try {
+      if (job.outputDirectory != null && !job.output.startsWith(job.outputDirectory)) {
+        throw new IOException("Output " + job.output + " is outside " + job.outputDirectory);
+      }
+      RecordedCompilationUnit compilationUnit =
+              RecordedCompilationUnit.parse(new String(MappedFileUtils.readChars(job.input)));
+      didChange = ConstantPropagation.propagate(compilationUnit.getCompilationUnit());
+      Path parent = job.output.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      compilationUnit.write(job.output);
+    } catch (Exception e) {
+      error = e;
+    }
+    return new Result(job.input, job.output, didChange, System.nanoTime() - start, error);
+  }
+
+  private static void logProgress(Result result, int completed, int total) {
+    long millis = result.elapsedNanos / 1_000_000;
+    if (result.isSuccess()) {
+      log.info("[{}/{}] {} in {} ms", completed, total, result.input, millis);
+    } else {
+      log.error("[{}/{}] {} failed after {} ms: {}",
+              completed, total, result.input, millis, result.error.toString());
+    }
+  }
+
+  /**
+   * Performs constant propagation on many Java files.
+   *
+   * @param args args[0] is a directory of Java files or a file listing them
+   *             one per line, args[1] is the directory to write the output,
+   *             and the optional args[2] is the number of worker threads
+   */
+  public static void main(String[] args) {
+    if (args.length != 2 && args.length != 3) {
+      log.error("Missing Java input directory or output directory on command line");
+      System.out.println("usage: java ConstantPropagationBatch "
+              + "<java directory | file list> <output directory> [threads]");
+      System.exit(1);
+    }
+
+    Path input = Paths.get(args[0]);
+    Path outputDirectory = Paths.get(args[1]);
+    int parallelism = args.length == 3
+            ? Integer.parseInt(args[2])
+            : Runtime.getRuntime().availableProcessors();
+
+    List<Job> jobs;
+    try {
+      jobs = Files.isDirectory(input)
+              ? jobsForDirectory(input, outputDirectory)
+              : jobsForFileList(input, outputDirectory);
+    } catch (IOException e) {
+      log.error("Failed to read " + input + ": " + e.getMessage());
+      System.exit(1);
+      return;
+    }
+
+    long start = System.nanoTime();
+    List<Result> results = propagate(jobs, parallelism);
+    long failed = results.stream().filter(result -> !result.isSuccess()).count();
+    log.info("Propagated {} files ({} failed) in {} ms", results.size(), failed,
+            (System.nanoTime() - start) / 1_000_000);
+    if (failed > 0) {
+      System.exit(2);
+    }
+  }
+}
@@ -1,11 +1,13 @@
 package edu.byu.cs329.constantpropagation;
 
+import edu.byu.cs329.rd.DefUseIndex;
+import edu.byu.cs329.rd.MethodAnalysisBuilder;
 import edu.byu.cs329.rd.ReachingDefinitions;
 import edu.byu.cs329.utils.ExceptionUtils;
 import edu.byu.cs329.utils.TreeModificationUtils;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
@@ -15,6 +17,7 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.ExpressionStatement;
 import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.NumberLiteral;
 import org.eclipse.jdt.core.dom.ReturnStatement;
 import org.eclipse.jdt.core.dom.SimpleName;
@@ -24,22 +27,60 @@ import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
 
 public class ConstantPropagator {
-  List<ReachingDefinitions> rdList;
+  Map<MethodDeclaration, ReachingDefinitions> rdMap;
 
-  public ConstantPropagator(List<ReachingDefinitions> rdList) {
-    this.rdList = rdList;
+  /**
+   * Creates a propagator for the methods in the map.
+   *
+   * @param rdMap the reaching definitions of each method to propagate.
+   * @requires rdMap != null
+   */
+  public ConstantPropagator(Map<MethodDeclaration, ReachingDefinitions> rdMap) {
+    ExceptionUtils.requiresNonNull(rdMap, "Null map passed to ConstantPropagator");
+    this.rdMap = rdMap;
   }
 
   /**
    * Sets up visitor at the given node.
+   *
+   * <p>Each method is handled on its own with its own reaching definitions.
+   * A root inside a method uses the reaching definitions of that method, and
+   * any other root visits every method under it. Methods that are not in the
+   * map are skipped. The uses of a method are indexed first so that each one
+   * finds its reaching definitions with a lookup.
    */
   public boolean replace(final ASTNode root) {
     checkRequires(root);
-    Visitor visitor = new Visitor();
+    MethodDeclaration enclosing = getEnclosingMethod(root);
+    if (enclosing != null) {
+      return replace(enclosing, root);
+    }
+    boolean didReplace = false;
+    for (MethodDeclaration methodDeclaration : MethodAnalysisBuilder.getMethodDeclarations(root)) {
+      didReplace = replace(methodDeclaration, methodDeclaration) || didReplace;
+    }
+    return didReplace;
+  }
+
+  private boolean replace(MethodDeclaration methodDeclaration, ASTNode root) {
+    ReachingDefinitions reachingDefinitions = rdMap.get(methodDeclaration);
+    if (reachingDefinitions == null) {
+      return false;
+    }
+    Visitor visitor = new Visitor(methodDeclaration, DefUseIndex.of(reachingDefinitions, root));
     root.accept(visitor);
     return visitor.didReplace;
   }
 
+  private static MethodDeclaration getEnclosingMethod(ASTNode node) {
+    for (ASTNode current = node; current != null; current = current.getParent()) {
+      if (current instanceof MethodDeclaration) {
+        return (MethodDeclaration) current;
+      }
+    }
+    return null;
+  }
+
   private void checkRequires(final ASTNode root) {
     ExceptionUtils.requiresNonNull(
             root, "Null root passed to ParenthesizedExpressionFolding.fold");
@@ -53,6 +94,19 @@ public class ConstantPropagator {
 
   class Visitor extends ASTVisitor {
     public boolean didReplace = false;
+    private final MethodDeclaration methodDeclaration;
+    private final DefUseIndex defUseIndex;
+
+    Visitor(MethodDeclaration methodDeclaration, DefUseIndex defUseIndex) {
+      this.methodDeclaration = methodDeclaration;
+      this.defUseIndex = defUseIndex;
+    }
+
+    @Override
+    public boolean visit(MethodDeclaration node) {
+      // Nested methods have their own reaching definitions
+      return node == methodDeclaration;
+    }
 
     @Override
     public boolean visit(VariableDeclarationStatement node) {
@@ -68,20 +122,17 @@ public class ConstantPropagator {
       int rightNodeType = expression.getNodeType();
       if (rightNodeType == ASTNode.SIMPLE_NAME) {  // If right side is simple name, replace it
         List<Expression> definitionsForVar = new ArrayList<>();
-        Set<ReachingDefinitions.Definition> entrySet = rdList.get(0).getReachingDefinitions(node);
-        for (ReachingDefinitions.Definition current : entrySet) {
-          if (current.name.getIdentifier()
-                  .equals(((SimpleName) nodeFrag.getInitializer()).getIdentifier())) {
-            Expression currentExpression = null;
-            if (current.statement instanceof VariableDeclarationStatement) {  // VarDecStatement
-              currentExpression = ((VariableDeclarationFragment)
-                      ((VariableDeclarationStatement) current.statement)
-                              .fragments().get(0)).getInitializer();
-            }
+        for (ReachingDefinitions.Definition current
+                : defUseIndex.getReachingDefinitions((SimpleName) expression)) {
+          Expression currentExpression = null;
+          if (current.getStatement() instanceof VariableDeclarationStatement) {  // VarDecStatement
+            currentExpression = ((VariableDeclarationFragment)
+                    ((VariableDeclarationStatement) current.getStatement())
+                            .fragments().get(0)).getInitializer();
+          }
 
-            if (currentExpression != null && !definitionsForVar.contains(currentExpression)) {
-              definitionsForVar.add(currentExpression);
-            }
+          if (currentExpression != null && !definitionsForVar.contains(currentExpression)) {
+            definitionsForVar.add(currentExpression);
           }
         }
 
@@ -105,22 +156,21 @@ public class ConstantPropagator {
       int rightNodeType = expression.getNodeType();
       if (rightNodeType == ASTNode.SIMPLE_NAME) { // If right side is simple name, replace it
         List<Expression> definitionsForVar = new ArrayList<>();
-        Set<ReachingDefinitions.Definition> entrySet = rdList.get(0).getReachingDefinitions(node);
-        for (ReachingDefinitions.Definition current : entrySet) {
-          if (current.name.getIdentifier().equals(((SimpleName) expression).getIdentifier())) {
-            Expression currentExpression;
-            if (current.statement instanceof VariableDeclarationStatement) {  // VarDecStatement
-              currentExpression = ((VariableDeclarationFragment)
-                      ((VariableDeclarationStatement) current.statement)
-                              .fragments().get(0)).getInitializer();
-            } else {  // ExpressionStatement
-              currentExpression = ((Assignment)
-                      ((ExpressionStatement) current.statement).getExpression()).getRightHandSide();
-            }
+        for (ReachingDefinitions.Definition current
+                : defUseIndex.getReachingDefinitions((SimpleName) expression)) {
+          Expression currentExpression;
+          if (current.getStatement() instanceof VariableDeclarationStatement) {  // VarDecStatement
+            currentExpression = ((VariableDeclarationFragment)
+                    ((VariableDeclarationStatement) current.getStatement())
+                            .fragments().get(0)).getInitializer();
+          } else {  // ExpressionStatement
+            currentExpression = ((Assignment)
+                    ((ExpressionStatement) current.getStatement())
+                            .getExpression()).getRightHandSide();
+          }
 
-            if (currentExpression != null && !definitionsForVar.contains(currentExpression)) {
-              definitionsForVar.add(currentExpression);
-            }
+          if (currentExpression != null && !definitionsForVar.contains(currentExpression)) {
+            definitionsForVar.add(currentExpression);
           }
         }
 
@@ -147,30 +197,22 @@ public class ConstantPropagator {
         // If right side is simple name, replace it
         if (exp.getNodeType() == ASTNode.SIMPLE_NAME) {
           List<Expression> definitionsForVar = new ArrayList<>();
-          Statement infixStatement;
-          ASTNode findStatement = node.getParent();
-          while (!(findStatement instanceof Statement)) {
-            findStatement = findStatement.getParent();
-          }
-          infixStatement = (Statement) findStatement;
-          Set<ReachingDefinitions.Definition> entrySet
-                  = rdList.get(0).getReachingDefinitions(infixStatement);
-          for (ReachingDefinitions.Definition current : entrySet) {
-            if (current.name.getIdentifier().equals(((SimpleName) exp).getIdentifier())) {
-              Expression currentExpression = null;
-              if (current.statement instanceof VariableDeclarationStatement) {  // VarDecStatement
-                currentExpression = ((VariableDeclarationFragment)
-                        ((VariableDeclarationStatement) current.statement)
-                                .fragments().get(0)).getInitializer();
-              } else if (current.statement instanceof ExpressionStatement) {  // ExpressionStatement
-                currentExpression = ((Assignment)
-                        ((ExpressionStatement) current.statement)
-                                .getExpression()).getRightHandSide();
-              }
-
-              if (currentExpression != null && !definitionsForVar.contains(currentExpression)) {
-                definitionsForVar.add(currentExpression);
-              }
+          for (ReachingDefinitions.Definition current
+                  : defUseIndex.getReachingDefinitions((SimpleName) exp)) {
+            Expression currentExpression = null;
+            Statement statement = current.getStatement();
+            if (statement instanceof VariableDeclarationStatement) {  // VarDecStatement
+              currentExpression = ((VariableDeclarationFragment)
+                      ((VariableDeclarationStatement) statement)
+                              .fragments().get(0)).getInitializer();
+            } else if (statement instanceof ExpressionStatement) {  // ExpressionStatement
+              currentExpression = ((Assignment)
+                      ((ExpressionStatement) statement)
+                              .getExpression()).getRightHandSide();
+            }
+
+            if (currentExpression != null && !definitionsForVar.contains(currentExpression)) {
+              definitionsForVar.add(currentExpression);
             }
           }
 
@@ -192,24 +234,21 @@ public class ConstantPropagator {
       // Replace SimpleName with NumberLiteral
       if (node.getExpression() instanceof SimpleName) {
         List<Expression> definitionsForVar = new ArrayList<>();
-        Set<ReachingDefinitions.Definition> entrySet = rdList.get(0).getReachingDefinitions(node);
-        for (ReachingDefinitions.Definition current : entrySet) {
-          if (current.name.getIdentifier().equals(
-                  ((SimpleName) node.getExpression()).getIdentifier())) {
-            Expression currentExpression;
-            if (current.statement instanceof VariableDeclarationStatement) {  // VarDecStatement
-              currentExpression = ((VariableDeclarationFragment)
-                      ((VariableDeclarationStatement) current.statement)
-                              .fragments().get(0)).getInitializer();
-            } else if (current.statement instanceof ReturnStatement) {
-              currentExpression = ((ReturnStatement) current.statement).getExpression();
-            } else {  // ExpressionStatement
-              currentExpression = ((ExpressionStatement) current.statement).getExpression();
-            }
+        for (ReachingDefinitions.Definition current
+                : defUseIndex.getReachingDefinitions((SimpleName) node.getExpression())) {
+          Expression currentExpression;
+          if (current.getStatement() instanceof VariableDeclarationStatement) {  // VarDecStatement
+            currentExpression = ((VariableDeclarationFragment)
+                    ((VariableDeclarationStatement) current.getStatement())
+                            .fragments().get(0)).getInitializer();
+          } else if (current.getStatement() instanceof ReturnStatement) {
+            currentExpression = ((ReturnStatement) current.getStatement()).getExpression();
+          } else {  // ExpressionStatement
+            currentExpression = ((ExpressionStatement) current.getStatement()).getExpression();
+          }
 
-            if (!definitionsForVar.contains(currentExpression)) {
-              definitionsForVar.add(currentExpression);
-            }
+          if (!definitionsForVar.contains(currentExpression)) {
+            definitionsForVar.add(currentExpression);
           }
         }
 
@@ -241,7 +280,9 @@ public class ConstantPropagator {
         newNode.setEscapedValue(newStrVal);
         TreeModificationUtils.replaceChildInParent(oldNode, newNode);
       } else {
-        System.out.println("No matching type");
+        // Only literals are propagated. Nothing changed, so do not report
+        // a replacement or propagate never reaches a fixed point.
+        return;
       }
 
       didReplace = true;
@@ -0,0 +1,765 @@
+package edu.byu.cs329.constantpropagation;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.constantfolding.ConstantFolding;
+import edu.byu.cs329.utils.TreeModificationUtils;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.BooleanLiteral;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.ExpressionStatement;
+import org.eclipse.jdt.core.dom.IfStatement;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.NumberLiteral;
+import org.eclipse.jdt.core.dom.ParenthesizedExpression;
+import org.eclipse.jdt.core.dom.PostfixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.PrimitiveType;
+import org.eclipse.jdt.core.dom.ReturnStatement;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Statement;
+import org.eclipse.jdt.core.dom.StringLiteral;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+import org.eclipse.jdt.core.dom.WhileStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Conditional constant propagation in one fixpoint.
+ *
+ * <p>ConstantPropagation.propagate repeats folding, graph building, reaching
+ * definitions, and replacing until nothing changes, and each round moves
+ * constants one definition further. This class instead finds the value of
+ * every local variable at every statement in one pass over the control flow
+ * graph of each method, then rewrites the tree once and folds it once.
+ *
+ * <p>Each variable has a value in the lattice undefined, constant, or
+ * overdefined. A statement is analyzed only once an edge into it is known to
+ * run. An if or while whose condition is a constant only lets the branch it
+ * takes run, so definitions in a branch that never runs do not reach the
+ * merge after it. This is the conditional part of the algorithm of Wegman
+ * and Zadeck. The tree has no SSA form, so the values are kept per statement
+ * over the existing graph rather than per SSA name.
+ *
+ * <p>Only int, boolean, and String locals are tracked. Every other local,
+ * including a boxed Integer or Boolean that == compares by reference, and
+ * every parameter is overdefined. Uses of a variable with a constant value
+ * become literals, and the condition of an if or while with a constant
+ * value becomes a boolean literal. Statements that never run are left for
+ * the folding to remove.
+ *
+ * <p>A String value is always a literal, which Java interns, so replacing a
+ * use with the literal keeps == on it the same. A concatenation makes a new
+ * String when it runs, so its result is overdefined, and a String use in a
+ * concatenation is not replaced since a concatenation of literals is
+ * interned instead.
+ */
+public class SparseConditionalConstantPropagation {
+
+  static final Logger log = LoggerFactory.getLogger(SparseConditionalConstantPropagation.class);
+
+  /**
+   * Performs conditional constant propagation.
+   *
+   * @param node the root node for constant propagation.
+   * @return true if any expression was replaced with a literal.
+   * @requires node != null
+   */
+  public static boolean propagate(ASTNode node) {
+    // Folding first gives the graph builder the simple blocks it expects
+    ConstantFolding.fold(node);
+
+    Map<Expression, Object> replacements = new IdentityHashMap<>();
+    int visitCount = 0;
+    for (ControlFlowGraph cfg : new ControlFlowGraphBuilder().build(node)) {
+      MethodSolver solver = new MethodSolver(cfg);
+      solver.solve();
+      solver.collectReplacements(replacements);
+      visitCount += solver.visitCount;
+    }
+
+    for (Map.Entry<Expression, Object> entry : replacements.entrySet()) {
+      Expression expression = entry.getKey();
+      TreeModificationUtils.replaceChildInParent(
+              expression, newLiteral(expression.getAST(), entry.getValue()));
+    }
+    if (!replacements.isEmpty()) {
+      ConstantFolding.fold(node);
+    }
+
+    log.debug("Replaced {} expressions after {} statement visits",
+            replacements.size(), visitCount);
+    return !replacements.isEmpty();
+  }
+
+  private static Expression newLiteral(AST ast, Object constant) {
+    if (constant instanceof Boolean) {
+      return ast.newBooleanLiteral((Boolean) constant);
+    }
+    if (constant instanceof String) {
+      StringLiteral literal = ast.newStringLiteral();
+      literal.setLiteralValue((String) constant);
+      return literal;
+    }
+    int value = (Integer) constant;
+    if (value >= 0) {
+      return ast.newNumberLiteral(Integer.toString(value));
+    }
+    // Keep the sign out of the token so it also works next to another minus
+    PrefixExpression negative = ast.newPrefixExpression();
+    negative.setOperator(PrefixExpression.Operator.MINUS);
+    negative.setOperand(ast.newNumberLiteral(Long.toString(-(long) value)));
+    ParenthesizedExpression parenthesized = ast.newParenthesizedExpression();
+    parenthesized.setExpression(negative);
+    return parenthesized;
+  }
+
+  /**
+   * A value in the lattice undefined above every constant above overdefined.
+   */
+  static final class Value {
+    static final Value UNDEFINED = new Value(null);
+    static final Value OVERDEFINED = new Value(null);
+
+    final Object constant;
+
+    private Value(Object constant) {
+      this.constant = constant;
+    }
+
+    static Value of(Object constant) {
+      return new Value(constant);
+    }
+
+    boolean isConstant() {
+      return constant != null;
+    }
+
+    Value meet(Value other) {
+      if (this == UNDEFINED) {
+        return other;
+      }
+      if (other == UNDEFINED) {
+        return this;
+      }
+      if (this == OVERDEFINED || other == OVERDEFINED) {
+        return OVERDEFINED;
+      }
+      return constant.equals(other.constant) ? this : OVERDEFINED;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Value) || !isConstant()) {
+        return false;
+      }
+      return constant.equals(((Value) o).constant);
+    }
+
+    @Override
+    public int hashCode() {
+      return isConstant() ? constant.hashCode() : System.identityHashCode(this);
+    }
+  }
+
+  static class MethodSolver {
+    final ControlFlowGraph cfg;
+    final Statement[] statements;
+    final Map<Statement, Integer> indexMap = new IdentityHashMap<>();
+    final int[][] succs;
+    final boolean[][] isExecutableSucc;
+    final boolean[] isExecutable;
+    final Value[][] exitEnvs;
+    final Map<String, Integer> variableMap = new HashMap<>();
+    final Set<String> untrackedSet = new HashSet<>();
+    Value[] initialEnv;
+    int visitCount = 0;
+
+    MethodSolver(ControlFlowGraph cfg) {
+      this.cfg = cfg;
+      List<Statement> order = cfg.getReversePostorder();
+      statements = order.toArray(new Statement[0]);
+      for (int i = 0; i < statements.length; ++i) {
+        indexMap.put(statements[i], i);
+      }
+      int size = statements.length;
+      succs = new int[size][];
+      isExecutableSucc = new boolean[size][];
+      for (int i = 0; i < size; ++i) {
+        Set<Statement> next = cfg.getSuccs(statements[i]);
+        succs[i] = next == null ? new int[0]
+                : next.stream().mapToInt(indexMap::get).toArray();
+        isExecutableSucc[i] = new boolean[succs[i].length];
+      }
+      isExecutable = new boolean[size];
+      exitEnvs = new Value[size][];
+      numberVariables(cfg.getMethodDeclaration());
+    }
+
+    void solve() {
+      BitSet worklist = new BitSet(statements.length);
+      isExecutable[0] = true;
+      worklist.set(0);
+      int current = 0;
+      while (!worklist.isEmpty()) {
+        current = worklist.nextSetBit(current);
+        if (current < 0) {
+          current = worklist.nextSetBit(0);
+        }
+        worklist.clear(current);
+        ++visitCount;
+
+        Value[] env = getEntryEnv(current);
+        Value condition = transfer(statements[current], env, null);
+        boolean isChanged = !Arrays.equals(env, exitEnvs[current]);
+        exitEnvs[current] = env;
+
+        boolean[] isTaken = getTakenSuccs(current, condition);
+        for (int k = 0; k < succs[current].length; ++k) {
+          int succ = succs[current][k];
+          if (isTaken[k] && !isExecutableSucc[current][k]) {
+            isExecutableSucc[current][k] = true;
+            isExecutable[succ] = true;
+            worklist.set(succ);
+          } else if (isExecutableSucc[current][k] && isChanged) {
+            worklist.set(succ);
+          }
+        }
+      }
+    }
+
+    void collectReplacements(Map<Expression, Object> replacements) {
+      for (int i = 0; i < statements.length; ++i) {
+        if (isExecutable[i]) {
+          transfer(statements[i], getEntryEnv(i), replacements);
+        }
+      }
+    }
+
+    private Value[] getEntryEnv(int index) {
+      Value[] env = index == 0 ? initialEnv.clone() : newEnv(Value.UNDEFINED);
+      Set<Statement> preds = cfg.getPreds(statements[index]);
+      if (preds == null) {
+        return env;
+      }
+      for (Statement predStatement : preds) {
+        Integer pred = indexMap.get(predStatement);
+        if (pred == null || exitEnvs[pred] == null || !isExecutableEdge(pred, index)) {
+          continue;
+        }
+        for (int v = 0; v < env.length; ++v) {
+          env[v] = env[v].meet(exitEnvs[pred][v]);
+        }
+      }
+      return env;
+    }
+
+    private boolean isExecutableEdge(int from, int to) {
+      for (int k = 0; k < succs[from].length; ++k) {
+        if (succs[from][k] == to) {
+          return isExecutableSucc[from][k];
+        }
+      }
+      return false;
+    }
+
+    private boolean[] getTakenSuccs(int index, Value condition) {
+      boolean[] isTaken = new boolean[succs[index].length];
+      Statement statement = statements[index];
+      if (condition == Value.UNDEFINED) {
+        return isTaken;
+      }
+      if (condition == null || !(condition.constant instanceof Boolean)) {
+        Arrays.fill(isTaken, true);
+        return isTaken;
+      }
+
+      // The builder always adds an edge to the statement after an if, so
+      // pick the successors by where they are in the tree
+      boolean isTrue = (Boolean) condition.constant;
+      Statement thenStatement;
+      Statement elseStatement;
+      if (statement instanceof IfStatement) {
+        thenStatement = ((IfStatement) statement).getThenStatement();
+        elseStatement = ((IfStatement) statement).getElseStatement();
+      } else {
+        thenStatement = ((WhileStatement) statement).getBody();
+        elseStatement = null;
+      }
+      Statement taken = isTrue ? thenStatement : elseStatement;
+      Statement notTaken = isTrue ? elseStatement : thenStatement;
+      boolean isAnyInside = false;
+      for (int k = 0; k < isTaken.length; ++k) {
+        isTaken[k] = isInside(statements[succs[index][k]], taken);
+        isAnyInside |= isTaken[k];
+      }
+      if (!isAnyInside) {
+        // The branch is empty or missing, so it falls through
+        for (int k = 0; k < isTaken.length; ++k) {
+          isTaken[k] = !isInside(statements[succs[index][k]], notTaken);
+        }
+      }
+      return isTaken;
+    }
+
+    private static boolean isInside(ASTNode node, Statement branch) {
+      if (branch == null) {
+        return false;
+      }
+      for (ASTNode current = node; current != null; current = current.getParent()) {
+        if (current == branch) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Applies a statement to the environment.
+     *
+     * @return the value of the condition for an if or while, and null for
+     *         any other statement.
+     */
+    private Value transfer(Statement statement, Value[] env,
+                           Map<Expression, Object> replacements) {
+      if (statement instanceof VariableDeclarationStatement) {
+        for (Object o : ((VariableDeclarationStatement) statement).fragments()) {
+          VariableDeclarationFragment fragment = (VariableDeclarationFragment) o;
+          Expression initializer = fragment.getInitializer();
+          Value value = initializer == null
+                  ? Value.UNDEFINED : eval(initializer, env, replacements);
+          setVariable(fragment.getName(), value, env);
+        }
+      } else if (statement instanceof ExpressionStatement) {
+        eval(((ExpressionStatement) statement).getExpression(), env, replacements);
+      } else if (statement instanceof ReturnStatement) {
+        Expression expression = ((ReturnStatement) statement).getExpression();
+        if (expression != null) {
+          eval(expression, env, replacements);
+        }
+      } else if (statement instanceof IfStatement || statement instanceof WhileStatement) {
+        Expression condition = statement instanceof IfStatement
+                ? ((IfStatement) statement).getExpression()
+                : ((WhileStatement) statement).getExpression();
+        if (replacements != null && !(condition instanceof BooleanLiteral)
+                && !hasSideEffects(condition)) {
+          Value value = eval(condition, env.clone(), null);
+          if (value.constant instanceof Boolean) {
+            replacements.put(condition, value.constant);
+            return value;
+          }
+        }
+        return eval(condition, env, replacements);
+      } else if (!isBlockOrEmpty(statement)) {
+        havoc(statement, env);
+      }
+      return null;
+    }
+
+    private Value eval(Expression expression, Value[] env,
+                       Map<Expression, Object> replacements) {
+      switch (expression.getNodeType()) {
+        case ASTNode.NUMBER_LITERAL:
+          return parseInt(((NumberLiteral) expression).getToken());
+        case ASTNode.BOOLEAN_LITERAL:
+          return Value.of(((BooleanLiteral) expression).booleanValue());
+        case ASTNode.STRING_LITERAL:
+          return Value.of(((StringLiteral) expression).getLiteralValue());
+        case ASTNode.SIMPLE_NAME: {
+          Value value = getVariable((SimpleName) expression, env);
+          if (replacements != null && value.isConstant()
+                  && !isConcatenated(expression, value)) {
+            replacements.put(expression, value.constant);
+          }
+          return value;
+        }
+        case ASTNode.PARENTHESIZED_EXPRESSION:
+          return eval(((ParenthesizedExpression) expression).getExpression(), env, replacements);
+        case ASTNode.PREFIX_EXPRESSION:
+          return evalPrefix((PrefixExpression) expression, env, replacements);
+        case ASTNode.POSTFIX_EXPRESSION: {
+          PostfixExpression postfix = (PostfixExpression) expression;
+          int delta = postfix.getOperator() == PostfixExpression.Operator.INCREMENT ? 1 : -1;
+          return step(postfix.getOperand(), delta, false, env);
+        }
+        case ASTNode.INFIX_EXPRESSION:
+          return evalInfix((InfixExpression) expression, env, replacements);
+        case ASTNode.ASSIGNMENT:
+          return evalAssignment((Assignment) expression, env, replacements);
+        default:
+          havoc(expression, env);
+          return Value.OVERDEFINED;
+      }
+    }
+
+    private Value evalPrefix(PrefixExpression prefix, Value[] env,
+                             Map<Expression, Object> replacements) {
+      PrefixExpression.Operator operator = prefix.getOperator();
+      Expression operand = prefix.getOperand();
+      if (operator == PrefixExpression.Operator.INCREMENT) {
+        return step(operand, 1, true, env);
+      }
+      if (operator == PrefixExpression.Operator.DECREMENT) {
+        return step(operand, -1, true, env);
+      }
+      if (operator == PrefixExpression.Operator.MINUS && operand instanceof NumberLiteral) {
+        // -2147483648 is only an int with the sign
+        return parseInt("-" + ((NumberLiteral) operand).getToken());
+      }
+      Value value = eval(operand, env, replacements);
+      if (!value.isConstant()) {
+        return value;
+      }
+      Object constant = value.constant;
+      if (operator == PrefixExpression.Operator.NOT && constant instanceof Boolean) {
+        return Value.of(!(Boolean) constant);
+      }
+      if (constant instanceof Integer) {
+        int i = (Integer) constant;
+        if (operator == PrefixExpression.Operator.MINUS) {
+          return Value.of(-i);
+        } else if (operator == PrefixExpression.Operator.PLUS) {
+          return value;
+        } else if (operator == PrefixExpression.Operator.COMPLEMENT) {
+          return Value.of(~i);
+        }
+      }
+      return Value.OVERDEFINED;
+    }
+
+    private Value evalInfix(InfixExpression infix, Value[] env,
+                            Map<Expression, Object> replacements) {
+      InfixExpression.Operator operator = infix.getOperator();
+      boolean isShortCircuit = operator == InfixExpression.Operator.CONDITIONAL_AND
+              || operator == InfixExpression.Operator.CONDITIONAL_OR;
+      if (isShortCircuit && hasSideEffects(infix)) {
+        // The later operands may or may not run
+        havoc(infix, env);
+        return Value.OVERDEFINED;
+      }
+      Value value = eval(infix.getLeftOperand(), env, replacements);
+      value = apply(operator, value, eval(infix.getRightOperand(), env, replacements));
+      for (Object o : infix.extendedOperands()) {
+        value = apply(operator, value, eval((Expression) o, env, replacements));
+      }
+      return value;
+    }
+
+    private Value evalAssignment(Assignment assignment, Value[] env,
+                                 Map<Expression, Object> replacements) {
+      Expression left = assignment.getLeftHandSide();
+      if (!(left instanceof SimpleName)) {
+        havoc(assignment, env);
+        return Value.OVERDEFINED;
+      }
+      Value value = eval(assignment.getRightHandSide(), env, replacements);
+      Assignment.Operator operator = assignment.getOperator();
+      if (operator != Assignment.Operator.ASSIGN) {
+        value = apply(getInfixOperator(operator), getVariable((SimpleName) left, env), value);
+      }
+      setVariable((SimpleName) left, value, env);
+      return value;
+    }
+
+    private Value step(Expression operand, int delta, boolean isPrefix, Value[] env) {
+      if (!(operand instanceof SimpleName)) {
+        havoc(operand, env);
+        return Value.OVERDEFINED;
+      }
+      Value old = getVariable((SimpleName) operand, env);
+      Value value = apply(InfixExpression.Operator.PLUS, old, Value.of(delta));
+      setVariable((SimpleName) operand, value, env);
+      return isPrefix ? value : old;
+    }
+
+    private static Value apply(InfixExpression.Operator operator, Value left, Value right) {
+      if (left == Value.OVERDEFINED || right == Value.OVERDEFINED) {
+        return Value.OVERDEFINED;
+      }
+      if (left == Value.UNDEFINED || right == Value.UNDEFINED) {
+        return Value.UNDEFINED;
+      }
+      Object result = compute(operator, left.constant, right.constant);
+      return result == null ? Value.OVERDEFINED : Value.of(result);
+    }
+
+    private static Object compute(InfixExpression.Operator operator, Object left, Object right) {
+      // A concatenation is a new String and == on Strings compares
+      // references, so neither has a constant value
+      if (left instanceof String || right instanceof String) {
+        return null;
+      }
+      if (left instanceof Integer && right instanceof Integer) {
+        return compute(operator, (int) (Integer) left, (int) (Integer) right);
+      }
+      if (left instanceof Boolean && right instanceof Boolean) {
+        return compute(operator, (boolean) (Boolean) left, (boolean) (Boolean) right);
+      }
+      return null;
+    }
+
+    private static Object compute(InfixExpression.Operator operator, int left, int right) {
+      if (operator == InfixExpression.Operator.PLUS) {
+        return left + right;
+      } else if (operator == InfixExpression.Operator.MINUS) {
+        return left - right;
+      } else if (operator == InfixExpression.Operator.TIMES) {
+        return left * right;
+      } else if (operator == InfixExpression.Operator.DIVIDE) {
+        return right == 0 ? null : left / right;
+      } else if (operator == InfixExpression.Operator.REMAINDER) {
+        return right == 0 ? null : left % right;
+      } else if (operator == InfixExpression.Operator.LEFT_SHIFT) {
+        return left << right;
+      } else if (operator == InfixExpression.Operator.RIGHT_SHIFT_SIGNED) {
+        return left >> right;
+      } else if (operator == InfixExpression.Operator.RIGHT_SHIFT_UNSIGNED) {
+        return left >>> right;
+      } else if (operator == InfixExpression.Operator.AND) {
+        return left & right;
+      } else if (operator == InfixExpression.Operator.OR) {
+        return left | right;
+      } else if (operator == InfixExpression.Operator.XOR) {
+        return left ^ right;
+      } else if (operator == InfixExpression.Operator.LESS) {
+        return left < right;
+      } else if (operator == InfixExpression.Operator.LESS_EQUALS) {
+        return left <= right;
+      } else if (operator == InfixExpression.Operator.GREATER) {
+        return left > right;
+      } else if (operator == InfixExpression.Operator.GREATER_EQUALS) {
+        return left >= right;
+      } else if (operator == InfixExpression.Operator.EQUALS) {
+        return left == right;
+      } else if (operator == InfixExpression.Operator.NOT_EQUALS) {
+        return left != right;
+      }
+      return null;
+    }
+
+    private static Object compute(InfixExpression.Operator operator, boolean left,
+                                  boolean right) {
+      if (operator == InfixExpression.Operator.AND
+              || operator == InfixExpression.Operator.CONDITIONAL_AND) {
+        return left && right;
+      } else if (operator == InfixExpression.Operator.OR
+              || operator == InfixExpression.Operator.CONDITIONAL_OR) {
+        return left || right;
+      } else if (operator == InfixExpression.Operator.XOR
+              || operator == InfixExpression.Operator.NOT_EQUALS) {
+        return left != right;
+      } else if (operator == InfixExpression.Operator.EQUALS) {
+        return left == right;
+      }
+      return null;
+    }
+
+    private static InfixExpression.Operator getInfixOperator(Assignment.Operator operator) {
+      // Assignment operators are the infix operator followed by =
+      String token = operator.toString();
+      return InfixExpression.Operator.toOperator(token.substring(0, token.length() - 1));
+    }
+
+    private static Value parseInt(String token) {
+      try {
+        return Value.of(Integer.decode(token));
+      } catch (NumberFormatException e) {
+        return Value.OVERDEFINED;
+      }
+    }
+
+    private Value getVariable(SimpleName name, Value[] env) {
+      Integer variable = variableMap.get(name.getIdentifier());
+      return variable == null ? Value.OVERDEFINED : env[variable];
+    }
+
+    private void setVariable(SimpleName name, Value value, Value[] env) {
+      Integer variable = variableMap.get(name.getIdentifier());
+      if (variable != null) {
+        env[variable] = value;
+      }
+    }
+
+    private void havoc(ASTNode node, Value[] env) {
+      // Anything written where the values are not followed is overdefined
+      node.accept(new ASTVisitor() {
+        @Override
+        public boolean visit(Assignment assignment) {
+          overdefine(assignment.getLeftHandSide());
+          return true;
+        }
+
+        @Override
+        public boolean visit(PrefixExpression prefix) {
+          PrefixExpression.Operator operator = prefix.getOperator();
+          if (operator == PrefixExpression.Operator.INCREMENT
+                  || operator == PrefixExpression.Operator.DECREMENT) {
+            overdefine(prefix.getOperand());
+          }
+          return true;
+        }
+
+        @Override
+        public boolean visit(PostfixExpression postfix) {
+          overdefine(postfix.getOperand());
+          return true;
+        }
+
+        @Override
+        public boolean visit(VariableDeclarationFragment fragment) {
+          overdefine(fragment.getName());
+          return true;
+        }
+
+        @Override
+        public boolean visit(SingleVariableDeclaration declaration) {
+          overdefine(declaration.getName());
+          return true;
+        }
+
+        private void overdefine(Expression expression) {
+          if (expression instanceof SimpleName) {
+            setVariable((SimpleName) expression, Value.OVERDEFINED, env);
+          }
+        }
+      });
+    }
+
+    private static boolean hasSideEffects(Expression expression) {
+      boolean[] hasSideEffects = new boolean[1];
+      expression.accept(new ASTVisitor() {
+        @Override
+        public boolean visit(Assignment assignment) {
+          hasSideEffects[0] = true;
+          return false;
+        }
+
+        @Override
+        public boolean visit(PrefixExpression prefix) {
+          PrefixExpression.Operator operator = prefix.getOperator();
+          if (operator == PrefixExpression.Operator.INCREMENT
+                  || operator == PrefixExpression.Operator.DECREMENT) {
+            hasSideEffects[0] = true;
+          }
+          return !hasSideEffects[0];
+        }
+
+        @Override
+        public boolean visit(PostfixExpression postfix) {
+          hasSideEffects[0] = true;
+          return false;
+        }
+      });
+      return hasSideEffects[0];
+    }
+
+    private static boolean isBlockOrEmpty(Statement statement) {
+      return statement.getNodeType() == ASTNode.BLOCK
+              || statement.getNodeType() == ASTNode.EMPTY_STATEMENT;
+    }
+
+    private Value[] newEnv(Value value) {
+      Value[] env = new Value[variableMap.size()];
+      Arrays.fill(env, value);
+      return env;
+    }
+
+    private void numberVariables(MethodDeclaration methodDeclaration) {
+      Set<String> parameterSet = new HashSet<>();
+      for (Object o : methodDeclaration.parameters()) {
+        parameterSet.add(((SingleVariableDeclaration) o).getName().getIdentifier());
+      }
+      methodDeclaration.accept(new ASTVisitor() {
+        @Override
+        public boolean visit(VariableDeclarationFragment fragment) {
+          String name = fragment.getName().getIdentifier();
+          ASTNode parent = fragment.getParent();
+          if (!(parent instanceof VariableDeclarationStatement)
+                  || fragment.getExtraDimensions() > 0
+                  || !isTrackedType(((VariableDeclarationStatement) parent).getType())) {
+            untrackedSet.add(name);
+          }
+          addVariable(name);
+          return true;
+        }
+
+        @Override
+        public boolean visit(SingleVariableDeclaration declaration) {
+          untrackedSet.add(declaration.getName().getIdentifier());
+          addVariable(declaration.getName().getIdentifier());
+          return true;
+        }
+
+        private void addVariable(String name) {
+          if (!variableMap.containsKey(name)) {
+            variableMap.put(name, variableMap.size());
+          }
+        }
+      });
+
+      // Untracked variables stay overdefined because nothing assigns them
+      // in the environment, and the same goes for parameters
+      initialEnv = newEnv(Value.UNDEFINED);
+      for (Map.Entry<String, Integer> entry : variableMap.entrySet()) {
+        if (untrackedSet.contains(entry.getKey()) || parameterSet.contains(entry.getKey())) {
+          initialEnv[entry.getValue()] = Value.OVERDEFINED;
+        }
+      }
+      for (String name : untrackedSet) {
+        variableMap.remove(name);
+      }
+      Map<String, Integer> renumbered = new HashMap<>();
+      Value[] trackedEnv = new Value[variableMap.size()];
+      for (Map.Entry<String, Integer> entry : variableMap.entrySet()) {
+        trackedEnv[renumbered.size()] = initialEnv[entry.getValue()];
+        renumbered.put(entry.getKey(), renumbered.size());
+      }
+      variableMap.clear();
+      variableMap.putAll(renumbered);
+      initialEnv = trackedEnv;
+    }
+
+    private static boolean isConcatenated(Expression name, Value value) {
+      if (!(value.constant instanceof String)) {
+        return false;
+      }
+      ASTNode parent = name.getParent();
+      while (parent instanceof ParenthesizedExpression) {
+        parent = parent.getParent();
+      }
+      return parent instanceof InfixExpression
+              && ((InfixExpression) parent).getOperator() == InfixExpression.Operator.PLUS;
+    }
+
+    private static boolean isTrackedType(Type type) {
+      if (type.isPrimitiveType()) {
+        PrimitiveType.Code code = ((PrimitiveType) type).getPrimitiveTypeCode();
+        return code == PrimitiveType.INT || code == PrimitiveType.BOOLEAN;
+      }
+      if (type.isSimpleType()) {
+        String name = ((SimpleType) type).getName().getFullyQualifiedName();
+        return name.equals("String");
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * Available expressions as a forward must analysis.
+ *
+ * <p>An expression is available at a point when every path to that point
+ * evaluates it and writes none of its variables afterwards. Only infix
+ * expressions that read variables and literals are tracked. An expression
+ * is named by its source text, so two copies of the same text are the same
+ * expression. Nothing is available at the start of the method.
+ */
+public class AvailableExpressionsAnalysis implements DataflowAnalysis<Set<String>> {
+
+  private final Set<String> universe = new HashSet<>();
+  private final Map<String, Set<String>> variableExpressionsMap = new HashMap<>();
+  private final Map<Statement, Set<String>> genMap = new IdentityHashMap<>();
+  private final Map<Statement, Set<String>> killMap = new IdentityHashMap<>();
+  private final Lattice<Set<String>> lattice;
+
+  /**
+   * Creates the analysis for a graph.
+   *
+   * @param cfg the control flow graph to analyze.
+   * @requires cfg != null
+   */
+  public AvailableExpressionsAnalysis(ControlFlowGraph cfg) {
+    ExceptionUtils.requiresNonNull(cfg, "Null graph passed to AvailableExpressionsAnalysis");
+    List<Statement> statementList = cfg.getReversePostorder();
+    Map<Statement, Set<String>> evaluatedMap = new IdentityHashMap<>();
+    for (Statement statement : statementList) {
+      evaluatedMap.put(statement, getEvaluatedExpressions(statement));
+    }
+    for (Statement statement : statementList) {
+      Set<String> kill = new HashSet<>();
+      for (String name : Statements.getDefinedNames(statement)) {
+        kill.addAll(variableExpressionsMap.getOrDefault(name, Collections.emptySet()));
+      }
+      Set<String> gen = new HashSet<>(evaluatedMap.get(statement));
+      gen.removeAll(kill);
+      genMap.put(statement, gen);
+      killMap.put(statement, kill);
+    }
+    lattice = Lattice.intersection(universe);
+  }
+
+  /**
+   * Gets every expression the analysis tracks.
+   *
+   * @return a read-only set of the text of each tracked expression.
+   */
+  public Set<String> getExpressions() {
+    return Collections.unmodifiableSet(universe);
+  }
+
+  @Override
+  public Direction getDirection() {
+    return Direction.FORWARD;
+  }
+
+  @Override
+  public Lattice<Set<String>> getLattice() {
+    return lattice;
+  }
+
+  @Override
+  public Set<String> getBoundaryValue(ControlFlowGraph cfg) {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public Set<String> transfer(Statement statement, Set<String> in) {
+    Set<String> gen = genMap.getOrDefault(statement, Collections.emptySet());
+    Set<String> kill = killMap.getOrDefault(statement, Collections.emptySet());
+    if (in.containsAll(gen) && Collections.disjoint(in, kill)) {
+      return in;
+    }
+    Set<String> out = new HashSet<>(in);
+    out.removeAll(kill);
+    out.addAll(gen);
+    return out;
+  }
+
+  private Set<String> getEvaluatedExpressions(Statement statement) {
+    List<Expression> expressionList = Statements.getExpressions(statement);
+    if (expressionList == null) {
+      return Collections.emptySet();
+    }
+    Set<String> evaluated = new HashSet<>();
+    ASTVisitor visitor = new ASTVisitor() {
+      @Override
+      public boolean visit(InfixExpression infix) {
+        if (Statements.isPure(infix)) {
+          String text = infix.toString();
+          evaluated.add(text);
+          if (universe.add(text)) {
+            for (String name : Statements.getUsedNames(infix)) {
+              variableExpressionsMap.computeIfAbsent(name, k -> new HashSet<>()).add(text);
+            }
+          }
+        }
+        return true;
+      }
+    };
+    for (Expression expression : expressionList) {
+      expression.accept(visitor);
+    }
+    return evaluated;
+  }
+}
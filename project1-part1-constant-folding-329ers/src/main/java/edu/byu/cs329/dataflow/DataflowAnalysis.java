@@ -0,0 +1,50 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * A monotone dataflow analysis that a DataflowSolver can solve.
+ *
+ * <p>For a forward analysis the value into a statement is the join of the
+ * values out of its predecessors, and for a backward analysis it is the
+ * join of the values out of its successors. The boundary is the start of a
+ * forward analysis and the end of a backward one.
+ *
+ * @param <T> the type of the values.
+ */
+public interface DataflowAnalysis<T> {
+
+  /**
+   * Gets the direction of the analysis.
+   *
+   * @return the direction facts flow.
+   */
+  Direction getDirection();
+
+  /**
+   * Gets the values of the analysis.
+   *
+   * @return the lattice.
+   */
+  Lattice<T> getLattice();
+
+  /**
+   * Gets the value that flows into the boundary from outside the method.
+   *
+   * @param cfg the control flow graph being solved.
+   * @return the value into the start or the end.
+   */
+  T getBoundaryValue(ControlFlowGraph cfg);
+
+  /**
+   * Applies a statement to a value.
+   *
+   * <p>The function must be monotone and must not change in.
+   *
+   * @param statement the statement.
+   * @param in the value into the statement in the direction of the analysis.
+   * @return the value out of the statement.
+   */
+  T transfer(Statement statement, T in);
+}
@@ -0,0 +1,76 @@
+package edu.byu.cs329.dataflow;
+
+import java.util.Map;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * The solution of a dataflow analysis on one control flow graph and what it
+ * cost to find.
+ *
+ * <p>Entry and exit are in program order for both directions, so the entry
+ * of a statement is the value just before it runs and its exit is the value
+ * just after.
+ *
+ * @param <T> the type of the values.
+ */
+public class DataflowResult<T> {
+
+  private final Map<Statement, Integer> indexMap;
+  private final T[] entryValues;
+  private final T[] exitValues;
+  private final int iterationCount;
+  private final int transferCount;
+
+  DataflowResult(Map<Statement, Integer> indexMap, T[] entryValues, T[] exitValues,
+                 int iterationCount, int transferCount) {
+    this.indexMap = indexMap;
+    this.entryValues = entryValues;
+    this.exitValues = exitValues;
+    this.iterationCount = iterationCount;
+    this.transferCount = transferCount;
+  }
+
+  /**
+   * Gets the value just before a statement.
+   *
+   * @param s the statement.
+   * @return the value before s, or null if s is not in the graph.
+   */
+  public T getEntry(Statement s) {
+    Integer index = indexMap.get(s);
+    return index == null ? null : entryValues[index];
+  }
+
+  /**
+   * Gets the value just after a statement.
+   *
+   * @param s the statement.
+   * @return the value after s, or null if s is not in the graph.
+   */
+  public T getExit(Statement s) {
+    Integer index = indexMap.get(s);
+    return index == null ? null : exitValues[index];
+  }
+
+  /**
+   * Gets the number of statements taken off the worklist.
+   *
+   * @return the number of visits.
+   */
+  public int getIterationCount() {
+    return iterationCount;
+  }
+
+  /**
+   * Gets the number of times a transfer function was applied.
+   *
+   * <p>A visit whose input did not change since the last visit of the same
+   * statement skips the transfer function, so this is at most the number
+   * of iterations.
+   *
+   * @return the number of transfer function evaluations.
+   */
+  public int getTransferCount() {
+    return transferCount;
+  }
+}
@@ -0,0 +1,303 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * Solves dataflow analyses over control flow graphs with a worklist.
+ *
+ * <p>Every statement reachable from the start is on the worklist once at the
+ * beginning. When the value out of a statement changes, the statements it
+ * flows into are added again. The solver stops when the worklist is empty,
+ * which happens for any monotone analysis over a lattice of finite height.
+ *
+ * <p>The order statements come off the worklist does not change the answer,
+ * only how many visits it takes. The default is SCC, which never visits a
+ * statement outside a loop more than once.
+ */
+public class DataflowSolver {
+
+  private final WorklistStrategy strategy;
+
+  /**
+   * Creates a solver that solves one strongly connected component at a time.
+   */
+  public DataflowSolver() {
+    this(WorklistStrategy.SCC);
+  }
+
+  /**
+   * Creates a solver with a worklist strategy.
+   *
+   * @param strategy the order to visit statements in.
+   * @requires strategy != null
+   */
+  public DataflowSolver(WorklistStrategy strategy) {
+    ExceptionUtils.requiresNonNull(strategy, "Null strategy passed to DataflowSolver");
+    this.strategy = strategy;
+  }
+
+  /**
+   * Gets the worklist strategy of the solver.
+   *
+   * @return the order statements are visited in.
+   */
+  public WorklistStrategy getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * Solves an analysis on a graph.
+   *
+   * @param <T> the type of the values.
+   * @param cfg the control flow graph.
+   * @param analysis the analysis.
+   * @return the value before and after each statement reachable from the
+   *         start.
+   * @requires cfg != null /\ cfg.getStart() != null
+   * @requires analysis != null
+   */
+  public <T> DataflowResult<T> solve(ControlFlowGraph cfg, DataflowAnalysis<T> analysis) {
+    ExceptionUtils.requiresNonNull(cfg, "Null graph passed to DataflowSolver.solve");
+    ExceptionUtils.requiresNonNull(cfg.getStart(),
+            "Graph with no start passed to DataflowSolver.solve");
+    ExceptionUtils.requiresNonNull(analysis, "Null analysis passed to DataflowSolver.solve");
+    return new Run<T>(cfg, analysis).solve();
+  }
+
+  private final class Run<T> {
+    final ControlFlowGraph cfg;
+    final DataflowAnalysis<T> analysis;
+    final Lattice<T> lattice;
+    final boolean isForward;
+    final Statement[] statements;
+    final Map<Statement, Integer> indexMap = new IdentityHashMap<>();
+    final int[][] inEdges;
+    final int[][] outEdges;
+    final int boundary;
+    final T[] inValues;
+    final T[] outValues;
+    final boolean[] isVisited;
+    int iterationCount = 0;
+    int transferCount = 0;
+
+    @SuppressWarnings("unchecked")
+    Run(ControlFlowGraph cfg, DataflowAnalysis<T> analysis) {
+      this.cfg = cfg;
+      this.analysis = analysis;
+      lattice = analysis.getLattice();
+      isForward = analysis.getDirection() == Direction.FORWARD;
+
+      // Post-order is close enough to reverse post-order on the reversed
+      // graph, and it keeps every statement reachable from the start
+      List<Statement> order = new ArrayList<>(cfg.getReversePostorder());
+      if (!isForward) {
+        Collections.reverse(order);
+      }
+      statements = order.toArray(new Statement[0]);
+      for (int i = 0; i < statements.length; ++i) {
+        indexMap.put(statements[i], i);
+      }
+
+      int size = statements.length;
+      inEdges = new int[size][];
+      outEdges = new int[size][];
+      for (int i = 0; i < size; ++i) {
+        Set<Statement> preds = cfg.getPreds(statements[i]);
+        Set<Statement> succs = cfg.getSuccs(statements[i]);
+        inEdges[i] = getIndexes(isForward ? preds : succs);
+        outEdges[i] = getIndexes(isForward ? succs : preds);
+      }
+      Integer boundaryIndex = indexMap.get(isForward ? cfg.getStart() : cfg.getEnd());
+      boundary = boundaryIndex == null ? -1 : boundaryIndex;
+
+      inValues = (T[]) new Object[size];
+      outValues = (T[]) new Object[size];
+      isVisited = new boolean[size];
+      for (int i = 0; i < size; ++i) {
+        outValues[i] = lattice.getInitial();
+      }
+    }
+
+    DataflowResult<T> solve() {
+      int size = statements.length;
+      if (strategy == WorklistStrategy.SCC) {
+        int[] components = computeComponents();
+        int componentCount = 0;
+        for (int component : components) {
+          componentCount = Math.max(componentCount, component + 1);
+        }
+        List<List<Integer>> memberList = new ArrayList<>();
+        for (int c = 0; c < componentCount; ++c) {
+          memberList.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; ++i) {
+          memberList.get(components[i]).add(i);
+        }
+        for (int c = 0; c < componentCount; ++c) {
+          BitSet worklist = new BitSet(size);
+          for (int i : memberList.get(c)) {
+            worklist.set(i);
+          }
+          while (!worklist.isEmpty()) {
+            int current = worklist.nextSetBit(0);
+            worklist.clear(current);
+            if (visit(current)) {
+              for (int next : outEdges[current]) {
+                if (components[next] == c) {
+                  worklist.set(next);
+                }
+              }
+            }
+          }
+        }
+      } else if (strategy == WorklistStrategy.REVERSE_POSTORDER) {
+        BitSet worklist = new BitSet(size);
+        worklist.set(0, size);
+        while (!worklist.isEmpty()) {
+          int current = worklist.nextSetBit(0);
+          worklist.clear(current);
+          if (visit(current)) {
+            for (int next : outEdges[current]) {
+              worklist.set(next);
+            }
+          }
+        }
+      } else {
+        Deque<Integer> worklist = new ArrayDeque<>();
+        BitSet isQueued = new BitSet(size);
+        for (int i = 0; i < size; ++i) {
+          worklist.add(i);
+        }
+        isQueued.set(0, size);
+        while (!worklist.isEmpty()) {
+          int current = worklist.poll();
+          isQueued.clear(current);
+          if (visit(current)) {
+            for (int next : outEdges[current]) {
+              if (!isQueued.get(next)) {
+                isQueued.set(next);
+                worklist.add(next);
+              }
+            }
+          }
+        }
+      }
+
+      T[] entryValues = isForward ? inValues : outValues;
+      T[] exitValues = isForward ? outValues : inValues;
+      return new DataflowResult<T>(indexMap, entryValues, exitValues,
+              iterationCount, transferCount);
+    }
+
+    /**
+     * Visits a statement.
+     *
+     * @return true if the value out of the statement changed.
+     */
+    private boolean visit(int current) {
+      ++iterationCount;
+      T in = current == boundary ? analysis.getBoundaryValue(cfg) : lattice.getInitial();
+      for (int pred : inEdges[current]) {
+        in = lattice.join(in, outValues[pred]);
+      }
+      if (isVisited[current] && Objects.equals(in, inValues[current])) {
+        return false;
+      }
+      inValues[current] = in;
+      isVisited[current] = true;
+      T out = analysis.transfer(statements[current], in);
+      ++transferCount;
+      if (Objects.equals(out, outValues[current])) {
+        return false;
+      }
+      outValues[current] = out;
+      return true;
+    }
+
+    private int[] computeComponents() {
+      // Tarjan's algorithm without recursion. Components are found in
+      // reverse topological order, so they are numbered from the back.
+      int size = statements.length;
+      int[] index = new int[size];
+      int[] low = new int[size];
+      int[] edge = new int[size];
+      int[] components = new int[size];
+      boolean[] isOnStack = new boolean[size];
+      Deque<Integer> componentStack = new ArrayDeque<>();
+      Deque<Integer> callStack = new ArrayDeque<>();
+      Arrays.fill(index, -1);
+      int counter = 0;
+      int found = 0;
+      for (int root = 0; root < size; ++root) {
+        if (index[root] >= 0) {
+          continue;
+        }
+        index[root] = low[root] = counter++;
+        componentStack.push(root);
+        isOnStack[root] = true;
+        callStack.push(root);
+        while (!callStack.isEmpty()) {
+          int node = callStack.peek();
+          if (edge[node] < outEdges[node].length) {
+            int next = outEdges[node][edge[node]++];
+            if (index[next] < 0) {
+              index[next] = low[next] = counter++;
+              componentStack.push(next);
+              isOnStack[next] = true;
+              callStack.push(next);
+            } else if (isOnStack[next]) {
+              low[node] = Math.min(low[node], index[next]);
+            }
+            continue;
+          }
+          callStack.pop();
+          if (low[node] == index[node]) {
+            int member;
+            do {
+              member = componentStack.pop();
+              isOnStack[member] = false;
+              components[member] = found;
+            } while (member != node);
+            ++found;
+          }
+          if (!callStack.isEmpty()) {
+            int parent = callStack.peek();
+            low[parent] = Math.min(low[parent], low[node]);
+          }
+        }
+      }
+      for (int i = 0; i < size; ++i) {
+        components[i] = found - 1 - components[i];
+      }
+      return components;
+    }
+
+    private int[] getIndexes(Set<Statement> statementSet) {
+      if (statementSet == null) {
+        return new int[0];
+      }
+      int[] indexes = new int[statementSet.size()];
+      int count = 0;
+      for (Statement statement : statementSet) {
+        Integer index = indexMap.get(statement);
+        if (index != null) {
+          indexes[count++] = index;
+        }
+      }
+      return count == indexes.length ? indexes : Arrays.copyOf(indexes, count);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package edu.byu.cs329.dataflow;
+
+/**
+ * The direction facts flow through a control flow graph.
+ */
+public enum Direction {
+  /**
+   * From the start toward the end along successors, such as reaching
+   * definitions.
+   */
+  FORWARD,
+
+  /**
+   * From the end toward the start along predecessors, such as liveness.
+   */
+  BACKWARD
+}
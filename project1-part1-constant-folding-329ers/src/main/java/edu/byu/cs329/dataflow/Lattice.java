@@ -0,0 +1,92 @@
+package edu.byu.cs329.dataflow;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The values of a dataflow analysis and how they merge where paths meet.
+ *
+ * <p>Values must implement equals, since the solver stops when no value
+ * changes, and must not be changed once made.
+ *
+ * @param <T> the type of the values.
+ */
+public interface Lattice<T> {
+
+  /**
+   * Gets the value every statement starts with.
+   *
+   * @return the identity of join.
+   * @ensures join(getInitial(), v).equals(v)
+   */
+  T getInitial();
+
+  /**
+   * Merges the values of two paths.
+   *
+   * @param a the value on one path.
+   * @param b the value on the other path.
+   * @return the value that holds on both paths.
+   */
+  T join(T a, T b);
+
+  /**
+   * Creates the lattice of sets merged by union, for may analyses.
+   *
+   * @param <E> the type of the set elements.
+   * @return the lattice that starts with the empty set.
+   */
+  static <E> Lattice<Set<E>> union() {
+    return new Lattice<Set<E>>() {
+      @Override
+      public Set<E> getInitial() {
+        return Collections.emptySet();
+      }
+
+      @Override
+      public Set<E> join(Set<E> a, Set<E> b) {
+        if (a.containsAll(b)) {
+          return a;
+        }
+        if (b.containsAll(a)) {
+          return b;
+        }
+        Set<E> result = new HashSet<>(a);
+        result.addAll(b);
+        return result;
+      }
+    };
+  }
+
+  /**
+   * Creates the lattice of sets merged by intersection, for must analyses.
+   *
+   * @param <E> the type of the set elements.
+   * @param universe every element that can be in a set.
+   * @return the lattice that starts with the universe.
+   * @requires universe != null
+   */
+  static <E> Lattice<Set<E>> intersection(Set<E> universe) {
+    Set<E> initial = Collections.unmodifiableSet(new HashSet<>(universe));
+    return new Lattice<Set<E>>() {
+      @Override
+      public Set<E> getInitial() {
+        return initial;
+      }
+
+      @Override
+      public Set<E> join(Set<E> a, Set<E> b) {
+        if (b.containsAll(a)) {
+          return a;
+        }
+        if (a.containsAll(b)) {
+          return b;
+        }
+        Set<E> result = new HashSet<>(a);
+        result.retainAll(b);
+        return result;
+      }
+    };
+  }
+}
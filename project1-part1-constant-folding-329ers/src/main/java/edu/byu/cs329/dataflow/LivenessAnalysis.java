@@ -0,0 +1,66 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * Live variables as a backward may analysis.
+ *
+ * <p>A variable is live at a point when some path from that point reads it
+ * before writing it. The entry of a statement is the variables live before
+ * it and the exit is the variables live after it. Nothing is live at the
+ * end of the method.
+ */
+public class LivenessAnalysis implements DataflowAnalysis<Set<String>> {
+
+  private final Map<Statement, Set<String>> useMap = new IdentityHashMap<>();
+  private final Map<Statement, Set<String>> defMap = new IdentityHashMap<>();
+
+  /**
+   * Creates the analysis for a graph.
+   *
+   * @param cfg the control flow graph to analyze.
+   * @requires cfg != null
+   */
+  public LivenessAnalysis(ControlFlowGraph cfg) {
+    ExceptionUtils.requiresNonNull(cfg, "Null graph passed to LivenessAnalysis");
+    for (Statement statement : cfg.getReversePostorder()) {
+      useMap.put(statement, Statements.getUsedNames(statement));
+      defMap.put(statement, Statements.getDefinedNames(statement));
+    }
+  }
+
+  @Override
+  public Direction getDirection() {
+    return Direction.BACKWARD;
+  }
+
+  @Override
+  public Lattice<Set<String>> getLattice() {
+    return Lattice.union();
+  }
+
+  @Override
+  public Set<String> getBoundaryValue(ControlFlowGraph cfg) {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public Set<String> transfer(Statement statement, Set<String> in) {
+    Set<String> use = useMap.getOrDefault(statement, Collections.emptySet());
+    Set<String> def = defMap.getOrDefault(statement, Collections.emptySet());
+    if (def.isEmpty() && in.containsAll(use)) {
+      return in;
+    }
+    Set<String> out = new HashSet<>(in);
+    out.removeAll(def);
+    out.addAll(use);
+    return out;
+  }
+}
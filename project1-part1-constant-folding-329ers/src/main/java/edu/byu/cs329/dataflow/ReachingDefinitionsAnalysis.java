@@ -0,0 +1,149 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.rd.DefinitionFactory;
+import edu.byu.cs329.rd.ReachingDefinitions;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.ExpressionStatement;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.Statement;
+import org.eclipse.jdt.core.dom.VariableDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+
+/**
+ * Reaching definitions as a forward may analysis.
+ *
+ * <p>The definitions are the same as those of
+ * BitVectorReachingDefinitionsBuilder. A declaration with an initializer and
+ * an assignment to a simple name both define the variable, and a
+ * declaration without an initializer kills the earlier definitions of the
+ * variable without defining it. The parameters are defined at the start
+ * with a null statement.
+ *
+ * <p>Each definition is made once by a DefinitionFactory when the analysis
+ * is created, so sets of definitions can be compared by identity and a kill
+ * is a bit set over variable ids.
+ */
+public class ReachingDefinitionsAnalysis implements DataflowAnalysis<Set<Definition>> {
+
+  private final DefinitionFactory definitionFactory = new DefinitionFactory();
+  private final Set<Definition> parameterDefinitions;
+  private final Map<Statement, List<Definition>> genMap = new IdentityHashMap<>();
+  private final Map<Statement, BitSet> killMap = new IdentityHashMap<>();
+
+  /**
+   * Creates the analysis for a graph.
+   *
+   * @param cfg the control flow graph to analyze.
+   * @requires cfg != null
+   */
+  public ReachingDefinitionsAnalysis(ControlFlowGraph cfg) {
+    ExceptionUtils.requiresNonNull(cfg, "Null graph passed to ReachingDefinitionsAnalysis");
+    Set<Definition> parameters = new HashSet<>();
+    for (Object o : cfg.getMethodDeclaration().parameters()) {
+      parameters.add(definitionFactory.getDefinition(
+              ((VariableDeclaration) o).getName(), null));
+    }
+    parameterDefinitions = Collections.unmodifiableSet(parameters);
+    for (Statement statement : cfg.getReversePostorder()) {
+      addGenAndKill(statement);
+    }
+  }
+
+  /**
+   * Computes the reaching definitions of a graph.
+   *
+   * @param cfg the control flow graph.
+   * @return the definitions that reach each statement.
+   * @requires cfg != null /\ cfg.getStart() != null
+   */
+  public static ReachingDefinitions build(ControlFlowGraph cfg) {
+    return toReachingDefinitions(
+            new DataflowSolver().solve(cfg, new ReachingDefinitionsAnalysis(cfg)));
+  }
+
+  /**
+   * Views the result of the analysis as reaching definitions.
+   *
+   * @param result the solved analysis.
+   * @return the reaching definitions with a read-only entry set for each
+   *         statement in the graph and null for any other statement.
+   */
+  public static ReachingDefinitions toReachingDefinitions(DataflowResult<Set<Definition>> result) {
+    return new ReachingDefinitions() {
+      @Override
+      public Set<Definition> getReachingDefinitions(final Statement s) {
+        Set<Definition> entry = result.getEntry(s);
+        return entry == null ? null : Collections.unmodifiableSet(entry);
+      }
+    };
+  }
+
+  @Override
+  public Direction getDirection() {
+    return Direction.FORWARD;
+  }
+
+  @Override
+  public Lattice<Set<Definition>> getLattice() {
+    return Lattice.union();
+  }
+
+  @Override
+  public Set<Definition> getBoundaryValue(ControlFlowGraph cfg) {
+    return parameterDefinitions;
+  }
+
+  @Override
+  public Set<Definition> transfer(Statement statement, Set<Definition> in) {
+    BitSet kill = killMap.get(statement);
+    if (kill == null) {
+      return in;
+    }
+    Set<Definition> out = new HashSet<>();
+    for (Definition definition : in) {
+      if (!kill.get(definition.getVariable())) {
+        out.add(definition);
+      }
+    }
+    out.addAll(genMap.get(statement));
+    return out;
+  }
+
+  private void addGenAndKill(Statement statement) {
+    List<Definition> gen = new ArrayList<>();
+    BitSet kill = new BitSet();
+    if (statement instanceof VariableDeclarationStatement) {
+      for (Object o : ((VariableDeclarationStatement) statement).fragments()) {
+        VariableDeclaration fragment = (VariableDeclaration) o;
+        kill.set(definitionFactory.getVariable(fragment.getName()));
+        if (fragment.getInitializer() != null) {
+          gen.add(definitionFactory.getDefinition(fragment.getName(), statement));
+        }
+      }
+    } else if (statement instanceof ExpressionStatement
+            && ((ExpressionStatement) statement).getExpression() instanceof Assignment) {
+      Expression left = ((Assignment) ((ExpressionStatement) statement)
+              .getExpression()).getLeftHandSide();
+      if (left instanceof SimpleName) {
+        kill.set(definitionFactory.getVariable((SimpleName) left));
+        gen.add(definitionFactory.getDefinition((SimpleName) left, statement));
+      }
+    }
+    if (!kill.isEmpty()) {
+      genMap.put(statement, gen);
+      killMap.put(statement, kill);
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package edu.byu.cs329.dataflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.EmptyStatement;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.ExpressionStatement;
+import org.eclipse.jdt.core.dom.FieldAccess;
+import org.eclipse.jdt.core.dom.IfStatement;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.PostfixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.ReturnStatement;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.Statement;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+import org.eclipse.jdt.core.dom.WhileStatement;
+
+/**
+ * The variables a single statement reads and writes.
+ *
+ * <p>A statement in the control flow graph only owns the expressions it
+ * evaluates itself. The condition belongs to an if or while, but the
+ * statements in its branches are nodes of their own. A statement the graph
+ * builder does not know is treated as a whole, which is conservative.
+ */
+final class Statements {
+
+  private Statements() {
+  }
+
+  /**
+   * Gets the expressions a statement evaluates itself.
+   *
+   * @param statement the statement.
+   * @return the expressions in evaluation order, or null if the statement
+   *         is not one the graph builder knows.
+   */
+  static List<Expression> getExpressions(Statement statement) {
+    List<Expression> expressionList = new ArrayList<>();
+    if (statement instanceof VariableDeclarationStatement) {
+      for (Object o : ((VariableDeclarationStatement) statement).fragments()) {
+        Expression initializer = ((VariableDeclarationFragment) o).getInitializer();
+        if (initializer != null) {
+          expressionList.add(initializer);
+        }
+      }
+    } else if (statement instanceof ExpressionStatement) {
+      expressionList.add(((ExpressionStatement) statement).getExpression());
+    } else if (statement instanceof IfStatement) {
+      expressionList.add(((IfStatement) statement).getExpression());
+    } else if (statement instanceof WhileStatement) {
+      expressionList.add(((WhileStatement) statement).getExpression());
+    } else if (statement instanceof ReturnStatement) {
+      Expression expression = ((ReturnStatement) statement).getExpression();
+      if (expression != null) {
+        expressionList.add(expression);
+      }
+    } else if (!(statement instanceof Block) && !(statement instanceof EmptyStatement)) {
+      return null;
+    }
+    return expressionList;
+  }
+
+  /**
+   * Gets the variables a statement writes.
+   *
+   * @param statement the statement.
+   * @return the names of the declared, assigned, incremented, and
+   *         decremented variables.
+   */
+  static Set<String> getDefinedNames(Statement statement) {
+    Set<String> nameSet = new HashSet<>();
+    ASTVisitor visitor = new ASTVisitor() {
+      @Override
+      public boolean visit(VariableDeclarationFragment fragment) {
+        nameSet.add(fragment.getName().getIdentifier());
+        return true;
+      }
+
+      @Override
+      public boolean visit(Assignment assignment) {
+        addName(assignment.getLeftHandSide());
+        return true;
+      }
+
+      @Override
+      public boolean visit(PrefixExpression prefix) {
+        if (prefix.getOperator() == PrefixExpression.Operator.INCREMENT
+                || prefix.getOperator() == PrefixExpression.Operator.DECREMENT) {
+          addName(prefix.getOperand());
+        }
+        return true;
+      }
+
+      @Override
+      public boolean visit(PostfixExpression postfix) {
+        addName(postfix.getOperand());
+        return true;
+      }
+
+      private void addName(Expression expression) {
+        if (expression instanceof SimpleName) {
+          nameSet.add(((SimpleName) expression).getIdentifier());
+        }
+      }
+    };
+    List<Expression> expressionList = getExpressions(statement);
+    if (expressionList == null || statement instanceof VariableDeclarationStatement) {
+      statement.accept(visitor);
+    } else {
+      for (Expression expression : expressionList) {
+        expression.accept(visitor);
+      }
+    }
+    return nameSet;
+  }
+
+  /**
+   * Gets the variables a statement reads.
+   *
+   * <p>The left side of a simple assignment to a variable is a write and
+   * not a read.
+   *
+   * @param statement the statement.
+   * @return the names of the variables read.
+   */
+  static Set<String> getUsedNames(Statement statement) {
+    List<Expression> expressionList = getExpressions(statement);
+    if (expressionList == null) {
+      return getUsedNames(Collections.singletonList(statement));
+    }
+    return getUsedNames(expressionList);
+  }
+
+  /**
+   * Gets the variables read in an expression.
+   *
+   * @param expression the expression.
+   * @return the names of the variables read.
+   */
+  static Set<String> getUsedNames(Expression expression) {
+    return getUsedNames(Collections.singletonList(expression));
+  }
+
+  private static Set<String> getUsedNames(List<? extends ASTNode> nodeList) {
+    Set<String> nameSet = new HashSet<>();
+    ASTVisitor visitor = new ASTVisitor() {
+      @Override
+      public boolean visit(Assignment assignment) {
+        if (assignment.getOperator() == Assignment.Operator.ASSIGN
+                && assignment.getLeftHandSide() instanceof SimpleName) {
+          assignment.getRightHandSide().accept(this);
+          return false;
+        }
+        return true;
+      }
+
+      @Override
+      public boolean visit(SimpleName name) {
+        if (isVariable(name)) {
+          nameSet.add(name.getIdentifier());
+        }
+        return false;
+      }
+    };
+    for (ASTNode node : nodeList) {
+      node.accept(visitor);
+    }
+    return nameSet;
+  }
+
+  /**
+   * Tells if an expression can be evaluated again without changing anything.
+   *
+   * @param expression the expression.
+   * @return true if expression has only names, literals, parentheses, and
+   *         operators that do not write a variable.
+   */
+  static boolean isPure(Expression expression) {
+    boolean[] isPure = {true};
+    expression.accept(new ASTVisitor() {
+      @Override
+      public void preVisit(ASTNode node) {
+        switch (node.getNodeType()) {
+          case ASTNode.INFIX_EXPRESSION:
+          case ASTNode.PARENTHESIZED_EXPRESSION:
+          case ASTNode.SIMPLE_NAME:
+          case ASTNode.NUMBER_LITERAL:
+          case ASTNode.BOOLEAN_LITERAL:
+          case ASTNode.STRING_LITERAL:
+          case ASTNode.CHARACTER_LITERAL:
+          case ASTNode.NULL_LITERAL:
+            break;
+          case ASTNode.PREFIX_EXPRESSION:
+            PrefixExpression.Operator operator = ((PrefixExpression) node).getOperator();
+            if (operator == PrefixExpression.Operator.INCREMENT
+                    || operator == PrefixExpression.Operator.DECREMENT) {
+              isPure[0] = false;
+            }
+            break;
+          default:
+            isPure[0] = false;
+        }
+      }
+    });
+    return isPure[0];
+  }
+
+  private static boolean isVariable(SimpleName name) {
+    if (name.isDeclaration()) {
+      return false;
+    }
+    return name.getLocationInParent() != MethodInvocation.NAME_PROPERTY
+            && name.getLocationInParent() != QualifiedName.NAME_PROPERTY
+            && name.getLocationInParent() != FieldAccess.NAME_PROPERTY
+            && name.getLocationInParent() != SimpleType.NAME_PROPERTY;
+  }
+}
@@ -0,0 +1,29 @@
+package edu.byu.cs329.dataflow;
+
+/**
+ * The order a DataflowSolver visits statements in.
+ *
+ * <p>Statements are numbered in reverse post-order in the direction of the
+ * analysis, so a statement is numbered after its predecessors except along
+ * back edges.
+ */
+public enum WorklistStrategy {
+  /**
+   * First in, first out. Statements are visited in the order they are added.
+   */
+  FIFO,
+
+  /**
+   * The statement with the lowest reverse post-order number is visited
+   * first, so a statement usually sees all its inputs before it is visited.
+   */
+  REVERSE_POSTORDER,
+
+  /**
+   * The strongly connected components are solved one at a time in
+   * topological order, each in reverse post-order. A component is never
+   * visited again once the solver leaves it, so a graph with no loops is
+   * solved in one pass and each loop is solved on its own.
+   */
+  SCC
+}
@@ -0,0 +1,301 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.cfg.BasicBlockGraph;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.ExpressionStatement;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.Statement;
+import org.eclipse.jdt.core.dom.VariableDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+
+/**
+ * Computes reaching definitions with bit vectors.
+ *
+ * <p>Every definition in a method is given a dense index by a
+ * DefinitionFactory, and the entry and exit sets of each block are bit sets
+ * over those indexes. Blocks are numbered in reverse post-order. The
+ * worklist is a bit set over those numbers that is swept in order, so each
+ * block is usually visited after its predecessors, and a block is on the
+ * worklist at most once.
+ *
+ * <p>A declaration with an initializer and an assignment to a simple name
+ * both define the variable. A declaration without an initializer kills the
+ * earlier definitions of the variable without defining it.
+ *
+ * <p>The worklist runs over the basic blocks of the graph rather than its
+ * statements. Each block has a transfer function computed once up front,
+ * the definitions it generates and the definitions it kills, so a block is
+ * as cheap to visit as a single statement. The entry sets of the statements
+ * inside a block are filled in after the blocks converge.
+ */
+public class BitVectorReachingDefinitionsBuilder {
+
+  /**
+   * Computes the reaching definitions for each control flow graph.
+   *
+   * @param cfgList the list of control flow graphs.
+   * @return the corresponding reaching definitions for each graph.
+   */
+  public List<ReachingDefinitions> build(List<ControlFlowGraph> cfgList) {
+    List<ReachingDefinitions> rdList = new ArrayList<ReachingDefinitions>();
+    for (ControlFlowGraph cfg : cfgList) {
+      Solver solver = new Solver(cfg);
+      solver.solve();
+      rdList.add(solver.getResult());
+    }
+    return rdList;
+  }
+
+  static class Solver {
+    final ControlFlowGraph cfg;
+    final List<Statement> statementList = new ArrayList<>();
+    final Map<Statement, Integer> indexMap = new HashMap<>();
+    final DefinitionFactory definitionFactory = new DefinitionFactory();
+    final List<BitSet> variableDefinitionsList = new ArrayList<>();
+    final BitSet parameterDefinitions = new BitSet();
+    BasicBlockGraph blocks;
+    int[][] genDefinitions;
+    int[][] killVariables;
+    BitSet[] blockGenSets;
+    BitSet[] blockKillSets;
+    BitSet[] blockEntrySets;
+    BitSet[] blockExitSets;
+    BitSet[] entrySets;
+
+    Solver(ControlFlowGraph cfg) {
+      this.cfg = cfg;
+    }
+
+    void solve() {
+      numberStatements();
+      numberDefinitions();
+      computeBlockTransfers();
+      runWorklistAlgorithm();
+      computeStatementEntrySets();
+    }
+
+    private void numberStatements() {
+      // Statements are numbered block by block so each block is a range
+      blocks = BasicBlockGraph.of(cfg);
+      for (int block = 0; block < blocks.size(); ++block) {
+        for (Statement statement : blocks.getStatements(block)) {
+          indexMap.put(statement, statementList.size());
+          statementList.add(statement);
+        }
+      }
+    }
+
+    private void numberDefinitions() {
+      MethodDeclaration methodDeclaration = cfg.getMethodDeclaration();
+      List<VariableDeclaration> parameterList =
+              getVariableDeclarationList(methodDeclaration.parameters());
+      for (VariableDeclaration parameter : parameterList) {
+        int definition = addDefinition(parameter.getName(), null);
+        parameterDefinitions.set(definition);
+      }
+
+      int size = statementList.size();
+      genDefinitions = new int[size][];
+      killVariables = new int[size][];
+      for (int i = 0; i < size; ++i) {
+        Statement statement = statementList.get(i);
+        List<Integer> gen = new ArrayList<>();
+        List<Integer> kill = new ArrayList<>();
+        if (statement instanceof VariableDeclarationStatement) {
+          List<VariableDeclaration> fragmentList = getVariableDeclarationList(
+                  ((VariableDeclarationStatement) statement).fragments());
+          for (VariableDeclaration fragment : fragmentList) {
+            kill.add(getVariable(fragment.getName()));
+            if (fragment.getInitializer() != null) {
+              gen.add(addDefinition(fragment.getName(), statement));
+            }
+          }
+        } else if (statement instanceof ExpressionStatement
+                && ((ExpressionStatement) statement).getExpression() instanceof Assignment) {
+          Expression exp = ((Assignment) ((ExpressionStatement) statement)
+                  .getExpression()).getLeftHandSide();
+          if (exp instanceof SimpleName) {
+            kill.add(getVariable((SimpleName) exp));
+            gen.add(addDefinition((SimpleName) exp, statement));
+          }
+        }
+        genDefinitions[i] = toArray(gen);
+        killVariables[i] = toArray(kill);
+      }
+    }
+
+    private void computeBlockTransfers() {
+      int size = blocks.size();
+      blockGenSets = new BitSet[size];
+      blockKillSets = new BitSet[size];
+      int statement = 0;
+      for (int block = 0; block < size; ++block) {
+        // Gen is what the last write of each variable defines, and kill
+        // is every definition of a variable written in the block
+        BitSet genSet = new BitSet();
+        BitSet killSet = new BitSet();
+        for (int k = 0; k < blocks.getStatementCount(block); ++k, ++statement) {
+          for (int variable : killVariables[statement]) {
+            BitSet variableDefinitions = variableDefinitionsList.get(variable);
+            genSet.andNot(variableDefinitions);
+            killSet.or(variableDefinitions);
+          }
+          for (int definition : genDefinitions[statement]) {
+            genSet.set(definition);
+          }
+        }
+        blockGenSets[block] = genSet;
+        blockKillSets[block] = killSet;
+      }
+    }
+
+    private void runWorklistAlgorithm() {
+      int size = blocks.size();
+      blockEntrySets = new BitSet[size];
+      blockExitSets = new BitSet[size];
+      for (int i = 0; i < size; ++i) {
+        blockEntrySets[i] = new BitSet();
+        blockExitSets[i] = new BitSet();
+      }
+
+      BitSet worklist = new BitSet(size);
+      worklist.set(0, size);
+      BitSet exitSet = new BitSet();
+      int current = 0;
+      while (!worklist.isEmpty()) {
+        current = worklist.nextSetBit(current);
+        if (current < 0) {
+          current = worklist.nextSetBit(0);
+        }
+        worklist.clear(current);
+
+        // Entry is the union of the predecessor exits
+        BitSet entrySet = blockEntrySets[current];
+        entrySet.clear();
+        if (current == 0) {
+          entrySet.or(parameterDefinitions);
+        }
+        for (int k = 0; k < blocks.getPredCount(current); ++k) {
+          entrySet.or(blockExitSets[blocks.getPred(current, k)]);
+        }
+
+        // Exit is gen \cup (entry \setminus kill)
+        exitSet.clear();
+        exitSet.or(entrySet);
+        exitSet.andNot(blockKillSets[current]);
+        exitSet.or(blockGenSets[current]);
+
+        if (!exitSet.equals(blockExitSets[current])) {
+          blockExitSets[current].clear();
+          blockExitSets[current].or(exitSet);
+          for (int k = 0; k < blocks.getSuccCount(current); ++k) {
+            worklist.set(blocks.getSucc(current, k));
+          }
+        }
+      }
+    }
+
+    private void computeStatementEntrySets() {
+      // Run the statement transfer functions forward from each block entry
+      entrySets = new BitSet[statementList.size()];
+      int statement = 0;
+      for (int block = 0; block < blocks.size(); ++block) {
+        BitSet current = (BitSet) blockEntrySets[block].clone();
+        for (int k = 0; k < blocks.getStatementCount(block); ++k, ++statement) {
+          entrySets[statement] = (BitSet) current.clone();
+          for (int variable : killVariables[statement]) {
+            current.andNot(variableDefinitionsList.get(variable));
+          }
+          for (int definition : genDefinitions[statement]) {
+            current.set(definition);
+          }
+        }
+      }
+    }
+
+    ReachingDefinitions getResult() {
+      final List<Set<Definition>> reachingDefinitionsList =
+              new ArrayList<>(Collections.nCopies(statementList.size(), null));
+
+      return new ReachingDefinitions() {
+        @Override
+        public Set<Definition> getReachingDefinitions(final Statement s) {
+          Integer index = indexMap.get(s);
+          if (index == null) {
+            return null;
+          }
+          Set<Definition> returnValue = reachingDefinitionsList.get(index);
+          if (returnValue == null) {
+            returnValue = toDefinitions(entrySets[index]);
+            reachingDefinitionsList.set(index, returnValue);
+          }
+          return returnValue;
+        }
+
+        @Override
+        public Set<Definition> getReachingDefinitions(final Statement s, final String name) {
+          Integer index = indexMap.get(s);
+          if (index == null) {
+            return null;
+          }
+          int variable = definitionFactory.findVariable(name);
+          if (variable == Definition.NO_ID) {
+            return Collections.emptySet();
+          }
+          BitSet bitSet = (BitSet) entrySets[index].clone();
+          bitSet.and(variableDefinitionsList.get(variable));
+          return toDefinitions(bitSet);
+        }
+      };
+    }
+
+    private Set<Definition> toDefinitions(BitSet bitSet) {
+      Set<Definition> definitions = new HashSet<>();
+      for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+        definitions.add(definitionFactory.getDefinition(i));
+      }
+      return Collections.unmodifiableSet(definitions);
+    }
+
+    private int addDefinition(SimpleName name, Statement statement) {
+      Definition definition = definitionFactory.getDefinition(name, statement);
+      variableDefinitionsList.get(getVariable(name)).set(definition.getIndex());
+      return definition.getIndex();
+    }
+
+    private int getVariable(SimpleName name) {
+      // Variable ids are dense, so a new one is always the next in the list
+      int variable = definitionFactory.getVariable(name);
+      if (variable == variableDefinitionsList.size()) {
+        variableDefinitionsList.add(new BitSet());
+      }
+      return variable;
+    }
+
+    private int[] toArray(List<Integer> list) {
+      int[] array = new int[list.size()];
+      for (int i = 0; i < array.length; ++i) {
+        array[i] = list.get(i);
+      }
+      return array;
+    }
+
+    private List<VariableDeclaration> getVariableDeclarationList(Object list) {
+      @SuppressWarnings("unchecked")
+      List<VariableDeclaration> declarationList = (List<VariableDeclaration>) (list);
+      return declarationList;
+    }
+  }
+}
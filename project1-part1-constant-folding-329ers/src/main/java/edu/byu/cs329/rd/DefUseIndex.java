@@ -0,0 +1,138 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * The reaching definitions of every use of a variable under a node.
+ *
+ * <p>Each use is mapped to its enclosing statement when the index is built.
+ * The definitions of a variable at a statement are asked for the first time
+ * one of its uses there is looked up, and kept, so finding the definitions
+ * of a use is two hash lookups instead of a walk up the tree and a scan of
+ * every definition that reaches the statement. Only the variables that are
+ * looked up are asked for, so a demand driven ReachingDefinitions computes
+ * nothing else. Definitions keep the order of the set they came from.
+ *
+ * <p>The index holds the tree as it was when built. Uses that are replaced
+ * afterwards keep their old answers and new uses are not in the index.
+ */
+public class DefUseIndex {
+
+  private final ReachingDefinitions reachingDefinitions;
+  private final Map<SimpleName, Statement> statementMap = new IdentityHashMap<>();
+  private final Map<Statement, Map<String, List<Definition>>> definitionMap =
+          new IdentityHashMap<>();
+
+  private DefUseIndex(ReachingDefinitions reachingDefinitions) {
+    this.reachingDefinitions = reachingDefinitions;
+  }
+
+  /**
+   * Indexes every use of a variable under a node.
+   *
+   * @param reachingDefinitions the reaching definitions of the method.
+   * @param root the method or any node under it.
+   * @return the index.
+   * @requires reachingDefinitions != null
+   * @requires root != null
+   */
+  public static DefUseIndex of(ReachingDefinitions reachingDefinitions, ASTNode root) {
+    ExceptionUtils.requiresNonNull(reachingDefinitions,
+            "Null reaching definitions passed to DefUseIndex.of");
+    ExceptionUtils.requiresNonNull(root, "Null root passed to DefUseIndex.of");
+    DefUseIndex index = new DefUseIndex(reachingDefinitions);
+    index.indexUses(root);
+    return index;
+  }
+
+  /**
+   * Gets the statement a use is in.
+   *
+   * @param use the use of a variable.
+   * @return the closest statement above use, or null if use is not indexed.
+   */
+  public Statement getStatement(SimpleName use) {
+    return statementMap.get(use);
+  }
+
+  /**
+   * Gets the definitions of a variable that reach a use.
+   *
+   * @param use the use of a variable.
+   * @return a read-only list of the definitions of the name of use that reach
+   *         its statement, empty if there are none or use is not indexed.
+   */
+  public List<Definition> getReachingDefinitions(SimpleName use) {
+    Statement statement = statementMap.get(use);
+    if (statement == null) {
+      return Collections.emptyList();
+    }
+    return definitionMap.computeIfAbsent(statement, k -> new HashMap<>())
+            .computeIfAbsent(use.getIdentifier(), name -> toList(
+                    reachingDefinitions.getReachingDefinitions(statement, name)));
+  }
+
+  /**
+   * Gets the number of uses in the index.
+   *
+   * @return the number of indexed uses.
+   */
+  public int getUseCount() {
+    return statementMap.size();
+  }
+
+  private void indexUses(ASTNode root) {
+    Deque<Statement> statementStack = new ArrayDeque<>();
+    // A root inside a statement still has that statement around its uses
+    for (ASTNode node = root.getParent(); node != null; node = node.getParent()) {
+      if (node instanceof Statement) {
+        statementStack.push((Statement) node);
+        break;
+      }
+    }
+    root.accept(new ASTVisitor() {
+      @Override
+      public void preVisit(ASTNode node) {
+        if (node instanceof Statement) {
+          statementStack.push((Statement) node);
+        }
+      }
+
+      @Override
+      public void postVisit(ASTNode node) {
+        if (node instanceof Statement) {
+          statementStack.pop();
+        }
+      }
+
+      @Override
+      public boolean visit(SimpleName name) {
+        if (!name.isDeclaration() && !statementStack.isEmpty()) {
+          statementMap.put(name, statementStack.peek());
+        }
+        return false;
+      }
+    });
+  }
+
+  private static List<Definition> toList(Set<Definition> definitions) {
+    if (definitions == null || definitions.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(new ArrayList<>(definitions));
+  }
+}
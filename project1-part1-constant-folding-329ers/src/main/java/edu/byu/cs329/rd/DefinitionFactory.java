@@ -0,0 +1,124 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.Statement;
+
+/**
+ * Makes the definitions of one method, one instance for each variable and
+ * defining statement.
+ *
+ * <p>Each variable is given a dense id the first time its name is seen, and
+ * each definition is given a dense id when it is first made. Asking again for
+ * the same variable and statement returns the same instance, so a definition
+ * that reaches many statements is one object and sets of definitions can be
+ * compared by identity. Parameters are defined by a null statement.
+ *
+ * <p>Variables are told apart by identifier since the trees are parsed
+ * without bindings. A factory is meant for one method and one thread.
+ */
+public class DefinitionFactory {
+
+  private final Map<String, Integer> variableMap = new HashMap<>();
+  private final List<String> variableList = new ArrayList<>();
+  private final List<Map<Statement, Definition>> definitionMapList = new ArrayList<>();
+  private final List<Definition> definitionList = new ArrayList<>();
+
+  /**
+   * Gets the id of a variable, giving it the next id if it is new.
+   *
+   * @param name a name of the variable.
+   * @return the id of the variable.
+   * @requires name != null
+   */
+  public int getVariable(SimpleName name) {
+    ExceptionUtils.requiresNonNull(name, "Null name passed to DefinitionFactory.getVariable");
+    String identifier = name.getIdentifier();
+    Integer variable = variableMap.get(identifier);
+    if (variable == null) {
+      variable = variableList.size();
+      variableMap.put(identifier, variable);
+      variableList.add(identifier);
+      definitionMapList.add(new IdentityHashMap<>());
+    }
+    return variable;
+  }
+
+  /**
+   * Finds the id of a variable without adding it.
+   *
+   * @param identifier the identifier of the variable.
+   * @return the id of the variable, or Definition.NO_ID if it has none.
+   */
+  public int findVariable(String identifier) {
+    Integer variable = variableMap.get(identifier);
+    return variable == null ? Definition.NO_ID : variable;
+  }
+
+  /**
+   * Gets the identifier of a variable.
+   *
+   * @param variable the id of the variable.
+   * @return the identifier of the variable.
+   * @requires 0 <= variable < getVariableCount()
+   */
+  public String getVariableName(int variable) {
+    return variableList.get(variable);
+  }
+
+  /**
+   * Gets the number of variables seen so far.
+   *
+   * @return the number of variable ids given out.
+   */
+  public int getVariableCount() {
+    return variableList.size();
+  }
+
+  /**
+   * Gets the definition of a variable at a statement, making it if it is new.
+   *
+   * @param name the name being defined.
+   * @param statement the defining statement, or null for a parameter.
+   * @return the one definition of the variable of name at statement.
+   * @requires name != null
+   * @ensures \result.getVariable() == getVariable(name)
+   */
+  public Definition getDefinition(SimpleName name, Statement statement) {
+    int variable = getVariable(name);
+    Map<Statement, Definition> definitionMap = definitionMapList.get(variable);
+    Definition definition = definitionMap.get(statement);
+    if (definition == null) {
+      definition = new Definition(name, statement, variable, definitionList.size());
+      definitionMap.put(statement, definition);
+      definitionList.add(definition);
+    }
+    return definition;
+  }
+
+  /**
+   * Gets a definition by its id.
+   *
+   * @param index the id of the definition.
+   * @return the definition.
+   * @requires 0 <= index < getDefinitionCount()
+   */
+  public Definition getDefinition(int index) {
+    return definitionList.get(index);
+  }
+
+  /**
+   * Gets the number of definitions made so far.
+   *
+   * @return the number of definition ids given out.
+   */
+  public int getDefinitionCount() {
+    return definitionList.size();
+  }
+}
@@ -0,0 +1,212 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.ExpressionStatement;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.Statement;
+import org.eclipse.jdt.core.dom.VariableDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+
+/**
+ * Computes reaching definitions only for the questions that are asked.
+ *
+ * <p>Building does no analysis. The definitions of a variable that reach a
+ * statement are found when they are first asked for, by walking backward
+ * from the statement through its predecessors. The walk stops at each
+ * statement that writes the variable and takes the definition there, and
+ * it adds the parameter if it reaches the start. Each answer is kept. A
+ * later walk that comes to a statement with a kept answer for the same
+ * variable takes that answer instead of walking past it.
+ *
+ * <p>The definitions are the same as those of
+ * BitVectorReachingDefinitionsBuilder. A declaration with an initializer and
+ * an assignment to a simple name both define the variable. A declaration
+ * without an initializer stops the walk without defining anything.
+ *
+ * <p>Asking for every variable at a statement walks once for each variable
+ * in the method, so this pays off when only a few uses are asked about.
+ */
+public class DemandReachingDefinitionsBuilder {
+
+  /**
+   * Creates the reaching definitions for each control flow graph.
+   *
+   * @param cfgList the list of control flow graphs.
+   * @return the corresponding reaching definitions for each graph.
+   */
+  public List<ReachingDefinitions> build(List<ControlFlowGraph> cfgList) {
+    List<ReachingDefinitions> rdList = new ArrayList<ReachingDefinitions>();
+    for (ControlFlowGraph cfg : cfgList) {
+      rdList.add(build(cfg));
+    }
+    return rdList;
+  }
+
+  /**
+   * Creates the reaching definitions for one control flow graph.
+   *
+   * @param cfg the control flow graph.
+   * @return the reaching definitions, computed as they are asked for.
+   */
+  public ReachingDefinitions build(ControlFlowGraph cfg) {
+    return new Solver(cfg);
+  }
+
+  static class Solver implements ReachingDefinitions {
+    final ControlFlowGraph cfg;
+    final DefinitionFactory definitionFactory = new DefinitionFactory();
+    final Map<String, Definition> parameterMap = new HashMap<>();
+    final Map<Statement, Map<String, Definition>> killMap = new IdentityHashMap<>();
+    final Map<Statement, Map<String, Set<Definition>>> memoMap = new IdentityHashMap<>();
+    final Map<Statement, Set<Definition>> allMap = new IdentityHashMap<>();
+    Set<Statement> statementSet = null;
+    Set<String> nameSet = null;
+    int visitCount = 0;
+
+    Solver(ControlFlowGraph cfg) {
+      this.cfg = cfg;
+      for (Object o : cfg.getMethodDeclaration().parameters()) {
+        SimpleName name = ((VariableDeclaration) o).getName();
+        parameterMap.put(name.getIdentifier(), definitionFactory.getDefinition(name, null));
+      }
+    }
+
+    @Override
+    public Set<Definition> getReachingDefinitions(final Statement s) {
+      if (!contains(s)) {
+        return null;
+      }
+      Set<Definition> definitions = allMap.get(s);
+      if (definitions == null) {
+        definitions = new HashSet<>();
+        for (String name : getNames()) {
+          definitions.addAll(getReachingDefinitions(s, name));
+        }
+        definitions = Collections.unmodifiableSet(definitions);
+        allMap.put(s, definitions);
+      }
+      return definitions;
+    }
+
+    @Override
+    public Set<Definition> getReachingDefinitions(final Statement s, final String name) {
+      if (!contains(s)) {
+        return null;
+      }
+      Map<String, Set<Definition>> memo = memoMap.computeIfAbsent(s, k -> new HashMap<>());
+      Set<Definition> definitions = memo.get(name);
+      if (definitions == null) {
+        definitions = Collections.unmodifiableSet(walk(s, name));
+        memo.put(name, definitions);
+      }
+      return definitions;
+    }
+
+    private Set<Definition> walk(Statement statement, String name) {
+      Set<Definition> result = new LinkedHashSet<>();
+      Set<Statement> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+      Deque<Statement> stack = new ArrayDeque<>();
+      addEntry(statement, name, result, stack);
+      while (!stack.isEmpty()) {
+        Statement pred = stack.pop();
+        if (!visited.add(pred)) {
+          continue;
+        }
+        ++visitCount;
+
+        // The exit of a statement that writes the variable is its own definition
+        Map<String, Definition> kills = getKills(pred);
+        if (kills.containsKey(name)) {
+          Definition definition = kills.get(name);
+          if (definition != null) {
+            result.add(definition);
+          }
+          continue;
+        }
+
+        // Otherwise the exit is the entry, which may already be known
+        Map<String, Set<Definition>> memo = memoMap.get(pred);
+        Set<Definition> known = memo == null ? null : memo.get(name);
+        if (known != null) {
+          result.addAll(known);
+          continue;
+        }
+        addEntry(pred, name, result, stack);
+      }
+      return result;
+    }
+
+    private void addEntry(Statement statement, String name, Set<Definition> result,
+                          Deque<Statement> stack) {
+      if (statement == cfg.getStart() && parameterMap.containsKey(name)) {
+        result.add(parameterMap.get(name));
+      }
+      Set<Statement> preds = cfg.getPreds(statement);
+      if (preds != null) {
+        for (Statement pred : preds) {
+          stack.push(pred);
+        }
+      }
+    }
+
+    private Map<String, Definition> getKills(Statement statement) {
+      // Each killed name maps to the definition made there, or null if none
+      Map<String, Definition> kills = killMap.get(statement);
+      if (kills != null) {
+        return kills;
+      }
+      kills = new HashMap<>();
+      if (statement instanceof VariableDeclarationStatement) {
+        for (Object o : ((VariableDeclarationStatement) statement).fragments()) {
+          VariableDeclarationFragment fragment = (VariableDeclarationFragment) o;
+          Definition definition = fragment.getInitializer() == null
+                  ? null : definitionFactory.getDefinition(fragment.getName(), statement);
+          kills.put(fragment.getName().getIdentifier(), definition);
+        }
+      } else if (statement instanceof ExpressionStatement
+              && ((ExpressionStatement) statement).getExpression() instanceof Assignment) {
+        Expression left = ((Assignment) ((ExpressionStatement) statement)
+                .getExpression()).getLeftHandSide();
+        if (left instanceof SimpleName) {
+          kills.put(((SimpleName) left).getIdentifier(),
+                  definitionFactory.getDefinition((SimpleName) left, statement));
+        }
+      }
+      killMap.put(statement, kills);
+      return kills;
+    }
+
+    private boolean contains(Statement s) {
+      if (statementSet == null) {
+        statementSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        statementSet.addAll(cfg.getReversePostorder());
+      }
+      return statementSet.contains(s);
+    }
+
+    private Set<String> getNames() {
+      if (nameSet == null) {
+        nameSet = new HashSet<>(parameterMap.keySet());
+        for (Statement statement : cfg.getReversePostorder()) {
+          nameSet.addAll(getKills(statement).keySet());
+        }
+      }
+      return nameSet;
+    }
+  }
+}
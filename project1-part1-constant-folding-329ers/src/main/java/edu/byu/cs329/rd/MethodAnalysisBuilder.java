@@ -0,0 +1,195 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.utils.ExceptionUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+
+/**
+ * Builds the control flow graph and reaching definitions of many methods
+ * in parallel.
+ *
+ * <p>The methods are split across a ForkJoinPool and each one is analyzed on
+ * its own, so a class with many methods uses every core. The analyses only
+ * read the tree, and the tree must not change until build returns. The
+ * results come back in the order the methods appear in the source.
+ *
+ * <p>The mode decides whether the reaching definitions are all found when
+ * a method is analyzed or only when they are asked for.
+ */
+public class MethodAnalysisBuilder {
+
+  private final ForkJoinPool pool;
+  private final ReachingDefinitionsMode mode;
+  private final ControlFlowGraphBuilder cfgBuilder = new ControlFlowGraphBuilder();
+  private final ReachingDefinitionsBuilder rdBuilder = new ReachingDefinitionsBuilder();
+  private final DemandReachingDefinitionsBuilder demandRdBuilder =
+          new DemandReachingDefinitionsBuilder();
+
+  /**
+   * The control flow graph and reaching definitions of one method.
+   */
+  public static class MethodAnalysis {
+    private final MethodDeclaration methodDeclaration;
+    private final ControlFlowGraph controlFlowGraph;
+    private final ReachingDefinitions reachingDefinitions;
+
+    MethodAnalysis(MethodDeclaration methodDeclaration, ControlFlowGraph controlFlowGraph,
+                   ReachingDefinitions reachingDefinitions) {
+      this.methodDeclaration = methodDeclaration;
+      this.controlFlowGraph = controlFlowGraph;
+      this.reachingDefinitions = reachingDefinitions;
+    }
+
+    public MethodDeclaration getMethodDeclaration() {
+      return methodDeclaration;
+    }
+
+    public ControlFlowGraph getControlFlowGraph() {
+      return controlFlowGraph;
+    }
+
+    public ReachingDefinitions getReachingDefinitions() {
+      return reachingDefinitions;
+    }
+  }
+
+  /**
+   * Creates a builder that runs in the common pool.
+   */
+  public MethodAnalysisBuilder() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a builder that runs in the given pool.
+   *
+   * @param pool the pool to run the analyses in.
+   * @requires pool != null
+   */
+  public MethodAnalysisBuilder(ForkJoinPool pool) {
+    this(pool, ReachingDefinitionsMode.FULL);
+  }
+
+  /**
+   * Creates a builder that runs in the common pool with the given mode.
+   *
+   * @param mode how the reaching definitions are computed.
+   * @requires mode != null
+   */
+  public MethodAnalysisBuilder(ReachingDefinitionsMode mode) {
+    this(ForkJoinPool.commonPool(), mode);
+  }
+
+  /**
+   * Creates a builder that runs in the given pool with the given mode.
+   *
+   * @param pool the pool to run the analyses in.
+   * @param mode how the reaching definitions are computed.
+   * @requires pool != null
+   * @requires mode != null
+   */
+  public MethodAnalysisBuilder(ForkJoinPool pool, ReachingDefinitionsMode mode) {
+    ExceptionUtils.requiresNonNull(pool, "Null pool passed to MethodAnalysisBuilder");
+    ExceptionUtils.requiresNonNull(mode, "Null mode passed to MethodAnalysisBuilder");
+    this.pool = pool;
+    this.mode = mode;
+  }
+
+  /**
+   * Analyzes every method under a node.
+   *
+   * @param node the compilation unit or any node with methods under it.
+   * @return the analysis of each method in source order.
+   * @requires node != null
+   */
+  public List<MethodAnalysis> build(ASTNode node) {
+    ExceptionUtils.requiresNonNull(node, "Null node passed to MethodAnalysisBuilder.build");
+    return build(getMethodDeclarations(node));
+  }
+
+  /**
+   * Analyzes each method in a list.
+   *
+   * @param methodDeclarationList the methods to analyze.
+   * @return the analysis of each method in the order of the list.
+   * @requires methodDeclarationList != null
+   */
+  public List<MethodAnalysis> build(List<MethodDeclaration> methodDeclarationList) {
+    ExceptionUtils.requiresNonNull(methodDeclarationList,
+            "Null list passed to MethodAnalysisBuilder.build");
+    MethodDeclaration[] methods = methodDeclarationList.toArray(new MethodDeclaration[0]);
+    MethodAnalysis[] results = new MethodAnalysis[methods.length];
+    if (methods.length == 1) {
+      results[0] = analyze(methods[0]);
+    } else if (methods.length > 1) {
+      pool.invoke(new AnalyzeAction(methods, results, 0, methods.length));
+    }
+    return Collections.unmodifiableList(Arrays.asList(results));
+  }
+
+  /**
+   * Gets every method under a node in source order.
+   *
+   * @param node the root node.
+   * @return the methods under node.
+   */
+  public static List<MethodDeclaration> getMethodDeclarations(ASTNode node) {
+    List<MethodDeclaration> methodDeclarationList = new ArrayList<>();
+    node.accept(new ASTVisitor() {
+      @Override
+      public boolean visit(MethodDeclaration methodDeclaration) {
+        methodDeclarationList.add(methodDeclaration);
+        return true;
+      }
+    });
+    return methodDeclarationList;
+  }
+
+  private MethodAnalysis analyze(MethodDeclaration methodDeclaration) {
+    ControlFlowGraph methodCfg = null;
+    for (ControlFlowGraph cfg : cfgBuilder.build(methodDeclaration)) {
+      if (cfg.getMethodDeclaration() == methodDeclaration) {
+        methodCfg = cfg;
+      }
+    }
+    ReachingDefinitions reachingDefinitions = mode == ReachingDefinitionsMode.DEMAND
+            ? demandRdBuilder.build(methodCfg) : rdBuilder.build(methodCfg);
+    return new MethodAnalysis(methodDeclaration, methodCfg, reachingDefinitions);
+  }
+
+  private final class AnalyzeAction extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final MethodDeclaration[] methods;
+    private final MethodAnalysis[] results;
+    private final int from;
+    private final int to;
+
+    AnalyzeAction(MethodDeclaration[] methods, MethodAnalysis[] results, int from, int to) {
+      this.methods = methods;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        results[from] = analyze(methods[from]);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new AnalyzeAction(methods, results, from, middle),
+              new AnalyzeAction(methods, results, middle, to));
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package edu.byu.cs329.rd;
 
+import java.util.LinkedHashSet;
 import java.util.Set;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.Statement;
@@ -8,8 +9,88 @@ public interface ReachingDefinitions {
 
   public Set<Definition> getReachingDefinitions(final Statement s);
 
+  /**
+   * Gets the definitions of one variable that reach a statement.
+   *
+   * <p>The default filters the definitions of every variable. A builder that
+   * can answer for one variable alone overrides it.
+   *
+   * @param s the statement.
+   * @param name the name of the variable.
+   * @return the definitions of name that reach s in the order of
+   *         getReachingDefinitions(s), or null if s is not in the graph.
+   */
+  public default Set<Definition> getReachingDefinitions(final Statement s, final String name) {
+    Set<Definition> definitions = getReachingDefinitions(s);
+    if (definitions == null) {
+      return null;
+    }
+    Set<Definition> result = new LinkedHashSet<>();
+    for (Definition definition : definitions) {
+      if (definition.getName() != null && definition.getName().getIdentifier().equals(name)) {
+        result.add(definition);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A variable and the statement that defines it.
+   *
+   * <p>Definitions are made by a DefinitionFactory and interned, so there is
+   * one instance for each variable and statement in a method and they can be
+   * compared by identity. They also carry the dense ids the factory gave
+   * them.
+   */
   public static class Definition {
-    public SimpleName name;
-    public Statement statement;
+    public static final int NO_ID = -1;
+
+    private final SimpleName name;
+    private final Statement statement;
+    private final int variable;
+    private final int index;
+
+    Definition(SimpleName name, Statement statement, int variable, int index) {
+      this.name = name;
+      this.statement = statement;
+      this.variable = variable;
+      this.index = index;
+    }
+
+    /**
+     * Gets the name being defined.
+     *
+     * @return the name.
+     */
+    public SimpleName getName() {
+      return name;
+    }
+
+    /**
+     * Gets the defining statement.
+     *
+     * @return the statement, or null for a parameter.
+     */
+    public Statement getStatement() {
+      return statement;
+    }
+
+    /**
+     * Gets the id of the variable defined.
+     *
+     * @return the id the factory gave the variable.
+     */
+    public int getVariable() {
+      return variable;
+    }
+
+    /**
+     * Gets the id of the definition.
+     *
+     * @return the position of the definition in its factory.
+     */
+    public int getIndex() {
+      return index;
+    }
   }
 }
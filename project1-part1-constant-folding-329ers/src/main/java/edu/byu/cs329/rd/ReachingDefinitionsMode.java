@@ -0,0 +1,19 @@
+package edu.byu.cs329.rd;
+
+/**
+ * How a MethodAnalysisBuilder computes the reaching definitions of a method.
+ */
+public enum ReachingDefinitionsMode {
+  /**
+   * Every definition at every statement is found up front by
+   * ReachingDefinitionsBuilder, so each question is a lookup.
+   */
+  FULL,
+
+  /**
+   * Nothing is found up front. DemandReachingDefinitionsBuilder answers
+   * each question for one variable at one statement when it is first
+   * asked, so a method with few uses of a constant does little work.
+   */
+  DEMAND
+}
@@ -63,7 +63,7 @@ public class ControlFlowAndReachingDefinitionsIntegrationTest {
 
   private boolean doesDefineStatement(String name, final Set<Definition> definitions) {
     for (Definition definition : definitions) {
-      if (definition.name.getIdentifier().equals(name) && definition.statement != null) {
+      if (definition.getName().getIdentifier().equals(name) && definition.getStatement() != null) {
         return true;
       }
     }
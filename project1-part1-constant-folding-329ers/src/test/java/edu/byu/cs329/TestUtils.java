@@ -3,10 +3,15 @@ package edu.byu.cs329;
 import edu.byu.cs329.constantfolding.ConstantFolding;
 import edu.byu.cs329.constantfolding.Folding;
 import edu.byu.cs329.constantpropagation.ConstantPropagation;
+import edu.byu.cs329.rd.ReachingDefinitionsMode;
+import edu.byu.cs329.utils.JavaSourceParser;
 import edu.byu.cs329.utils.JavaSourceUtils;
 import java.net.URI;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
 import org.eclipse.jdt.core.dom.ASTMatcher;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,8 +54,13 @@ public class TestUtils extends JavaSourceUtils {
   }
 
   public static void assertDidPropagate(final Object t, String rawName, String expectedName) {
+    assertDidPropagate(t, rawName, expectedName, ReachingDefinitionsMode.FULL);
+  }
+
+  public static void assertDidPropagate(final Object t, String rawName, String expectedName,
+                                        ReachingDefinitionsMode mode) {
     ASTNode root = getASTNodeFor(t, rawName);
-    boolean didPropagate = ConstantPropagation.propagate(root);
+    boolean didPropagate = ConstantPropagation.propagate(root, mode);
     log.debug(root.toString());
     assertTrue(didPropagate);
     ASTNode expected = getASTNodeFor(t, expectedName);
@@ -64,4 +74,39 @@ public class TestUtils extends JavaSourceUtils {
     assertTrue(expected.subtreeMatch(new ASTMatcher(), root));
   }
 
+  /**
+   * Parses a method that returns a chain of depth additions nested in
+   * parentheses, as in ((first + 1) + 1).
+   */
+  public static ASTNode parseDeepChain(String first, int depth) throws Exception {
+    String source = "class Chain {\n  int chain(int x) {\n    return "
+            + "(".repeat(depth) + first + " + 1)".repeat(depth) + ";\n  }\n}\n";
+    return runWithDeepStack(() -> new JavaSourceParser().parse(source.toCharArray()));
+  }
+
+  /**
+   * Counts the nodes in the tree under root, including root.
+   */
+  public static int countNodes(ASTNode root) {
+    int[] count = {0};
+    root.accept(new ASTVisitor() {
+      @Override
+      public void preVisit(ASTNode node) {
+        ++count[0];
+      }
+    });
+    return count[0];
+  }
+
+  /**
+   * Runs the task on a thread with a stack deep enough for the JDT parser
+   * and visitors to recurse through a deep chain.
+   */
+  public static <T> T runWithDeepStack(Callable<T> task) throws Exception {
+    FutureTask<T> future = new FutureTask<>(task);
+    Thread thread = new Thread(null, future, "deep-stack", 256L * 1024 * 1024);
+    thread.start();
+    thread.join();
+    return future.get();
+  }
 }
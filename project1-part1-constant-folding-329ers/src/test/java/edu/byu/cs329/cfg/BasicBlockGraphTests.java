@@ -0,0 +1,161 @@
+package edu.byu.cs329.cfg;
+
+import edu.byu.cs329.TestUtils;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.IfStatement;
+import org.eclipse.jdt.core.dom.Statement;
+import org.eclipse.jdt.core.dom.WhileStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for BasicBlockGraph")
+public class BasicBlockGraphTests {
+  ControlFlowGraphBuilder builder = null;
+
+  @BeforeEach
+  void beforeEach() {
+    builder = new ControlFlowGraphBuilder();
+  }
+
+  BasicBlockGraph init(String fileName) {
+    ASTNode node = TestUtils.getASTNodeFor(this, fileName);
+    List<BasicBlockGraph> blockGraphList = builder.buildBasicBlocks(node);
+    assertEquals(1, blockGraphList.size());
+    return blockGraphList.get(0);
+  }
+
+  Set<Statement> getSuccs(ControlFlowGraph cfg, Statement s) {
+    Set<Statement> succs = cfg.getSuccs(s);
+    return succs == null ? Set.of() : succs;
+  }
+
+  Set<Statement> getPreds(ControlFlowGraph cfg, Statement s) {
+    Set<Statement> preds = cfg.getPreds(s);
+    return preds == null ? Set.of() : preds;
+  }
+
+  void assertBlocksMatchStatements(BasicBlockGraph blocks) {
+    ControlFlowGraph cfg = blocks.getControlFlowGraph();
+    List<Statement> order = cfg.getReversePostorder();
+    assertEquals(order.size(), blocks.getStatementCount());
+    assertEquals(0, blocks.getBlock(cfg.getStart()));
+    assertEquals(0, blocks.getIndexInBlock(cfg.getStart()));
+
+    Set<Statement> seen = new HashSet<>();
+    for (int block = 0; block < blocks.size(); ++block) {
+      List<Statement> statements = blocks.getStatements(block);
+      assertTrue(statements.size() > 0);
+      for (int k = 0; k < statements.size(); ++k) {
+        Statement statement = statements.get(k);
+        assertTrue(seen.add(statement));
+        assertSame(statement, blocks.getStatement(block, k));
+        assertEquals(block, blocks.getBlock(statement));
+        assertEquals(k, blocks.getIndexInBlock(statement));
+        if (k > 0) {
+          // Only way in is from the statement before
+          assertEquals(Set.of(statements.get(k - 1)), getPreds(cfg, statement));
+          assertEquals(Set.of(statement), getSuccs(cfg, statements.get(k - 1)));
+        }
+      }
+
+      Set<Integer> succs = new HashSet<>();
+      for (Statement succ : getSuccs(cfg, statements.get(statements.size() - 1))) {
+        assertEquals(0, blocks.getIndexInBlock(succ));
+        succs.add(blocks.getBlock(succ));
+      }
+      Set<Integer> blockSuccs = new HashSet<>();
+      for (int k = 0; k < blocks.getSuccCount(block); ++k) {
+        blockSuccs.add(blocks.getSucc(block, k));
+      }
+      assertEquals(succs, blockSuccs);
+
+      Set<Integer> preds = new HashSet<>();
+      for (Statement pred : getPreds(cfg, statements.get(0))) {
+        preds.add(blocks.getBlock(pred));
+      }
+      Set<Integer> blockPreds = new HashSet<>();
+      for (int k = 0; k < blocks.getPredCount(block); ++k) {
+        blockPreds.add(blocks.getPred(block, k));
+      }
+      assertEquals(preds, blockPreds);
+    }
+    assertEquals(new HashSet<>(order), seen);
+  }
+
+  @Test
+  @DisplayName("Should make one block when the method is straight-line")
+  void should_MakeOneBlock_when_StraightLine() {
+    BasicBlockGraph blocks = init("cfgInputs/should_LinkAll_when_BlockHasNoReturn.java");
+    ControlFlowGraph cfg = blocks.getControlFlowGraph();
+    assertAll("Straight-line method",
+            () -> assertEquals(1, blocks.size()),
+            () -> assertEquals(3, blocks.getStatementCount(0)),
+            () -> assertSame(cfg.getStart(), blocks.getStatement(0, 0)),
+            () -> assertSame(cfg.getEnd(), blocks.getStatement(0, 2)),
+            () -> assertEquals(0, blocks.getSuccCount(0)),
+            () -> assertEquals(0, blocks.getPredCount(0))
+    );
+    assertBlocksMatchStatements(blocks);
+  }
+
+  @Test
+  @DisplayName("Should make one block when the method is empty")
+  void should_MakeOneBlock_when_EmptyMethodDeclaration() {
+    BasicBlockGraph blocks =
+            init("cfgInputs/should_SetStartAndEndSame_when_EmptyMethodDeclaration.java");
+    assertEquals(1, blocks.size());
+    assertEquals(1, blocks.getStatementCount(0));
+    assertBlocksMatchStatements(blocks);
+  }
+
+  @Test
+  @DisplayName("Should split blocks when branching and merging")
+  void should_SplitBlocks_when_ThenAndElse() {
+    BasicBlockGraph blocks = init("cfgInputs/should_BranchAndMerge_when_ThenAndElse.java");
+    // The first block ends at the if
+    assertTrue(blocks.getStatement(0, blocks.getStatementCount(0) - 1) instanceof IfStatement);
+    assertTrue(blocks.getSuccCount(0) > 1);
+    assertBlocksMatchStatements(blocks);
+    assertBlocksMatchStatements(init("cfgInputs/should_ConnectToEnd_when_ReturnInElse.java"));
+  }
+
+  @Test
+  @DisplayName("Should start a block at the loop when looping")
+  void should_StartBlockAtLoop_when_Looping() {
+    BasicBlockGraph blocks = init("cfgInputs/should_LoopBack_when_NoReturnInWhile.java");
+    assertBlocksMatchStatements(blocks);
+    for (int block = 0; block < blocks.size(); ++block) {
+      for (int k = 1; k < blocks.getStatementCount(block); ++k) {
+        assertTrue(!(blocks.getStatement(block, k) instanceof WhileStatement));
+      }
+    }
+    assertBlocksMatchStatements(init("cfgInputs/should_AddSelfLoop_when_NoStatementsInWhile.java"));
+    assertBlocksMatchStatements(init("cfgInputs/should_ConnectToEnd_when_ReturnInWhile.java"));
+  }
+
+  @Test
+  @DisplayName("Should match the statement edges when integrated")
+  void should_MatchStatementEdges_when_Integrated() {
+    BasicBlockGraph blocks = init("cfgInputs/CFGIntegration.java");
+    assertTrue(blocks.size() < blocks.getStatementCount());
+    assertBlocksMatchStatements(blocks);
+  }
+
+  @Test
+  @DisplayName("Should return -1 when the statement is not in the graph")
+  void should_ReturnNegative_when_NotInGraph() {
+    BasicBlockGraph blocks = init("cfgInputs/CFGIntegration.java");
+    Statement other = blocks.getControlFlowGraph().getStart().getAST().newEmptyStatement();
+    assertEquals(-1, blocks.getBlock(other));
+    assertEquals(-1, blocks.getIndexInBlock(other));
+  }
+}
@@ -0,0 +1,142 @@
+package edu.byu.cs329.cfg;
+
+import edu.byu.cs329.TestUtils;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for CompactControlFlowGraph")
+public class CompactControlFlowGraphTests {
+  ControlFlowGraphBuilder builder = null;
+
+  @BeforeEach
+  void beforeEach() {
+    builder = new ControlFlowGraphBuilder();
+  }
+
+  Set<Statement> getReachable(ControlFlowGraph cfg) {
+    Set<Statement> reachable = new HashSet<>();
+    Deque<Statement> stack = new ArrayDeque<>();
+    reachable.add(cfg.getStart());
+    stack.push(cfg.getStart());
+    while (!stack.isEmpty()) {
+      Set<Statement> succs = cfg.getSuccs(stack.pop());
+      if (succs == null) {
+        continue;
+      }
+      for (Statement succ : succs) {
+        if (reachable.add(succ)) {
+          stack.push(succ);
+        }
+      }
+    }
+    return reachable;
+  }
+
+  void assertSameGraph(String fileName) {
+    ASTNode node = TestUtils.getASTNodeFor(this, fileName);
+    List<ControlFlowGraph> cfgList = builder.build(node);
+    List<CompactControlFlowGraph> compactList = builder.buildCompact(node);
+    assertEquals(cfgList.size(), compactList.size());
+
+    for (int i = 0; i < cfgList.size(); ++i) {
+      ControlFlowGraph cfg = cfgList.get(i);
+      CompactControlFlowGraph compact = compactList.get(i);
+      assertAll("Same start, end, and method",
+              () -> assertSame(cfg.getStart(), compact.getStart()),
+              () -> assertSame(cfg.getEnd(), compact.getEnd()),
+              () -> assertSame(cfg.getMethodDeclaration(), compact.getMethodDeclaration()),
+              () -> assertEquals(0, compact.getIndex(compact.getStart()))
+      );
+
+      Set<Statement> reachable = getReachable(cfg);
+      assertEquals(reachable.size(), compact.size());
+      for (Statement statement : reachable) {
+        assertEquals(cfg.getSuccs(statement), compact.getSuccs(statement));
+        assertEquals(cfg.getPreds(statement), compact.getPreds(statement));
+
+        int index = compact.getIndex(statement);
+        assertSame(statement, compact.getStatement(index));
+        Set<Statement> succs = new HashSet<>();
+        for (int k = 0; k < compact.getSuccCount(index); ++k) {
+          succs.add(compact.getStatement(compact.getSucc(index, k)));
+        }
+        Set<Statement> preds = new HashSet<>();
+        for (int k = 0; k < compact.getPredCount(index); ++k) {
+          preds.add(compact.getStatement(compact.getPred(index, k)));
+        }
+        assertEquals(cfg.getSuccs(statement) == null ? Set.of() : cfg.getSuccs(statement), succs);
+        assertEquals(cfg.getPreds(statement) == null ? Set.of() : cfg.getPreds(statement), preds);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should have the same edges as the map graph when the method is empty")
+  void should_HaveSameEdges_when_EmptyMethodDeclaration() {
+    assertSameGraph("cfgInputs/should_SetStartAndEndSame_when_EmptyMethodDeclaration.java");
+  }
+
+  @Test
+  @DisplayName("Should have the same edges as the map graph when branching and merging")
+  void should_HaveSameEdges_when_ThenAndElse() {
+    assertSameGraph("cfgInputs/should_BranchAndMerge_when_ThenAndElse.java");
+    assertSameGraph("cfgInputs/should_ConnectToEnd_when_ReturnInElse.java");
+  }
+
+  @Test
+  @DisplayName("Should have the same edges as the map graph when looping")
+  void should_HaveSameEdges_when_Looping() {
+    assertSameGraph("cfgInputs/should_AddSelfLoop_when_NoStatementsInWhile.java");
+    assertSameGraph("cfgInputs/should_LoopBack_when_NoReturnInWhile.java");
+    assertSameGraph("cfgInputs/should_ConnectToEnd_when_ReturnInWhile.java");
+  }
+
+  @Test
+  @DisplayName("Should have the same edges as the map graph when integrated")
+  void should_HaveSameEdges_when_Integrated() {
+    assertSameGraph("cfgInputs/CFGIntegration.java");
+  }
+
+  @Test
+  @DisplayName("Should return null when the statement has no edges or is not in the graph")
+  void should_ReturnNull_when_NoEdgesOrNotInGraph() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "cfgInputs/CFGIntegration.java");
+    CompactControlFlowGraph compact = builder.buildCompact(node).get(0);
+    Statement other = compact.getStart().getAST().newEmptyStatement();
+    assertAll("Null for missing edges",
+            () -> assertNull(compact.getPreds(compact.getStart())),
+            () -> assertNull(compact.getSuccs(compact.getEnd())),
+            () -> assertNull(compact.getSuccs(other)),
+            () -> assertEquals(-1, compact.getIndex(other))
+    );
+  }
+
+  @Test
+  @DisplayName("Should copy any graph when converting")
+  void should_CopyAnyGraph_when_Converting() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "cfgInputs/CFGIntegration.java");
+    ControlFlowGraph cfg = builder.build(node).get(0);
+    CompactControlFlowGraph compact = CompactControlFlowGraph.of(cfg);
+    for (Statement statement : getReachable(cfg)) {
+      assertEquals(cfg.getSuccs(statement), compact.getSuccs(statement));
+      assertEquals(cfg.getPreds(statement), compact.getPreds(statement));
+    }
+    assertSame(compact, CompactControlFlowGraph.of(compact));
+    assertTrue(compact.getSuccs(compact.getStart()).contains(
+            cfg.getSuccs(cfg.getStart()).iterator().next()));
+  }
+}
@@ -1,9 +1,12 @@
 package edu.byu.cs329.cfg;
 
 import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.utils.JavaSourceParser;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Statement;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -278,4 +281,81 @@ public class ControlFlowBuilderTests {
     // If statement should have edge to statement after if block
     assertTrue(hasEdge(ifStatement, finalReturnStatement));
   }
+
+  void assertReversePostorder(ControlFlowGraph cfg) {
+    List<Statement> order = cfg.getReversePostorder();
+    assertEquals(cfg.getStart(), order.get(0));
+    Set<Statement> seen = new HashSet<>();
+    for (Statement statement : order) {
+      assertTrue(seen.add(statement));
+      Set<Statement> succs = cfg.getSuccs(statement);
+      if (succs != null) {
+        assertTrue(order.containsAll(succs));
+      }
+      if (statement != cfg.getStart()) {
+        // The parent in the depth first search always comes first
+        assertTrue(cfg.getPreds(statement).stream().anyMatch(seen::contains));
+      }
+    }
+  }
+
+  @Test
+  @Tag("ReversePostorder")
+  @DisplayName("Should list reachable statements in reverse post-order when branching and looping")
+  void should_ListReversePostorder_when_BranchingAndLooping() {
+    init("cfgInputs/CFGIntegration.java");
+    assertReversePostorder(controlFlowGraph);
+    assertTrue(controlFlowGraph.getReversePostorder().contains(controlFlowGraph.getEnd()));
+
+    ControlFlowGraph defaultOrder = new ControlFlowGraph() {
+      @Override
+      public Statement getStart() {
+        return controlFlowGraph.getStart();
+      }
+
+      @Override
+      public Statement getEnd() {
+        return controlFlowGraph.getEnd();
+      }
+
+      @Override
+      public MethodDeclaration getMethodDeclaration() {
+        return controlFlowGraph.getMethodDeclaration();
+      }
+
+      @Override
+      public Set<Statement> getSuccs(Statement s) {
+        return controlFlowGraph.getSuccs(s);
+      }
+
+      @Override
+      public Set<Statement> getPreds(Statement s) {
+        return controlFlowGraph.getPreds(s);
+      }
+    };
+    assertReversePostorder(defaultOrder);
+    assertEquals(new HashSet<>(controlFlowGraph.getReversePostorder()),
+            new HashSet<>(defaultOrder.getReversePostorder()));
+  }
+
+  @Test
+  @Tag("ReversePostorder")
+  @DisplayName("Should not overflow the stack when the method is very long")
+  void should_NotOverflowStack_when_MethodIsVeryLong() {
+    int count = 50000;
+    StringBuilder source = new StringBuilder("public class C {\n  int m(int a) {\n");
+    for (int i = 0; i < count; ++i) {
+      source.append("    a = a + 1;\n");
+    }
+    source.append("    return a;\n  }\n}\n");
+    ASTNode node = new JavaSourceParser().parse(source.toString().toCharArray());
+
+    List<ControlFlowGraph> cfgList = unitUnderTest.build(node);
+    assertEquals(1, cfgList.size());
+    List<Statement> order = cfgList.get(0).getReversePostorder();
+    // Every statement, the return, and the end
+    assertEquals(count + 2, order.size());
+    assertEquals(cfgList.get(0).getStart(), order.get(0));
+    assertEquals(cfgList.get(0).getEnd(), order.get(count + 1));
+  }
 }
@@ -0,0 +1,143 @@
+package edu.byu.cs329.cfg;
+
+import edu.byu.cs329.TestUtils;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for DominatorTree")
+public class DominatorTreeTests {
+  ControlFlowGraph controlFlowGraph = null;
+  StatementTracker statementTracker = null;
+  Statement declaration = null;
+  Statement ifStatement = null;
+  Statement whileStatement = null;
+  Statement whileBody = null;
+  Statement elseStatement = null;
+  Statement returnStatement = null;
+  Statement end = null;
+
+  @BeforeEach
+  void beforeEach() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "cfgInputs/CFGIntegration.java");
+    List<ControlFlowGraph> cfgList = new ControlFlowGraphBuilder().build(node);
+    assertEquals(1, cfgList.size());
+    controlFlowGraph = cfgList.get(0);
+    statementTracker = new StatementTracker(node);
+
+    // x = 1 + 2; if (x > 3) { while (x < 10) { x = x + 1; } } else { x = x - 1; } return x;
+    declaration = statementTracker.getVariableDeclarationStatement(0);
+    ifStatement = statementTracker.getIfStatement(0);
+    whileStatement = statementTracker.getWhileStatement(0);
+    whileBody = statementTracker.getExpressionStatement(0);
+    elseStatement = statementTracker.getExpressionStatement(1);
+    returnStatement = statementTracker.getReturnStatement(0);
+    end = controlFlowGraph.getEnd();
+  }
+
+  @Test
+  @DisplayName("Should find immediate dominators when branching and looping")
+  void should_FindImmediateDominators_when_BranchingAndLooping() {
+    DominatorTree tree = DominatorTree.dominators(controlFlowGraph);
+    assertAll("Immediate dominators",
+            () -> assertFalse(tree.isPostDominatorTree()),
+            () -> assertSame(declaration, tree.getRoot()),
+            () -> assertNull(tree.getImmediateDominator(declaration)),
+            () -> assertSame(declaration, tree.getImmediateDominator(ifStatement)),
+            () -> assertSame(ifStatement, tree.getImmediateDominator(whileStatement)),
+            () -> assertSame(whileStatement, tree.getImmediateDominator(whileBody)),
+            () -> assertSame(ifStatement, tree.getImmediateDominator(elseStatement)),
+            () -> assertSame(ifStatement, tree.getImmediateDominator(returnStatement)),
+            () -> assertSame(returnStatement, tree.getImmediateDominator(end)),
+            () -> assertEquals(Set.of(whileStatement, elseStatement, returnStatement),
+                    Set.copyOf(tree.getChildren(ifStatement)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should answer dominates when branching and looping")
+  void should_AnswerDominates_when_BranchingAndLooping() {
+    DominatorTree tree = DominatorTree.dominators(controlFlowGraph);
+    Statement other = declaration.getAST().newEmptyStatement();
+    assertAll("Dominates",
+            () -> assertTrue(tree.dominates(declaration, end)),
+            () -> assertTrue(tree.dominates(ifStatement, whileBody)),
+            () -> assertTrue(tree.dominates(whileStatement, whileBody)),
+            () -> assertTrue(tree.dominates(whileStatement, whileStatement)),
+            () -> assertFalse(tree.strictlyDominates(whileStatement, whileStatement)),
+            () -> assertFalse(tree.dominates(whileBody, whileStatement)),
+            () -> assertFalse(tree.dominates(whileStatement, returnStatement)),
+            () -> assertFalse(tree.dominates(elseStatement, returnStatement)),
+            () -> assertFalse(tree.dominates(elseStatement, whileStatement)),
+            () -> assertFalse(tree.dominates(other, end)),
+            () -> assertFalse(tree.contains(other))
+    );
+  }
+
+  @Test
+  @DisplayName("Should find dominance frontiers when branching and looping")
+  void should_FindDominanceFrontiers_when_BranchingAndLooping() {
+    DominatorTree tree = DominatorTree.dominators(controlFlowGraph);
+    assertAll("Dominance frontiers",
+            () -> assertEquals(Set.of(), Set.copyOf(tree.getDominanceFrontier(declaration))),
+            () -> assertEquals(Set.of(), Set.copyOf(tree.getDominanceFrontier(ifStatement))),
+            () -> assertEquals(Set.of(whileStatement),
+                    Set.copyOf(tree.getDominanceFrontier(whileBody))),
+            () -> assertEquals(Set.of(whileStatement, returnStatement),
+                    Set.copyOf(tree.getDominanceFrontier(whileStatement))),
+            () -> assertEquals(Set.of(returnStatement),
+                    Set.copyOf(tree.getDominanceFrontier(elseStatement)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should find post-dominators and control dependence when branching and looping")
+  void should_FindPostDominators_when_BranchingAndLooping() {
+    DominatorTree tree = DominatorTree.postDominators(controlFlowGraph);
+    assertAll("Post-dominators",
+            () -> assertTrue(tree.isPostDominatorTree()),
+            () -> assertSame(end, tree.getRoot()),
+            () -> assertSame(returnStatement, tree.getImmediateDominator(ifStatement)),
+            () -> assertSame(returnStatement, tree.getImmediateDominator(whileStatement)),
+            () -> assertSame(whileStatement, tree.getImmediateDominator(whileBody)),
+            () -> assertSame(returnStatement, tree.getImmediateDominator(elseStatement)),
+            () -> assertSame(ifStatement, tree.getImmediateDominator(declaration)),
+            () -> assertTrue(tree.dominates(returnStatement, declaration)),
+            () -> assertFalse(tree.dominates(whileStatement, ifStatement)),
+            () -> assertEquals(Set.of(ifStatement),
+                    Set.copyOf(tree.getDominanceFrontier(elseStatement))),
+            () -> assertEquals(Set.of(whileStatement),
+                    Set.copyOf(tree.getDominanceFrontier(whileBody))),
+            () -> assertEquals(Set.of(ifStatement, whileStatement),
+                    Set.copyOf(tree.getDominanceFrontier(whileStatement)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should make the root dominate itself only when the method is empty")
+  void should_HaveOnlyRoot_when_EmptyMethodDeclaration() {
+    ASTNode node = TestUtils.getASTNodeFor(this,
+            "cfgInputs/should_SetStartAndEndSame_when_EmptyMethodDeclaration.java");
+    ControlFlowGraph cfg = new ControlFlowGraphBuilder().build(node).get(0);
+    DominatorTree tree = DominatorTree.dominators(cfg);
+    DominatorTree postTree = DominatorTree.postDominators(cfg);
+    assertAll("Only the root",
+            () -> assertSame(cfg.getStart(), tree.getRoot()),
+            () -> assertSame(cfg.getEnd(), postTree.getRoot()),
+            () -> assertTrue(tree.getChildren(tree.getRoot()).isEmpty()),
+            () -> assertTrue(tree.dominates(tree.getRoot(), tree.getRoot())),
+            () -> assertTrue(tree.getDominanceFrontier(tree.getRoot()).isEmpty())
+    );
+  }
+}
@@ -0,0 +1,108 @@
+package edu.byu.cs329.constantfolding;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.StatementTracker;
+import edu.byu.cs329.utils.RewriteTransaction;
+import java.net.URI;
+import org.eclipse.jdt.core.dom.ASTMatcher;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for folding nested Blocks")
+public class BlockFoldingTests {
+  BlockFolding folderUnderTest = null;
+
+  @BeforeEach
+  void beforeEach() {
+    folderUnderTest = new BlockFolding();
+  }
+
+  @Test
+  @DisplayName("Should throw RuntimeException when root is not a CompilationUnit and has no parent")
+  void should_ThrowRuntimeException_when_RootIsNotACompilationUnitAndHasNoParent() {
+    assertThrows(RuntimeException.class, () -> {
+      URI uri = TestUtils.getUri(this, "");
+      ASTNode compilationUnit = TestUtils.getCompilationUnit(uri);
+      ASTNode root = compilationUnit.getAST().newNullLiteral();
+      folderUnderTest.fold(root);
+    });
+  }
+
+  @Test
+  @DisplayName("Should not fold when no block is directly in a block")
+  void should_NotFold_when_NoNestedBlock() {
+    String rawName = "foldingInputs/block/Should_NotFold_when_NoNestedBlock.java";
+    String expectedName = "foldingInputs/block/Should_NotFold_when_NoNestedBlock.java";
+    TestUtils.assertDidNotFold(this, rawName, expectedName, folderUnderTest);
+  }
+
+  @Test
+  @DisplayName("Should flatten every level when blocks are nested in blocks")
+  void should_FlattenBlock_when_NestedBlock() {
+    String rawName = "foldingInputs/block/Should_FlattenBlock_when_NestedBlock-raw.java";
+    String expectedName = "foldingInputs/block/Should_FlattenBlock_when_NestedBlock-expected.java";
+    TestUtils.assertDidFold(this, rawName, expectedName, folderUnderTest);
+  }
+
+  @Test
+  @DisplayName("Should move the statements of nested blocks when folding instead of copying them")
+  void should_MoveStatements_when_NestedBlock() {
+    ASTNode node = TestUtils.getASTNodeFor(this,
+            "foldingInputs/block/Should_FlattenBlock_when_NestedBlock-raw.java");
+    StatementTracker statementTracker = new StatementTracker(node);
+    Block body = (Block) statementTracker.getBlock(0);
+    Statement declaration = statementTracker.getVariableDeclarationStatement(0);
+    Statement first = statementTracker.getExpressionStatement(0);
+    Statement second = statementTracker.getExpressionStatement(1);
+    Statement returnStatement = statementTracker.getReturnStatement(0);
+
+    assertTrue(folderUnderTest.fold(node));
+    assertAll(
+        () -> assertSame(declaration, body.statements().get(0)),
+        () -> assertSame(first, body.statements().get(1)),
+        () -> assertSame(second, body.statements().get(2)),
+        () -> assertSame(returnStatement, body.statements().get(3)),
+        () -> assertSame(body, second.getParent())
+    );
+  }
+
+  @Test
+  @DisplayName("Should restore the original tree when a committed fold is rolled back")
+  void should_RestoreTree_when_RolledBack() {
+    String rawName = "foldingInputs/block/Should_FlattenBlock_when_NestedBlock-raw.java";
+    String expectedName = "foldingInputs/block/Should_FlattenBlock_when_NestedBlock-expected.java";
+    ASTNode node = TestUtils.getASTNodeFor(this, rawName);
+    StatementTracker statementTracker = new StatementTracker(node);
+    Block body = (Block) statementTracker.getBlock(0);
+    Block outer = (Block) statementTracker.getBlock(1);
+    Block inner = (Block) statementTracker.getBlock(2);
+    Statement second = statementTracker.getExpressionStatement(1);
+
+    RewriteTransaction transaction = new RewriteTransaction();
+    assertTrue(folderUnderTest.foldNode(outer, transaction));
+    assertTrue(folderUnderTest.foldNode(body, transaction));
+    assertFalse(transaction.isEmpty());
+    assertTrue(transaction.commit());
+    assertTrue(TestUtils.getASTNodeFor(this, expectedName).subtreeMatch(new ASTMatcher(), node));
+
+    transaction.rollback();
+    assertAll(
+        () -> assertTrue(TestUtils.getASTNodeFor(this, rawName)
+                .subtreeMatch(new ASTMatcher(), node)),
+        () -> assertSame(body, outer.getParent()),
+        () -> assertSame(outer, inner.getParent()),
+        () -> assertSame(inner, second.getParent()),
+        () -> assertFalse(transaction.commit())
+    );
+  }
+}
@@ -0,0 +1,74 @@
+package edu.byu.cs329.constantfolding;
+
+import edu.byu.cs329.TestUtils;
+import java.net.URI;
+import java.util.List;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Tests for folding constant expressions over every operator")
+public class ConstantExpressionFoldingTests {
+  ConstantExpressionFolding folderUnderTest = null;
+
+  @BeforeEach
+  void beforeEach() {
+    folderUnderTest = new ConstantExpressionFolding();
+  }
+
+  @Test
+  @DisplayName("Should throw RuntimeException when root is null")
+  void should_ThrowRuntimeException_when_RootIsNull() {
+    assertThrows(RuntimeException.class, () -> {
+      folderUnderTest.fold(null);
+    });
+  }
+
+  @Test
+  @DisplayName("Should throw RuntimeException when root is not a CompilationUnit and has no parent")
+  void should_ThrowRuntimeException_when_RootIsNotACompilationUnitAndHasNoParent() {
+    assertThrows(RuntimeException.class, () -> {
+      URI uri = TestUtils.getUri(this, "");
+      ASTNode compilationUnit = TestUtils.getCompilationUnit(uri);
+      ASTNode root = compilationUnit.getAST().newNullLiteral();
+      folderUnderTest.fold(root);
+    });
+  }
+
+  @Test
+  @DisplayName("Should not fold when an operand is not constant or a division is by zero")
+  void should_NotFold_when_NotConstant() {
+    String rawName = "foldingInputs/constantExpression/Should_NotFold_when_NotConstant.java";
+    String expectedName = "foldingInputs/constantExpression/Should_NotFold_when_NotConstant.java";
+    TestUtils.assertDidNotFold(this, rawName, expectedName, folderUnderTest);
+  }
+
+  @Test
+  @DisplayName("Should not fold when a conditional operator skips an operand that is not constant")
+  void should_NotFold_when_ShortCircuitOperandNotConstant() {
+    String rawName = "foldingInputs/constantExpression/Should_NotFold_when_ShortCircuitOperandNotConstant.java";
+    TestUtils.assertDidNotFold(this, rawName, rawName, folderUnderTest);
+    TestUtils.assertDidNotFold(this, rawName, rawName,
+            new WorklistFolding(List.of(folderUnderTest)));
+  }
+
+  @Test
+  @DisplayName("Should fold to the Java value when all operands are constant")
+  void should_FoldToLiteral_when_AllOperandsConstant() {
+    String rawName = "foldingInputs/constantExpression/Should_FoldToLiteral_when_AllOperandsConstant-raw.java";
+    String expectedName = "foldingInputs/constantExpression/Should_FoldToLiteral_when_AllOperandsConstant-expected.java";
+    TestUtils.assertDidFold(this, rawName, expectedName, folderUnderTest);
+  }
+
+  @Test
+  @DisplayName("Should fold to the same values when folding one node at a time")
+  void should_FoldToLiteral_when_FoldingByNode() {
+    String rawName = "foldingInputs/constantExpression/Should_FoldToLiteral_when_AllOperandsConstant-raw.java";
+    String expectedName = "foldingInputs/constantExpression/Should_FoldToLiteral_when_AllOperandsConstant-expected.java";
+    TestUtils.assertDidFold(this, rawName, expectedName,
+            new WorklistFolding(List.of(folderUnderTest)));
+  }
+}
@@ -1,8 +1,15 @@
 package edu.byu.cs329.constantfolding;
 
 import edu.byu.cs329.TestUtils;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @DisplayName("Integration test for constant folding (combined 5 cases)")
 public class ConstantFoldingTests {
@@ -13,4 +20,17 @@ public class ConstantFoldingTests {
     String expectedName = "foldingInputs/constantfolding/ConstantFoldingIntegrated-expected.java";
     TestUtils.assertDidFoldIntegration(this, rawName, expectedName);
   }
+
+  @Test
+  @DisplayName("Should rewrite only the folded spans when writing the folded file")
+  void should_KeepFormatting_when_WritingFile(@TempDir Path tempDir) throws Exception {
+    Path raw = Paths.get(TestUtils.getUri(this,
+            "foldingInputs/constantfolding/ShouldKeepFormatting-raw.java"));
+    Path expected = Paths.get(TestUtils.getUri(this,
+            "foldingInputs/constantfolding/ShouldKeepFormatting-expected.java"));
+    Path output = tempDir.resolve("ShouldKeepFormatting.java");
+    ConstantFolding.main(new String[] {raw.toString(), output.toString()});
+    assertEquals(new String(Files.readAllBytes(expected), StandardCharsets.UTF_8),
+            new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+  }
 }
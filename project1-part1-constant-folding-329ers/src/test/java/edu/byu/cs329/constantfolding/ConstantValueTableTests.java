@@ -0,0 +1,82 @@
+package edu.byu.cs329.constantfolding;
+
+import edu.byu.cs329.TestUtils;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.NumberLiteral;
+import org.eclipse.jdt.core.dom.ParenthesizedExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for ConstantValueTable")
+public class ConstantValueTableTests {
+
+  @Test
+  @DisplayName("Should give a value to every step and one outermost expression when sums are nested")
+  void should_GiveOneOutermost_when_SumsAreNested() {
+    ASTNode node = TestUtils.getASTNodeFor(this,
+            "foldingInputs/numericPlusInfix/Should_FoldToNum_when_NestedPlusInfix-raw.java");
+    ConstantValueTable table = ConstantValueTable.of(node,
+            Collections.singleton(InfixExpression.Operator.PLUS));
+
+    List<Expression> outermostList = table.getOutermost();
+    InfixExpression outer = (InfixExpression) outermostList.get(0);
+    ParenthesizedExpression parenthesized = (ParenthesizedExpression) outer.getRightOperand();
+    InfixExpression inner = (InfixExpression) parenthesized.getExpression();
+    assertAll(
+        () -> assertEquals(3, outermostList.size()),
+        () -> assertEquals(15, table.getValue(outer)),
+        () -> assertEquals(9, table.getValue(parenthesized)),
+        () -> assertEquals(9, table.getValue(inner)),
+        () -> assertEquals(3, table.getValue(outermostList.get(1))),
+        () -> assertNull(table.getValue((Expression) outermostList.get(1).getParent()
+                .getParent())),
+        () -> assertEquals(-2147483647, table.getValue(outermostList.get(2)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should read literals as Java does when literals are not plain decimal ints")
+  void should_ParseLiteralsAsJava_when_LiteralsAreNotDecimal() {
+    AST ast = AST.newAST(AST.JLS3);
+    assertAll(
+        () -> assertEquals(8, ConstantValueTable.parseNumber(ast.newNumberLiteral("010"))),
+        () -> assertEquals(16, ConstantValueTable.parseNumber(ast.newNumberLiteral("0x10"))),
+        () -> assertEquals(-1, ConstantValueTable.parseNumber(ast.newNumberLiteral("0xFFFFFFFF"))),
+        () -> assertEquals(0, ConstantValueTable.parseNumber(ast.newNumberLiteral("0"))),
+        () -> assertEquals(1L, ConstantValueTable.parseNumber(ast.newNumberLiteral("1L"))),
+        () -> assertEquals(-1L, ConstantValueTable.parseNumber(
+                ast.newNumberLiteral("0xFFFFFFFFFFFFFFFFL"))),
+        () -> assertNull(ConstantValueTable.parseNumber(ast.newNumberLiteral("1.5"))),
+        () -> assertNull(ConstantValueTable.parseNumber(ast.newNumberLiteral("2147483648")))
+    );
+  }
+
+  @Test
+  @DisplayName("Should make a negated literal when the value is negative")
+  void should_MakeNegatedLiteral_when_ValueIsNegative() {
+    AST ast = AST.newAST(AST.JLS3);
+    PrefixExpression negative = (PrefixExpression) ConstantValueTable
+            .newLiteral(ast, Integer.MIN_VALUE);
+    PrefixExpression negativeLong = (PrefixExpression) ConstantValueTable
+            .newLiteral(ast, Long.MIN_VALUE);
+    assertAll(
+        () -> assertSame(PrefixExpression.Operator.MINUS, negative.getOperator()),
+        () -> assertEquals("2147483648", ((NumberLiteral) negative.getOperand()).getToken()),
+        () -> assertEquals("9223372036854775808L",
+                ((NumberLiteral) negativeLong.getOperand()).getToken()),
+        () -> assertTrue(ConstantValueTable.newLiteral(ast, 7) instanceof NumberLiteral)
+    );
+  }
+}
@@ -1,13 +1,20 @@
 package edu.byu.cs329.constantfolding;
 
 import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.StatementTracker;
 import java.net.URI;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.IfStatement;
+import org.eclipse.jdt.core.dom.Statement;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Tests for folding Ifs with BooleanLiteral types")
 public class IfBoolFoldingTests {
@@ -68,4 +75,31 @@ public class IfBoolFoldingTests {
     String expectedName = "foldingInputs/ifBool/Should_FoldToElseBlock_when_IfFalse-expected.java";
     TestUtils.assertDidFold(this, rawName, expectedName, folderUnderTest);
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Should fold every level when the taken branch is itself an if with a bool condition")
+  void should_FoldNestedIfs_when_BranchIsIfBool() {
+    String rawName = "foldingInputs/ifBool/Should_FoldNestedIfs_when_BranchIsIfBool-raw.java";
+    String expectedName = "foldingInputs/ifBool/Should_FoldNestedIfs_when_BranchIsIfBool-expected.java";
+    TestUtils.assertDidFold(this, rawName, expectedName, folderUnderTest);
+  }
+
+  @Test
+  @DisplayName("Should move the taken branch into the place of the if statement instead of copying it")
+  void should_MoveBranch_when_IfTrue() {
+    ASTNode node = TestUtils.getASTNodeFor(this,
+            "foldingInputs/ifBool/Should_FoldAndExtractBlock_when_IfTrue-raw.java");
+    StatementTracker statementTracker = new StatementTracker(node);
+    Block body = (Block) statementTracker.getBlock(0);
+    Statement thenStatement = ((IfStatement) statementTracker.getIfStatement(0))
+            .getThenStatement();
+    Statement declaration = statementTracker.getVariableDeclarationStatement(0);
+
+    assertTrue(folderUnderTest.fold(node));
+    assertAll(
+        () -> assertSame(thenStatement, body.statements().get(0)),
+        () -> assertSame(body, thenStatement.getParent()),
+        () -> assertSame(thenStatement, declaration.getParent())
+    );
+  }
+}
@@ -2,12 +2,15 @@ package edu.byu.cs329.constantfolding;
 
 import edu.byu.cs329.TestUtils;
 import java.net.URI;
+import java.util.List;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Tests for folding Numeric Plus Infix Expressions")
 public class NumericPlusInfixFoldingTests {
@@ -68,4 +71,33 @@ public class NumericPlusInfixFoldingTests {
     String expectedName = "foldingInputs/numericPlusInfix/Should_FoldToNum_when_ExtendedPlusInfix-expected.java";
     TestUtils.assertDidFold(this, rawName, expectedName, folderUnderTest);
   }
+
+  @Test
+  @DisplayName("Should fold the whole sum when sums are nested in parentheses")
+  void should_FoldToNum_when_NestedPlusInfix() {
+    String rawName = "foldingInputs/numericPlusInfix/Should_FoldToNum_when_NestedPlusInfix-raw.java";
+    String expectedName = "foldingInputs/numericPlusInfix/Should_FoldToNum_when_NestedPlusInfix-expected.java";
+    TestUtils.assertDidFold(this, rawName, expectedName, folderUnderTest);
+  }
+
+  @Test
+  @DisplayName("Should not fold when an extended operand is not a literal")
+  void should_NotFold_when_ExtendedPlusInfixHasName() {
+    String rawName = "foldingInputs/numericPlusInfix/Should_NotFold_when_ExtendedPlusInfixHasName.java";
+    String expectedName = "foldingInputs/numericPlusInfix/Should_NotFold_when_ExtendedPlusInfixHasName.java";
+    TestUtils.assertDidNotFold(this, rawName, expectedName, folderUnderTest);
+  }
+
+  @Test
+  @DisplayName("Should fold in time linear in depth when a chain of sums is deep")
+  void should_FoldInLinearTime_when_ChainIsDeep() throws Exception {
+    ASTNode root = TestUtils.parseDeepChain("x", 4000);
+    int nodeCount = TestUtils.runWithDeepStack(() -> TestUtils.countNodes(root));
+    WorklistFolding worklistFolding = new WorklistFolding(List.of(folderUnderTest));
+
+    assertFalse(TestUtils.runWithDeepStack(() -> worklistFolding.fold(root)));
+    // Each visit reads only the node and its operands, so the work is
+    // linear when no node is visited twice
+    assertTrue(worklistFolding.getVisitCount() <= nodeCount);
+  }
 }
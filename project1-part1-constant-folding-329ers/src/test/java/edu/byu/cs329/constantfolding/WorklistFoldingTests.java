@@ -0,0 +1,149 @@
+package edu.byu.cs329.constantfolding;
+
+import edu.byu.cs329.TestUtils;
+import java.net.URI;
+import java.util.List;
+import org.eclipse.jdt.core.dom.ASTMatcher;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.InfixExpression;
+import org.eclipse.jdt.core.dom.NumberLiteral;
+import org.eclipse.jdt.core.dom.ReturnStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for folding with a worklist")
+public class WorklistFoldingTests {
+  static final int CHAIN_DEPTH = 4000;
+
+  WorklistFolding folderUnderTest = null;
+
+  List<Folding> newFoldingList() {
+    return List.of(
+            new BlockFolding(),
+            new ParenthesizedExpressionFolding(),
+            new ConstantExpressionFolding(),
+            new IfBoolFolding());
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    folderUnderTest = new WorklistFolding(newFoldingList());
+  }
+
+  @Test
+  @DisplayName("Should throw RuntimeException when root is null")
+  void should_ThrowRuntimeException_when_RootIsNull() {
+    assertThrows(RuntimeException.class, () -> {
+      folderUnderTest.fold(null);
+    });
+  }
+
+  @Test
+  @DisplayName("Should throw RuntimeException when root is not a CompilationUnit and has no parent")
+  void should_ThrowRuntimeException_when_RootIsNotACompilationUnitAndHasNoParent() {
+    assertThrows(RuntimeException.class, () -> {
+      URI uri = TestUtils.getUri(this, "");
+      ASTNode compilationUnit = TestUtils.getCompilationUnit(uri);
+      ASTNode root = compilationUnit.getAST().newNullLiteral();
+      folderUnderTest.fold(root);
+    });
+  }
+
+  @Test
+  @DisplayName("Should not fold when there is nothing to fold")
+  void should_NotFold_when_NothingToFold() {
+    String rawName = "foldingInputs/constantExpression/Should_NotFold_when_NotConstant.java";
+    TestUtils.assertDidNotFold(this, rawName, rawName, folderUnderTest);
+  }
+
+  @Test
+  @DisplayName("Should fold the same as repeating each folding until nothing changes")
+  void should_FoldSameAsRepeatedFoldings_when_Integrated() {
+    String rawName = "foldingInputs/constantfolding/ConstantFoldingIntegrated-raw.java";
+    String expectedName = "foldingInputs/constantfolding/ConstantFoldingIntegrated-expected.java";
+    TestUtils.assertDidFold(this, rawName, expectedName, folderUnderTest);
+
+    ASTNode repeated = TestUtils.getASTNodeFor(this, rawName);
+    boolean isChanged = true;
+    while (isChanged) {
+      isChanged = false;
+      for (Folding folding : newFoldingList()) {
+        isChanged = folding.fold(repeated) || isChanged;
+      }
+    }
+    ASTNode worklist = TestUtils.getASTNodeFor(this, rawName);
+    folderUnderTest.fold(worklist);
+    assertTrue(repeated.subtreeMatch(new ASTMatcher(), worklist));
+  }
+
+  @Test
+  @DisplayName("Should visit each node at most once when folding")
+  void should_VisitEachNodeAtMostOnce_when_Integrated() {
+    String rawName = "foldingInputs/constantfolding/ConstantFoldingIntegrated-raw.java";
+    ASTNode root = TestUtils.getASTNodeFor(this, rawName);
+    int nodeCount = TestUtils.countNodes(root);
+    assertTrue(folderUnderTest.fold(root));
+    assertTrue(folderUnderTest.getVisitCount() <= nodeCount);
+    assertFalse(folderUnderTest.fold(root));
+  }
+
+  @Test
+  @DisplayName("Should make one literal for the outermost step when a constant chain is deep")
+  void should_MakeOneLiteral_when_ConstantChainIsDeep() throws Exception {
+    ASTNode root = TestUtils.parseDeepChain("1", CHAIN_DEPTH);
+    InfixExpression innermost = TestUtils.runWithDeepStack(() -> findInnermost(root));
+    ASTNode innermostParent = innermost.getParent();
+
+    assertTrue(TestUtils.runWithDeepStack(() -> folderUnderTest.fold(root)));
+    ReturnStatement returnStatement = TestUtils.runWithDeepStack(() -> findReturn(root));
+    assertAll(
+        () -> assertEquals(Integer.toString(CHAIN_DEPTH + 1),
+                ((NumberLiteral) returnStatement.getExpression()).getToken()),
+        () -> assertSame(innermostParent, innermost.getParent())
+    );
+  }
+
+  @Test
+  @DisplayName("Should fold in time linear in depth when a non-constant chain is deep")
+  void should_FoldInLinearTime_when_ChainIsDeep() throws Exception {
+    ASTNode root = TestUtils.parseDeepChain("x", CHAIN_DEPTH);
+    int nodeCount = TestUtils.runWithDeepStack(() -> TestUtils.countNodes(root));
+
+    assertFalse(TestUtils.runWithDeepStack(() -> folderUnderTest.fold(root)));
+    assertTrue(folderUnderTest.getVisitCount() <= nodeCount);
+  }
+
+  InfixExpression findInnermost(ASTNode root) {
+    InfixExpression[] innermost = {null};
+    root.accept(new ASTVisitor() {
+      @Override
+      public void endVisit(InfixExpression node) {
+        if (innermost[0] == null) {
+          innermost[0] = node;
+        }
+      }
+    });
+    return innermost[0];
+  }
+
+  ReturnStatement findReturn(ASTNode root) {
+    ReturnStatement[] found = {null};
+    root.accept(new ASTVisitor() {
+      @Override
+      public boolean visit(ReturnStatement node) {
+        found[0] = node;
+        return false;
+      }
+    });
+    return found[0];
+  }
+}
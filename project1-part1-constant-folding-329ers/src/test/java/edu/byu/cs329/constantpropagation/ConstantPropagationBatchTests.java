@@ -0,0 +1,195 @@
+package edu.byu.cs329.constantpropagation;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.constantpropagation.ConstantPropagationBatch.Job;
+import edu.byu.cs329.constantpropagation.ConstantPropagationBatch.Result;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.eclipse.jdt.core.dom.ASTMatcher;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for ConstantPropagationBatch")
+public class ConstantPropagationBatchTests {
+
+  @TempDir
+  Path tempDir;
+
+  Path copyResource(String name, Path directory) throws IOException {
+    Path source = Paths.get(TestUtils.getUri(this, "constPropInputs/" + name));
+    Files.createDirectories(directory);
+    return Files.copy(source, directory.resolve(name));
+  }
+
+  void assertMatches(String expectedName, Path output) {
+    ASTNode actual = TestUtils.getCompilationUnit(output.toUri());
+    ASTNode expected = TestUtils.getASTNodeFor(this, "constPropInputs/" + expectedName);
+    assertTrue(expected.subtreeMatch(new ASTMatcher(), actual));
+  }
+
+  @Test
+  @DisplayName("Should propagate every Java file when given a directory")
+  void should_PropagateEveryFile_when_Directory() throws IOException {
+    Path inputs = tempDir.resolve("in");
+    copyResource("shouldPropagateNum-raw.java", inputs);
+    copyResource("shouldPropagateBool-raw.java", inputs.resolve("nested"));
+    Files.writeString(inputs.resolve("notes.txt"), "not java");
+    Path outputs = tempDir.resolve("out");
+
+    List<Job> jobs = ConstantPropagationBatch.jobsForDirectory(inputs, outputs);
+    List<Result> results = ConstantPropagationBatch.propagate(jobs, 2);
+
+    assertEquals(2, results.size());
+    assertAll("Both files propagated",
+            () -> assertTrue(results.get(0).isSuccess()),
+            () -> assertTrue(results.get(1).isSuccess()),
+            () -> assertTrue(results.get(0).didChange()),
+            () -> assertTrue(results.get(1).didChange())
+    );
+    assertMatches("shouldPropagateBool-expected.java",
+            outputs.resolve("nested").resolve("shouldPropagateBool-raw.java"));
+    assertMatches("shouldPropagateNum-expected.java",
+            outputs.resolve("shouldPropagateNum-raw.java"));
+  }
+
+  @Test
+  @DisplayName("Should propagate every listed file when given a file list")
+  void should_PropagateEveryListedFile_when_FileList() throws IOException {
+    Path relative = copyResource("shouldPropagateString-raw.java", tempDir.resolve("src"));
+    Path absolute = copyResource("shouldPropagateNum-raw.java", tempDir.resolve("other"));
+    Path fileList = tempDir.resolve("files.txt");
+    Files.writeString(fileList, "src/shouldPropagateString-raw.java\n\n"
+            + absolute.toAbsolutePath() + "\n");
+    Path outputs = tempDir.resolve("out");
+
+    List<Job> jobs = ConstantPropagationBatch.jobsForFileList(fileList, outputs);
+    assertEquals(2, jobs.size());
+    assertEquals(relative.toAbsolutePath(), jobs.get(0).getInput().toAbsolutePath());
+    List<Result> results = ConstantPropagationBatch.propagate(jobs, 1);
+
+    assertTrue(results.stream().allMatch(Result::isSuccess));
+    assertMatches("shouldPropagateString-expected.java",
+            outputs.resolve("src").resolve("shouldPropagateString-raw.java"));
+    assertMatches("shouldPropagateNum-expected.java", outputFor(outputs, absolute));
+  }
+
+  Path outputFor(Path outputs, Path absolute) {
+    Path path = absolute.toAbsolutePath();
+    return outputs.resolve(path.getRoot().relativize(path));
+  }
+
+  @Test
+  @DisplayName("Should write each file when absolute entries have the same file name")
+  void should_WriteEachFile_when_AbsoluteEntriesShareFileName() throws IOException {
+    Path first = copyResource("shouldPropagateNum-raw.java", tempDir.resolve("one"));
+    Path second = tempDir.resolve("two").resolve("shouldPropagateNum-raw.java");
+    Files.createDirectories(second.getParent());
+    Files.copy(Paths.get(TestUtils.getUri(this, "constPropInputs/shouldPropagateBool-raw.java")),
+            second);
+    Path fileList = tempDir.resolve("files.txt");
+    Files.writeString(fileList, first.toAbsolutePath() + "\n" + second.toAbsolutePath() + "\n");
+    Path outputs = tempDir.resolve("out");
+
+    List<Job> jobs = ConstantPropagationBatch.jobsForFileList(fileList, outputs);
+    List<Result> results = ConstantPropagationBatch.propagate(jobs, 2);
+
+    assertTrue(results.stream().allMatch(Result::isSuccess));
+    assertMatches("shouldPropagateNum-expected.java", outputFor(outputs, first));
+    assertMatches("shouldPropagateBool-expected.java", outputFor(outputs, second));
+  }
+
+  @Test
+  @DisplayName("Should fail the job and write nothing when an entry leaves the output directory")
+  void should_FailJob_when_EntryLeavesOutputDirectory() throws IOException {
+    Path input = copyResource("shouldPropagateNum-raw.java", tempDir.resolve("list"));
+    String source = Files.readString(input);
+    Path fileList = tempDir.resolve("list").resolve("files.txt");
+    Files.writeString(fileList, "../list/shouldPropagateNum-raw.java\n");
+    Path outputs = tempDir.resolve("out");
+
+    List<Job> jobs = ConstantPropagationBatch.jobsForFileList(fileList, outputs);
+    List<Result> results = ConstantPropagationBatch.propagate(jobs, 1);
+
+    assertAll("Escaping entry failed",
+            () -> assertFalse(results.get(0).isSuccess()),
+            () -> assertTrue(results.get(0).getError() instanceof IOException),
+            () -> assertEquals(input.toAbsolutePath().normalize(), results.get(0).getOutput()),
+            () -> assertEquals(source, Files.readString(input))
+    );
+  }
+
+  @Test
+  @DisplayName("Should throw IOException when two entries have the same output")
+  void should_ThrowIoException_when_EntriesShareOutput() throws IOException {
+    copyResource("shouldPropagateNum-raw.java", tempDir.resolve("src"));
+    Path fileList = tempDir.resolve("files.txt");
+    Files.writeString(fileList, "src/shouldPropagateNum-raw.java\n"
+            + "src/../src/shouldPropagateNum-raw.java\n");
+
+    assertThrows(IOException.class,
+        () -> ConstantPropagationBatch.jobsForFileList(fileList, tempDir.resolve("out")));
+  }
+
+  @Test
+  @DisplayName("Should keep going when one file fails")
+  void should_KeepGoing_when_OneFileFails() throws IOException {
+    Path inputs = tempDir.resolve("in");
+    copyResource("shouldPropagateNum-raw.java", inputs);
+    copyResource("shouldPropagateBool-raw.java", inputs);
+    Path outputs = tempDir.resolve("out");
+    Files.createDirectories(outputs.resolve("shouldPropagateBool-raw.java"));
+
+    List<Job> jobs = ConstantPropagationBatch.jobsForDirectory(inputs, outputs);
+    List<Result> results = ConstantPropagationBatch.propagate(jobs, 2);
+
+    assertEquals(2, results.size());
+    assertFalse(results.get(0).isSuccess());
+    assertNotNull(results.get(0).getError());
+    assertTrue(results.get(1).isSuccess());
+    assertMatches("shouldPropagateNum-expected.java",
+            outputs.resolve("shouldPropagateNum-raw.java"));
+  }
+
+  @Test
+  @DisplayName("Should record an error and write nothing when the input is missing")
+  void should_RecordError_when_InputMissing() {
+    Path input = tempDir.resolve("missing.java");
+    Path output = tempDir.resolve("out").resolve("missing.java");
+
+    Result result = ConstantPropagationBatch.propagate(new Job(input, output));
+
+    assertAll("Missing input failed",
+            () -> assertFalse(result.isSuccess()),
+            () -> assertTrue(result.getError() instanceof NoSuchFileException),
+            () -> assertFalse(result.didChange()),
+            () -> assertFalse(Files.exists(output))
+    );
+  }
+
+  @Test
+  @DisplayName("Should rewrite only the propagated uses when writing each file")
+  void should_KeepFormatting_when_Writing() throws IOException {
+    Path input = copyResource("shouldKeepFormatting-raw.java", tempDir.resolve("in"));
+    Path output = tempDir.resolve("out").resolve("shouldKeepFormatting-raw.java");
+
+    Result result = ConstantPropagationBatch.propagate(new Job(input, output));
+
+    assertTrue(result.isSuccess());
+    String expected = Files.readString(Paths.get(
+            TestUtils.getUri(this, "constPropInputs/shouldKeepFormatting-expected.java")));
+    assertEquals(expected, Files.readString(output));
+  }
+}
@@ -1,8 +1,13 @@
 package edu.byu.cs329.constantpropagation;
 
 import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.rd.ReachingDefinitionsMode;
+import edu.byu.cs329.utils.RecordedCompilationUnit;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.jupiter.api.DisplayName;
@@ -88,6 +93,22 @@ public class ConstantPropagationTests {
       TestUtils.assertDidPropagate(this, rawName, expectedName);
     }
 
+    @Test
+    @DisplayName("Should propagate each method of a class on its own")
+    void shouldPropagateEachMethod() {
+      String rawName = "constPropInputs/shouldPropagateEachMethod-raw.java";
+      String expectedName = "constPropInputs/shouldPropagateEachMethod-expected.java";
+      TestUtils.assertDidPropagate(this, rawName, expectedName);
+    }
+
+    @Test
+    @DisplayName("Should only propagate definitions that are literals")
+    void shouldNotPropagateNonLiterals() {
+      String rawName = "constPropInputs/shouldNotPropagateNonLiterals-raw.java";
+      String expectedName = "constPropInputs/shouldNotPropagateNonLiterals-expected.java";
+      TestUtils.assertDidPropagate(this, rawName, expectedName);
+    }
+
     @Test
     @DisplayName("Integration test for constant propagation")
     void integrationTestConstProp() {
@@ -96,6 +117,14 @@ public class ConstantPropagationTests {
       TestUtils.assertDidPropagate(this, rawName, expectedName);
     }
 
+    @Test
+    @DisplayName("Integration test for constant propagation with reaching definitions on demand")
+    void integrationTestConstPropOnDemand() {
+      String rawName = "constPropInputs/integrationTestConstProp-raw.java";
+      String expectedName = "constPropInputs/integrationTestConstProp-expected.java";
+      TestUtils.assertDidPropagate(this, rawName, expectedName, ReachingDefinitionsMode.DEMAND);
+    }
+
     @Test
     @DisplayName("Simple integration test for constant propagation")
     void simpleIntegrationTestConstProp() {
@@ -103,6 +132,17 @@ public class ConstantPropagationTests {
       String expectedName = "constPropInputs/simpleIntegrationTestConstProp-expected.java";
       TestUtils.assertDidPropagate(this, rawName, expectedName);
     }
+
+    @Test
+    @DisplayName("Should rewrite only the propagated uses when writing the source")
+    void shouldKeepFormatting() throws Exception {
+      RecordedCompilationUnit compilationUnit = RecordedCompilationUnit.parse(Paths.get(
+              TestUtils.getUri(this, "constPropInputs/shouldKeepFormatting-raw.java")));
+      ConstantPropagation.propagate(compilationUnit.getCompilationUnit());
+      String expected = new String(Files.readAllBytes(Paths.get(TestUtils.getUri(this,
+              "constPropInputs/shouldKeepFormatting-expected.java"))), StandardCharsets.UTF_8);
+      assertEquals(expected, compilationUnit.getRewrittenSource());
+    }
   }
 
   @Nested
@@ -0,0 +1,82 @@
+package edu.byu.cs329.constantpropagation;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.rd.MethodAnalysisBuilder;
+import edu.byu.cs329.rd.MethodAnalysisBuilder.MethodAnalysis;
+import edu.byu.cs329.rd.ReachingDefinitions;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.ReturnStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for ConstantPropagator")
+public class ConstantPropagatorTests {
+  ASTNode root = null;
+  List<MethodDeclaration> methodList = null;
+  Map<MethodDeclaration, ReachingDefinitions> rdMap = null;
+
+  @BeforeEach
+  void beforeEach() {
+    root = TestUtils.getASTNodeFor(this, "constPropInputs/shouldPropagateEachMethod-raw.java");
+    methodList = MethodAnalysisBuilder.getMethodDeclarations(root);
+    rdMap = new IdentityHashMap<>();
+    for (MethodAnalysis analysis : new MethodAnalysisBuilder().build(methodList)) {
+      rdMap.put(analysis.getMethodDeclaration(), analysis.getReachingDefinitions());
+    }
+  }
+
+  private String getReturned(MethodDeclaration methodDeclaration) {
+    List<?> statements = methodDeclaration.getBody().statements();
+    return ((ReturnStatement) statements.get(statements.size() - 1)).getExpression().toString();
+  }
+
+  @Test
+  @DisplayName("Should use the reaching definitions of each method when given the whole class")
+  void should_UseOwnReachingDefinitions_when_ManyMethods() {
+    assertTrue(new ConstantPropagator(rdMap).replace(root));
+    assertAll("Each method propagated",
+            () -> assertEquals("3", getReturned(methodList.get(0))),
+            () -> assertEquals("z", getReturned(methodList.get(1))),
+            () -> assertEquals("true", getReturned(methodList.get(2)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should skip methods when their reaching definitions are not in the map")
+  void should_SkipMethod_when_NotInMap() {
+    rdMap.remove(methodList.get(0));
+    ConstantPropagator propagator = new ConstantPropagator(rdMap);
+    assertFalse(propagator.replace(methodList.get(0)));
+    assertTrue(propagator.replace(methodList.get(2)));
+    assertAll("Only the mapped method propagated",
+            () -> assertEquals("x", getReturned(methodList.get(0))),
+            () -> assertEquals("true", getReturned(methodList.get(2)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should not report a replacement when the only definition is not a literal")
+  void should_NotReplace_when_DefinitionNotLiteral() {
+    // return c has the single definition c = 3 + b, which is not a literal.
+    // Reporting a change here kept ConstantPropagation.propagate looping.
+    ASTNode node = TestUtils.getASTNodeFor(this,
+            "constPropInputs/shouldNotPropagateNonLiterals-expected.java");
+    List<MethodDeclaration> nodeMethodList = MethodAnalysisBuilder.getMethodDeclarations(node);
+    Map<MethodDeclaration, ReachingDefinitions> nodeRdMap = new IdentityHashMap<>();
+    for (MethodAnalysis analysis : new MethodAnalysisBuilder().build(nodeMethodList)) {
+      nodeRdMap.put(analysis.getMethodDeclaration(), analysis.getReachingDefinitions());
+    }
+    assertFalse(new ConstantPropagator(nodeRdMap).replace(node));
+    assertEquals("c", getReturned(nodeMethodList.get(0)));
+  }
+}
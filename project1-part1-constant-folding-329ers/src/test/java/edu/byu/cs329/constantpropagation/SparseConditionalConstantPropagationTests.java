@@ -0,0 +1,97 @@
+package edu.byu.cs329.constantpropagation;
+
+import edu.byu.cs329.TestUtils;
+import org.eclipse.jdt.core.dom.ASTMatcher;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for SparseConditionalConstantPropagation")
+public class SparseConditionalConstantPropagationTests {
+
+  void assertDidPropagate(String rawName, String expectedName) {
+    ASTNode root = TestUtils.getASTNodeFor(this, "constPropInputs/" + rawName);
+    assertTrue(SparseConditionalConstantPropagation.propagate(root));
+    ASTNode expected = TestUtils.getASTNodeFor(this, "constPropInputs/" + expectedName);
+    assertTrue(expected.subtreeMatch(new ASTMatcher(), root), root.toString());
+  }
+
+  @Test
+  @DisplayName("Should propagate numbers, booleans, and strings when defined by literals")
+  void should_Propagate_when_DefinedByLiterals() {
+    assertDidPropagate("shouldPropagateNum-raw.java", "shouldPropagateNum-expected.java");
+    assertDidPropagate("shouldPropagateBool-raw.java", "shouldPropagateBool-expected.java");
+    assertDidPropagate("shouldPropagateString-raw.java", "shouldPropagateString-expected.java");
+    assertDidPropagate("shouldPropagateWithFold-raw.java", "shouldPropagateNum-expected.java");
+  }
+
+  @Test
+  @DisplayName("Should propagate into declarations, expression statements, and infix expressions")
+  void should_Propagate_when_UsedInStatements() {
+    assertDidPropagate("shouldPropagateVarDeclaration-raw.java",
+            "shouldPropagateVarDeclaration-expected.java");
+    assertDidPropagate("shouldPropagateExpressionStatement-raw.java",
+            "shouldPropagateExpressionStatement-expected.java");
+    assertDidPropagate("shouldPropagateSingleInfix-raw.java",
+            "shouldPropagateSingleInfix-expected.java");
+    assertDidPropagate("shouldPropagateEachMethod-raw.java",
+            "shouldPropagateEachMethod-expected.java");
+  }
+
+  @Test
+  @DisplayName("Should match the iterative propagation when opposing or non-literal definitions")
+  void should_MatchIterative_when_OpposingOrNonLiteralDefinitions() {
+    assertDidPropagate("shouldNotInitiallyPropagateOpposingLiterals-raw.java",
+            "shouldNotInitiallyPropagateOpposingLiterals-expected.java");
+    assertDidPropagate("shouldNotPropagateNonLiterals-raw.java",
+            "shouldNotPropagateNonLiterals-expected.java");
+  }
+
+  @Test
+  @DisplayName("Should reach the fixpoint of the iterative propagation in one pass")
+  void should_MatchIterative_when_Integration() {
+    assertDidPropagate("integrationTestConstProp-raw.java",
+            "integrationTestConstProp-expected.java");
+    assertDidPropagate("simpleIntegrationTestConstProp-raw.java",
+            "simpleIntegrationTestConstProp-expected.java");
+  }
+
+  @Test
+  @DisplayName("Should ignore definitions in a branch that is never taken")
+  void should_IgnoreDefinitions_when_BranchNeverTaken() {
+    assertDidPropagate("shouldPruneUntakenBranch-raw.java",
+            "shouldPruneUntakenBranch-expected.java");
+  }
+
+  @Test
+  @DisplayName("Should propagate only loop invariant variables when looping")
+  void should_PropagateInvariants_when_Looping() {
+    assertDidPropagate("shouldPropagateIntoLoop-raw.java",
+            "shouldPropagateIntoLoop-expected.java");
+  }
+
+  @Test
+  @DisplayName("Should return false when there is nothing to propagate")
+  void should_ReturnFalse_when_NothingToPropagate() {
+    ASTNode root = TestUtils.getASTNodeFor(this,
+            "constPropInputs/shouldPropagateNum-expected.java");
+    assertFalse(SparseConditionalConstantPropagation.propagate(root));
+  }
+
+  @Test
+  @DisplayName("Should not propagate a concatenation when its String is compared with ==")
+  void should_KeepReferenceEquality_when_StringIsConcatenated() {
+    assertDidPropagate("shouldNotPropagateStringIdentity-raw.java",
+            "shouldNotPropagateStringIdentity-expected.java");
+  }
+
+  @Test
+  @DisplayName("Should return false when boxed locals are compared with ==")
+  void should_ReturnFalse_when_BoxedLocalsCompared() {
+    ASTNode root = TestUtils.getASTNodeFor(this, "constPropInputs/shouldNotPropagateBoxed.java");
+    assertFalse(SparseConditionalConstantPropagation.propagate(root));
+  }
+}
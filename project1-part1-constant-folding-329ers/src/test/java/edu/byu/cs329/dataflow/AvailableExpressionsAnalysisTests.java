@@ -0,0 +1,55 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.cfg.StatementTracker;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Tests for AvailableExpressionsAnalysis")
+public class AvailableExpressionsAnalysisTests {
+  ControlFlowGraph controlFlowGraph = null;
+  StatementTracker statementTracker = null;
+  AvailableExpressionsAnalysis analysis = null;
+  DataflowResult<Set<String>> result = null;
+
+  @BeforeEach
+  void beforeEach() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "dataflowInputs/DataflowIntegration.java");
+    controlFlowGraph = new ControlFlowGraphBuilder().build(node).get(0);
+    statementTracker = new StatementTracker(node);
+    analysis = new AvailableExpressionsAnalysis(controlFlowGraph);
+    result = new DataflowSolver().solve(controlFlowGraph, analysis);
+  }
+
+  @Test
+  @DisplayName("Should track each pure infix expression once when the text repeats")
+  void should_TrackEachExpressionOnce_when_TextRepeats() {
+    assertEquals(Set.of("p + 1", "a * 2", "b > 4", "a + p", "c < 10", "c + b"),
+            analysis.getExpressions());
+  }
+
+  @Test
+  @DisplayName("Should keep only expressions evaluated on every path when branching and looping")
+  void should_KeepExpressionsOnEveryPath_when_BranchingAndLooping() {
+    assertAll("Available expressions",
+            () -> assertEquals(Set.of(),
+                    result.getEntry(statementTracker.getVariableDeclarationStatement(0))),
+            () -> assertEquals(Set.of("p + 1"),
+                    result.getEntry(statementTracker.getVariableDeclarationStatement(1))),
+            () -> assertEquals(Set.of("p + 1", "a * 2"),
+                    result.getEntry(statementTracker.getIfStatement(0))),
+            () -> assertEquals(Set.of("p + 1", "b > 4"),
+                    result.getExit(statementTracker.getExpressionStatement(1))),
+            () -> assertEquals(Set.of("p + 1", "b > 4", "c < 10"),
+                    result.getEntry(statementTracker.getReturnStatement(0)))
+    );
+  }
+}
@@ -0,0 +1,78 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for DataflowSolver")
+public class DataflowSolverTests {
+
+  private ControlFlowGraph getControlFlowGraph(String fileName) {
+    ASTNode node = TestUtils.getASTNodeFor(this, fileName);
+    return new ControlFlowGraphBuilder().build(node).get(0);
+  }
+
+  @Test
+  @DisplayName("Should reach the same solution when using any worklist strategy")
+  void should_ReachSameSolution_when_AnyStrategy() {
+    ControlFlowGraph cfg = getControlFlowGraph("dataflowInputs/DataflowIntegration.java");
+    ReachingDefinitionsAnalysis reachingDefinitions = new ReachingDefinitionsAnalysis(cfg);
+    LivenessAnalysis liveness = new LivenessAnalysis(cfg);
+    AvailableExpressionsAnalysis availableExpressions = new AvailableExpressionsAnalysis(cfg);
+    DataflowSolver scc = new DataflowSolver(WorklistStrategy.SCC);
+    DataflowResult<Set<Definition>> expectedDefinitions = scc.solve(cfg, reachingDefinitions);
+    DataflowResult<Set<String>> expectedLive = scc.solve(cfg, liveness);
+    DataflowResult<Set<String>> expectedAvailable = scc.solve(cfg, availableExpressions);
+
+    for (WorklistStrategy strategy : WorklistStrategy.values()) {
+      DataflowSolver solver = new DataflowSolver(strategy);
+      DataflowResult<Set<Definition>> definitions = solver.solve(cfg, reachingDefinitions);
+      DataflowResult<Set<String>> live = solver.solve(cfg, liveness);
+      DataflowResult<Set<String>> available = solver.solve(cfg, availableExpressions);
+      for (Statement statement : cfg.getReversePostorder()) {
+        assertEquals(expectedDefinitions.getEntry(statement), definitions.getEntry(statement));
+        assertEquals(expectedLive.getEntry(statement), live.getEntry(statement));
+        assertEquals(expectedLive.getExit(statement), live.getExit(statement));
+        assertEquals(expectedAvailable.getEntry(statement), available.getEntry(statement));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should visit each statement once when there are no loops")
+  void should_VisitOnce_when_NoLoops() {
+    ControlFlowGraph cfg = getControlFlowGraph("rdInputs/BranchingRD.java");
+    int size = cfg.getReversePostorder().size();
+    for (WorklistStrategy strategy : WorklistStrategy.values()) {
+      DataflowResult<Set<Definition>> result = new DataflowSolver(strategy)
+              .solve(cfg, new ReachingDefinitionsAnalysis(cfg));
+      if (strategy != WorklistStrategy.FIFO) {
+        assertEquals(size, result.getIterationCount(), strategy.toString());
+      }
+      assertEquals(size, result.getTransferCount(), strategy.toString());
+    }
+  }
+
+  @Test
+  @DisplayName("Should count visits and transfers when looping")
+  void should_CountVisitsAndTransfers_when_Looping() {
+    ControlFlowGraph cfg = getControlFlowGraph("dataflowInputs/DataflowIntegration.java");
+    int size = cfg.getReversePostorder().size();
+    DataflowResult<Set<Definition>> scc = new DataflowSolver()
+            .solve(cfg, new ReachingDefinitionsAnalysis(cfg));
+    DataflowResult<Set<Definition>> fifo = new DataflowSolver(WorklistStrategy.FIFO)
+            .solve(cfg, new ReachingDefinitionsAnalysis(cfg));
+    assertTrue(scc.getIterationCount() > size);
+    assertTrue(scc.getTransferCount() <= scc.getIterationCount());
+    assertTrue(scc.getIterationCount() <= fifo.getIterationCount());
+  }
+}
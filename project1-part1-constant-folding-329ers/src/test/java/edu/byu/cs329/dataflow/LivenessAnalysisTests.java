@@ -0,0 +1,55 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.cfg.StatementTracker;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Tests for LivenessAnalysis")
+public class LivenessAnalysisTests {
+  ControlFlowGraph controlFlowGraph = null;
+  StatementTracker statementTracker = null;
+  DataflowResult<Set<String>> result = null;
+
+  @BeforeEach
+  void beforeEach() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "dataflowInputs/DataflowIntegration.java");
+    controlFlowGraph = new ControlFlowGraphBuilder().build(node).get(0);
+    statementTracker = new StatementTracker(node);
+    result = new DataflowSolver().solve(controlFlowGraph, new LivenessAnalysis(controlFlowGraph));
+  }
+
+  @Test
+  @DisplayName("Should find variables read before written when branching and looping")
+  void should_FindLiveVariables_when_BranchingAndLooping() {
+    assertAll("Live variables",
+            () -> assertEquals(Set.of("p"),
+                    result.getEntry(statementTracker.getVariableDeclarationStatement(0))),
+            () -> assertEquals(Set.of("a", "b", "p"),
+                    result.getEntry(statementTracker.getVariableDeclarationStatement(2))),
+            () -> assertEquals(Set.of("a", "b", "c", "p"),
+                    result.getEntry(statementTracker.getIfStatement(0))),
+            () -> assertEquals(Set.of("a", "b", "c", "p"),
+                    result.getExit(statementTracker.getExpressionStatement(1))),
+            () -> assertEquals(Set.of("b", "c", "p"),
+                    result.getEntry(statementTracker.getExpressionStatement(1))),
+            () -> assertEquals(Set.of("a", "p"),
+                    result.getEntry(statementTracker.getReturnStatement(0)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should have nothing live when at the end")
+  void should_HaveNothingLive_when_AtEnd() {
+    assertEquals(Set.of(), result.getEntry(controlFlowGraph.getEnd()));
+    assertEquals(Set.of(), result.getExit(statementTracker.getReturnStatement(0)));
+  }
+}
@@ -0,0 +1,68 @@
+package edu.byu.cs329.dataflow;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.rd.BitVectorReachingDefinitionsBuilder;
+import edu.byu.cs329.rd.ReachingDefinitions;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Tests for ReachingDefinitionsAnalysis")
+public class ReachingDefinitionsAnalysisTests {
+
+  static Set<String> describe(Set<Definition> definitions) {
+    Set<String> descriptions = new HashSet<>();
+    for (Definition definition : definitions) {
+      descriptions.add(definition.getName().getIdentifier() + "@"
+              + System.identityHashCode(definition.getStatement()));
+    }
+    return descriptions;
+  }
+
+  private void assertSameAsBitVector(String fileName) {
+    ASTNode node = TestUtils.getASTNodeFor(this, fileName);
+    List<ControlFlowGraph> cfgList = new ControlFlowGraphBuilder().build(node);
+    List<ReachingDefinitions> expectedList = new BitVectorReachingDefinitionsBuilder()
+            .build(cfgList);
+    for (int i = 0; i < cfgList.size(); ++i) {
+      ControlFlowGraph cfg = cfgList.get(i);
+      ReachingDefinitions actual = ReachingDefinitionsAnalysis.build(cfg);
+      for (Statement statement : cfg.getReversePostorder()) {
+        assertEquals(describe(expectedList.get(i).getReachingDefinitions(statement)),
+                describe(actual.getReachingDefinitions(statement)), fileName);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should match the bit vector builder when sequential, branching, and looping")
+  void should_MatchBitVector_when_BranchingAndLooping() {
+    assertSameAsBitVector("rdInputs/SequentialRD.java");
+    assertSameAsBitVector("rdInputs/Sequential2RD.java");
+    assertSameAsBitVector("rdInputs/BranchingRD.java");
+    assertSameAsBitVector("rdInputs/MergingRD.java");
+    assertSameAsBitVector("rdInputs/LoopingRD.java");
+    assertSameAsBitVector("rdInputs/MultipleMethodsRD.java");
+    assertSameAsBitVector("rdInputs/DefUseRD.java");
+    assertSameAsBitVector("dataflowInputs/DataflowIntegration.java");
+  }
+
+  @Test
+  @DisplayName("Should return null when the statement is not in the graph")
+  void should_ReturnNull_when_NotInGraph() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/SequentialRD.java");
+    ControlFlowGraph cfg = new ControlFlowGraphBuilder().build(node).get(0);
+    ReachingDefinitions reachingDefinitions = ReachingDefinitionsAnalysis.build(cfg);
+    assertNull(reachingDefinitions.getReachingDefinitions(node.getAST().newEmptyStatement()));
+  }
+}
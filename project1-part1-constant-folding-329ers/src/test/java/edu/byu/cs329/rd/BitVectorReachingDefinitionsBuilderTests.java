@@ -0,0 +1,186 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for BitVectorReachingDefinitionsBuilder")
+public class BitVectorReachingDefinitionsBuilderTests {
+
+  BitVectorReachingDefinitionsBuilder unitUnderTest = null;
+  ControlFlowGraph controlFlowGraph;
+  ControlFlowGraphBuilder controlFlowGraphBuilder;
+
+  @BeforeEach
+  void beforeEach() {
+    unitUnderTest = new BitVectorReachingDefinitionsBuilder();
+    controlFlowGraphBuilder = new ControlFlowGraphBuilder();
+  }
+
+  void init(String fileName) {
+    ASTNode node = TestUtils.getASTNodeFor(this, fileName);
+    List<ControlFlowGraph> cfgList = controlFlowGraphBuilder.build(node);
+    assertEquals(1, cfgList.size());
+    controlFlowGraph = cfgList.get(0);
+  }
+
+  private ReachingDefinitions getReachingDefinitions(ControlFlowGraph controlFlowGraph) {
+    List<ReachingDefinitions> reachingDefinitionsList =
+            unitUnderTest.build(List.of(controlFlowGraph));
+    assertEquals(1, reachingDefinitionsList.size());
+    return reachingDefinitionsList.get(0);
+  }
+
+  private boolean doesDefineParam(String name, final Set<Definition> definitions) {
+    for (Definition definition : definitions) {
+      if (definition.getName().getIdentifier().equals(name) && definition.getStatement() == null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean doesDefineStatement(String name, final Set<Definition> definitions) {
+    for (Definition definition : definitions) {
+      if (definition.getName().getIdentifier().equals(name) && definition.getStatement() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  @Tag("Parameters")
+  @DisplayName("Should have a definition for each parameter at start when the method declaration has parameters.")
+  void should_HaveDefinitionForEachParameterAtStart_when_MethodDeclarationHasParameters() {
+    ControlFlowGraph controlFlowGraph = MockUtils.newMockForEmptyMethodWithTwoParameters("a", "b");
+    ReachingDefinitions reachingDefinitions = getReachingDefinitions(controlFlowGraph);
+    Statement start = controlFlowGraph.getStart();
+    Set<Definition> paramDefinitions = reachingDefinitions.getReachingDefinitions(start);
+    assertAll("Parameters Defined at Start",
+            () -> assertEquals(2, paramDefinitions.size()),
+            () -> assertTrue(doesDefineParam("a", paramDefinitions)),
+            () -> assertTrue(doesDefineParam("b", paramDefinitions))
+    );
+  }
+
+  @Test
+  @Tag("Sequential2")
+  @DisplayName("Should kill the earlier definition when the variable is assigned again.")
+  void should_KillEarlierDefinition_when_SequentialShape2() {
+    String fileName = "rdInputs/Sequential2RD.java";
+    init(fileName);
+    ReachingDefinitions reachingDefinitions = getReachingDefinitions(controlFlowGraph);
+
+    Statement start = controlFlowGraph.getStart();
+    assertEquals(0, reachingDefinitions.getReachingDefinitions(start).size());
+
+    Statement s2 = controlFlowGraph.getSuccs(start).iterator().next();
+    Statement r3 = controlFlowGraph.getSuccs(s2).iterator().next();
+    Set<Definition> r3Definitions = reachingDefinitions.getReachingDefinitions(r3);
+    assertAll("Only the second c reaches the return",
+            () -> assertEquals(1, r3Definitions.size()),
+            () -> assertTrue(doesDefineStatement("c", r3Definitions)),
+            () -> assertEquals(s2, r3Definitions.iterator().next().getStatement())
+    );
+  }
+
+  @Test
+  @Tag("Sequential")
+  @DisplayName("Should have predecessor definitions at the end when sequential shape.")
+  void should_HaveDefinitions_when_SequentialShape() {
+    String fileName = "rdInputs/SequentialRD.java";
+    init(fileName);
+    ReachingDefinitions reachingDefinitions = getReachingDefinitions(controlFlowGraph);
+
+    Statement end = controlFlowGraph.getEnd();
+    Set<Definition> endDefinitions = reachingDefinitions.getReachingDefinitions(end);
+    assertAll("C and D defined at end",
+            () -> assertEquals(2, endDefinitions.size()),
+            () -> assertTrue(doesDefineStatement("c", endDefinitions)),
+            () -> assertTrue(doesDefineStatement("d", endDefinitions))
+    );
+  }
+
+  @Test
+  @Tag("Branching")
+  @DisplayName("Should have the definitions of both branches at the end when branching shape.")
+  void should_HaveDefinitions_when_BranchingShape() {
+    String fileName = "rdInputs/BranchingRD.java";
+    init(fileName);
+    ReachingDefinitions reachingDefinitions = getReachingDefinitions(controlFlowGraph);
+
+    Statement end = controlFlowGraph.getEnd();
+    for (Statement pred : controlFlowGraph.getPreds(end)) {
+      Set<Definition> predDefinitions = reachingDefinitions.getReachingDefinitions(pred);
+      assertTrue(doesDefineStatement("a", predDefinitions));
+    }
+
+    Set<Definition> endDefinitions = reachingDefinitions.getReachingDefinitions(end);
+    assertAll("A, X, and Y defined at end",
+            () -> assertEquals(3, endDefinitions.size()),
+            () -> assertTrue(doesDefineStatement("a", endDefinitions)),
+            () -> assertTrue(doesDefineStatement("x", endDefinitions)),
+            () -> assertTrue(doesDefineStatement("y", endDefinitions))
+    );
+  }
+
+  @Test
+  @Tag("Merging")
+  @DisplayName("Should have the union of branched definitions after merge.")
+  void should_HaveDefinitions_when_MergingShape() {
+    String fileName = "rdInputs/MergingRD.java";
+    init(fileName);
+    ReachingDefinitions reachingDefinitions = getReachingDefinitions(controlFlowGraph);
+
+    Statement end = controlFlowGraph.getEnd();
+    Statement r6 = controlFlowGraph.getPreds(end).iterator().next();
+    Set<Definition> r6Definitions = reachingDefinitions.getReachingDefinitions(r6);
+
+    assertAll("Assert return contains both instances of x and y",
+            () -> assertEquals(2, r6Definitions.size()),
+            () -> assertTrue(doesDefineStatement("x", r6Definitions)),
+            () -> assertTrue(doesDefineStatement("y", r6Definitions))
+    );
+  }
+
+  @Test
+  @Tag("Looping")
+  @DisplayName("Should have the loop body definitions at the loop head when looping shape.")
+  void should_HaveDefinitions_when_LoopingShape() {
+    String fileName = "rdInputs/LoopingRD.java";
+    init(fileName);
+    ReachingDefinitions reachingDefinitions = getReachingDefinitions(controlFlowGraph);
+
+    Statement w2 = controlFlowGraph.getSuccs(controlFlowGraph.getStart()).iterator().next();
+    Set<Definition> w2Definitions = reachingDefinitions.getReachingDefinitions(w2);
+    assertAll("Assert w2 has x and z",
+            () -> assertEquals(2, w2Definitions.size()),
+            () -> assertTrue(doesDefineStatement("x", w2Definitions)),
+            () -> assertTrue(doesDefineStatement("z", w2Definitions))
+    );
+  }
+
+  @Test
+  @DisplayName("Should return null when the statement is not in the graph.")
+  void should_ReturnNull_when_StatementNotInGraph() {
+    init("rdInputs/SequentialRD.java");
+    ReachingDefinitions reachingDefinitions = getReachingDefinitions(controlFlowGraph);
+    Statement other = controlFlowGraph.getStart().getAST().newEmptyStatement();
+    assertNull(reachingDefinitions.getReachingDefinitions(other));
+  }
+}
@@ -0,0 +1,114 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.IfStatement;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.ReturnStatement;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for DefUseIndex")
+public class DefUseIndexTests {
+  MethodDeclaration methodDeclaration = null;
+  ReachingDefinitions reachingDefinitions = null;
+  DefUseIndex index = null;
+  List<SimpleName> names = null;
+
+  @BeforeEach
+  void beforeEach() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/DefUseRD.java");
+    List<ControlFlowGraph> cfgList = new ControlFlowGraphBuilder().build(node);
+    assertEquals(1, cfgList.size());
+    methodDeclaration = cfgList.get(0).getMethodDeclaration();
+    reachingDefinitions = new ReachingDefinitionsBuilder().build(cfgList).get(0);
+    index = DefUseIndex.of(reachingDefinitions, methodDeclaration);
+
+    // name p a b a p b a a b
+    names = new ArrayList<>();
+    methodDeclaration.accept(new ASTVisitor() {
+      @Override
+      public boolean visit(SimpleName name) {
+        names.add(name);
+        return false;
+      }
+    });
+  }
+
+  private Set<String> describe(List<Definition> definitions) {
+    Set<String> descriptions = new HashSet<>();
+    for (Definition definition : definitions) {
+      String statement = definition.getStatement() == null
+              ? "parameter" : definition.getStatement().toString().trim();
+      descriptions.add(definition.getName().getIdentifier() + ": " + statement);
+    }
+    return descriptions;
+  }
+
+  @Test
+  @DisplayName("Should find the enclosing statement of each use")
+  void should_FindStatement_when_Used() {
+    assertAll("Enclosing statements",
+            () -> assertEquals(6, index.getUseCount()),
+            () -> assertTrue(
+                    index.getStatement(names.get(4)) instanceof VariableDeclarationStatement),
+            () -> assertTrue(index.getStatement(names.get(6)) instanceof IfStatement),
+            () -> assertTrue(index.getStatement(names.get(8)) instanceof ReturnStatement),
+            () -> assertNull(index.getStatement(names.get(0))),
+            () -> assertNull(index.getStatement(names.get(1))),
+            () -> assertNull(index.getStatement(names.get(2)))
+    );
+  }
+
+  @Test
+  @DisplayName("Should find only the definitions of the used name when indexed")
+  void should_FindDefinitionsOfName_when_Used() {
+    assertAll("Reaching definitions",
+            () -> assertEquals(Set.of("a: int a=1;"),
+                    describe(index.getReachingDefinitions(names.get(4)))),
+            () -> assertEquals(Set.of("p: parameter"),
+                    describe(index.getReachingDefinitions(names.get(5)))),
+            () -> assertTrue(describe(index.getReachingDefinitions(names.get(8)))
+                    .contains("a: a=2;")),
+            () -> assertTrue(index.getReachingDefinitions(names.get(8)).stream()
+                    .allMatch(definition -> definition.getName().getIdentifier().equals("a"))),
+            () -> assertEquals(Set.of("b: int b=a + p;"),
+                    describe(index.getReachingDefinitions(names.get(9)))),
+            () -> assertTrue(index.getReachingDefinitions(names.get(2)).isEmpty())
+    );
+  }
+
+  @Test
+  @DisplayName("Should match a scan of the reaching definitions for every use")
+  void should_MatchScan_when_EveryUse() {
+    for (SimpleName name : names) {
+      if (index.getStatement(name) == null) {
+        continue;
+      }
+      List<Definition> scanned = new ArrayList<>();
+      for (Definition definition
+              : reachingDefinitions.getReachingDefinitions(index.getStatement(name))) {
+        if (definition.getName().getIdentifier().equals(name.getIdentifier())) {
+          scanned.add(definition);
+        }
+      }
+      assertEquals(scanned, index.getReachingDefinitions(name));
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.cfg.StatementTracker;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import edu.byu.cs329.utils.AstNodePropertiesUtils;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.ExpressionStatement;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Statement;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for DefinitionFactory")
+public class DefinitionFactoryTests {
+
+  @Test
+  @DisplayName("Should return the same definition when asked twice for a variable and statement")
+  void should_ReturnSameDefinition_when_AskedTwice() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/DefUseRD.java");
+    StatementTracker statementTracker = new StatementTracker(node);
+    Statement declareA = statementTracker.getVariableDeclarationStatement(0);
+    Statement assignA = statementTracker.getExpressionStatement(0);
+    SimpleName declaredA = AstNodePropertiesUtils
+            .getSimpleName((VariableDeclarationStatement) declareA);
+    SimpleName assignedA = (SimpleName) ((Assignment) ((ExpressionStatement) assignA)
+            .getExpression()).getLeftHandSide();
+
+    DefinitionFactory definitionFactory = new DefinitionFactory();
+    Definition first = definitionFactory.getDefinition(declaredA, declareA);
+    Definition second = definitionFactory.getDefinition(assignedA, assignA);
+    assertAll(
+        () -> assertSame(first, definitionFactory.getDefinition(declaredA, declareA)),
+        () -> assertSame(second, definitionFactory.getDefinition(assignedA, assignA)),
+        () -> assertNotSame(first, second),
+        () -> assertEquals(first.getVariable(), second.getVariable()),
+        () -> assertEquals(0, first.getIndex()),
+        () -> assertEquals(1, second.getIndex()),
+        () -> assertSame(second, definitionFactory.getDefinition(1)),
+        () -> assertEquals(2, definitionFactory.getDefinitionCount()),
+        () -> assertEquals(1, definitionFactory.getVariableCount())
+    );
+  }
+
+  @Test
+  @DisplayName("Should give dense ids in the order variables are seen when there are many")
+  void should_GiveDenseIds_when_ManyVariables() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/DefUseRD.java");
+    StatementTracker statementTracker = new StatementTracker(node);
+    ControlFlowGraph cfg = new ControlFlowGraphBuilder().build(node).get(0);
+    SimpleName parameter = ((SingleVariableDeclaration) cfg.getMethodDeclaration()
+            .parameters().get(0)).getName();
+    SimpleName declaredB = AstNodePropertiesUtils.getSimpleName(
+            (VariableDeclarationStatement) statementTracker.getVariableDeclarationStatement(1));
+
+    DefinitionFactory definitionFactory = new DefinitionFactory();
+    Definition parameterDefinition = definitionFactory.getDefinition(parameter, null);
+    assertAll(
+        () -> assertEquals(0, definitionFactory.getVariable(parameter)),
+        () -> assertEquals(1, definitionFactory.getVariable(declaredB)),
+        () -> assertEquals(0, parameterDefinition.getVariable()),
+        () -> assertSame(parameterDefinition, definitionFactory.getDefinition(parameter, null)),
+        () -> assertEquals(1, definitionFactory.findVariable("b")),
+        () -> assertEquals(Definition.NO_ID, definitionFactory.findVariable("c")),
+        () -> assertEquals("p", definitionFactory.getVariableName(0)),
+        () -> assertEquals(2, definitionFactory.getVariableCount()),
+        () -> assertEquals(1, definitionFactory.getDefinitionCount())
+    );
+  }
+
+  @Test
+  @DisplayName("Should share one definition across statements when it reaches many")
+  void should_ShareDefinition_when_ReachingManyStatements() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/DefUseRD.java");
+    StatementTracker statementTracker = new StatementTracker(node);
+    List<ControlFlowGraph> cfgList = new ControlFlowGraphBuilder().build(node);
+    ReachingDefinitions reachingDefinitions = new ReachingDefinitionsBuilder()
+            .build(cfgList).get(0);
+    Statement declareB = statementTracker.getVariableDeclarationStatement(1);
+    Statement ifStatement = statementTracker.getIfStatement(0);
+
+    Definition atDeclaration = null;
+    for (Definition definition : reachingDefinitions.getReachingDefinitions(declareB)) {
+      if (definition.getStatement() == statementTracker.getVariableDeclarationStatement(0)) {
+        atDeclaration = definition;
+      }
+    }
+    final Definition expected = atDeclaration;
+    Set<Definition> atIf = reachingDefinitions.getReachingDefinitions(ifStatement);
+    assertAll(
+        () -> assertTrue(expected != null),
+        () -> assertTrue(atIf.contains(expected)),
+        () -> assertTrue(expected.getVariable() != Definition.NO_ID)
+    );
+  }
+}
@@ -0,0 +1,108 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.cfg.StatementTracker;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Tests for DemandReachingDefinitionsBuilder")
+public class DemandReachingDefinitionsBuilderTests {
+
+  private Set<String> describe(Set<Definition> definitions) {
+    Set<String> descriptions = new HashSet<>();
+    for (Definition definition : definitions) {
+      descriptions.add(definition.getName().getIdentifier() + "@"
+              + System.identityHashCode(definition.getStatement()));
+    }
+    return descriptions;
+  }
+
+  private void assertSameAsBitVector(String fileName) {
+    ASTNode node = TestUtils.getASTNodeFor(this, fileName);
+    List<ControlFlowGraph> cfgList = new ControlFlowGraphBuilder().build(node);
+    List<ReachingDefinitions> expectedList = new BitVectorReachingDefinitionsBuilder()
+            .build(cfgList);
+    List<ReachingDefinitions> actualList = new DemandReachingDefinitionsBuilder().build(cfgList);
+    for (int i = 0; i < cfgList.size(); ++i) {
+      for (Statement statement : cfgList.get(i).getReversePostorder()) {
+        ReachingDefinitions expected = expectedList.get(i);
+        ReachingDefinitions actual = actualList.get(i);
+        assertEquals(describe(expected.getReachingDefinitions(statement)),
+                describe(actual.getReachingDefinitions(statement)), fileName);
+        for (String name : List.of("a", "b", "c", "p", "x", "y")) {
+          assertEquals(describe(expected.getReachingDefinitions(statement, name)),
+                  describe(actual.getReachingDefinitions(statement, name)), fileName);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should match the bit vector builder when sequential, branching, and looping")
+  void should_MatchBitVector_when_BranchingAndLooping() {
+    assertSameAsBitVector("rdInputs/SequentialRD.java");
+    assertSameAsBitVector("rdInputs/Sequential2RD.java");
+    assertSameAsBitVector("rdInputs/BranchingRD.java");
+    assertSameAsBitVector("rdInputs/MergingRD.java");
+    assertSameAsBitVector("rdInputs/LoopingRD.java");
+    assertSameAsBitVector("rdInputs/MultipleMethodsRD.java");
+    assertSameAsBitVector("rdInputs/DefUseRD.java");
+    assertSameAsBitVector("dataflowInputs/DataflowIntegration.java");
+  }
+
+  @Test
+  @DisplayName("Should walk only back to the definition when one variable is asked for")
+  void should_WalkToDefinition_when_OneVariableAsked() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "dataflowInputs/DataflowIntegration.java");
+    ControlFlowGraph cfg = new ControlFlowGraphBuilder().build(node).get(0);
+    StatementTracker statementTracker = new StatementTracker(node);
+    DemandReachingDefinitionsBuilder.Solver solver =
+            (DemandReachingDefinitionsBuilder.Solver) new DemandReachingDefinitionsBuilder()
+                    .build(cfg);
+
+    // int a = p + 1; int b = a * 2; ... while (c < 10) { c = c + b; } return a + p;
+    Statement declarationB = statementTracker.getVariableDeclarationStatement(1);
+    Set<Definition> aAtB = solver.getReachingDefinitions(declarationB, "a");
+    assertAll("One step back",
+            () -> assertEquals(1, aAtB.size()),
+            () -> assertSame(statementTracker.getVariableDeclarationStatement(0),
+                    aAtB.iterator().next().getStatement()),
+            () -> assertEquals(1, solver.visitCount)
+    );
+
+    Statement loopBody = statementTracker.getExpressionStatement(2);
+    Statement whileStatement = statementTracker.getWhileStatement(0);
+    Set<Definition> bAtWhile = solver.getReachingDefinitions(whileStatement, "b");
+    int visitCount = solver.visitCount;
+    assertAll("Kept answers",
+            () -> assertSame(bAtWhile, solver.getReachingDefinitions(whileStatement, "b")),
+            () -> assertEquals(describe(bAtWhile),
+                    describe(solver.getReachingDefinitions(loopBody, "b"))),
+            () -> assertEquals(visitCount + 1, solver.visitCount)
+    );
+  }
+
+  @Test
+  @DisplayName("Should return null when the statement is not in the graph")
+  void should_ReturnNull_when_NotInGraph() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/SequentialRD.java");
+    ControlFlowGraph cfg = new ControlFlowGraphBuilder().build(node).get(0);
+    ReachingDefinitions reachingDefinitions = new DemandReachingDefinitionsBuilder().build(cfg);
+    Statement other = node.getAST().newEmptyStatement();
+    assertNull(reachingDefinitions.getReachingDefinitions(other));
+    assertNull(reachingDefinitions.getReachingDefinitions(other, "c"));
+  }
+}
@@ -0,0 +1,101 @@
+package edu.byu.cs329.rd;
+
+import edu.byu.cs329.TestUtils;
+import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
+import edu.byu.cs329.rd.MethodAnalysisBuilder.MethodAnalysis;
+import edu.byu.cs329.rd.ReachingDefinitions.Definition;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tests for MethodAnalysisBuilder")
+public class MethodAnalysisBuilderTests {
+
+  private Set<String> describe(Set<Definition> definitions) {
+    Set<String> descriptions = new HashSet<>();
+    for (Definition definition : definitions) {
+      descriptions.add(definition.getName().getIdentifier() + "@"
+              + System.identityHashCode(definition.getStatement()));
+    }
+    return descriptions;
+  }
+
+  private void assertSameAsSequential(ASTNode node, List<MethodAnalysis> analysisList) {
+    List<ControlFlowGraph> cfgList = new ControlFlowGraphBuilder().build(node);
+    List<ReachingDefinitions> rdList = new ReachingDefinitionsBuilder().build(cfgList);
+    assertEquals(cfgList.size(), analysisList.size());
+    for (int i = 0; i < cfgList.size(); ++i) {
+      ControlFlowGraph cfg = cfgList.get(i);
+      MethodAnalysis analysis = analysisList.get(i);
+      assertSame(cfg.getMethodDeclaration(), analysis.getMethodDeclaration());
+      assertSame(cfg.getMethodDeclaration(),
+              analysis.getControlFlowGraph().getMethodDeclaration());
+      assertSame(cfg.getStart(), analysis.getControlFlowGraph().getStart());
+      for (Statement statement : cfg.getReversePostorder()) {
+        assertEquals(describe(rdList.get(i).getReachingDefinitions(statement)),
+                describe(analysis.getReachingDefinitions().getReachingDefinitions(statement)));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should return analyses in source order when there are many methods")
+  void should_ReturnSourceOrder_when_ManyMethods() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/MultipleMethodsRD.java");
+    List<MethodAnalysis> analysisList = new MethodAnalysisBuilder().build(node);
+    List<MethodDeclaration> methodList = MethodAnalysisBuilder.getMethodDeclarations(node);
+    assertEquals(5, analysisList.size());
+    for (int i = 0; i < methodList.size(); ++i) {
+      assertSame(methodList.get(i), analysisList.get(i).getMethodDeclaration());
+    }
+    assertEquals("first", analysisList.get(0).getMethodDeclaration().getName().getIdentifier());
+    assertEquals("fifth", analysisList.get(4).getMethodDeclaration().getName().getIdentifier());
+  }
+
+  @Test
+  @DisplayName("Should match the sequential builders when run in parallel")
+  void should_MatchSequential_when_RunInParallel() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/MultipleMethodsRD.java");
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      MethodAnalysisBuilder builder = new MethodAnalysisBuilder(pool);
+      for (int i = 0; i < 10; ++i) {
+        assertSameAsSequential(node, builder.build(node));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should match the sequential builders when reaching definitions are on demand")
+  void should_MatchSequential_when_DemandMode() {
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/MultipleMethodsRD.java");
+    List<MethodAnalysis> analysisList =
+            new MethodAnalysisBuilder(ReachingDefinitionsMode.DEMAND).build(node);
+    for (MethodAnalysis analysis : analysisList) {
+      assertTrue(analysis.getReachingDefinitions()
+              instanceof DemandReachingDefinitionsBuilder.Solver);
+    }
+    assertSameAsSequential(node, analysisList);
+  }
+
+  @Test
+  @DisplayName("Should return an empty list when there are no methods")
+  void should_ReturnEmpty_when_NoMethods() {
+    assertTrue(new MethodAnalysisBuilder().build(List.of()).isEmpty());
+    ASTNode node = TestUtils.getASTNodeFor(this, "rdInputs/SequentialRD.java");
+    assertSameAsSequential(node, new MethodAnalysisBuilder().build(node));
+  }
+}
@@ -1,6 +1,7 @@
 package edu.byu.cs329.rd;
 
 import edu.byu.cs329.cfg.ControlFlowGraph;
+import edu.byu.cs329.cfg.ControlFlowGraphUtils;
 import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.jdt.core.dom.Assignment;
@@ -26,6 +27,9 @@ public class MockUtils {
     ControlFlowGraph cfg = mock(ControlFlowGraph.class);
     Statement statement = mock(Statement.class);
     when(cfg.getStart()).thenReturn(statement);
+    // Walk the stubbed edges when asked, since they are stubbed after this
+    when(cfg.getReversePostorder()).thenAnswer(
+        invocation -> ControlFlowGraphUtils.getReversePostorder(cfg.getStart(), cfg::getSuccs));
     MethodDeclaration methodDeclaration = mock(MethodDeclaration.class);
     VariableDeclaration firstParameter = newMockForVariableDeclaration(first);
     VariableDeclaration secondParameter = newMockForVariableDeclaration(second);
@@ -41,6 +45,9 @@ public class MockUtils {
     ControlFlowGraph cfg = mock(ControlFlowGraph.class);
     Statement statement = mock(Statement.class);
     when(cfg.getStart()).thenReturn(statement);
+    // Walk the stubbed edges when asked, since they are stubbed after this
+    when(cfg.getReversePostorder()).thenAnswer(
+        invocation -> ControlFlowGraphUtils.getReversePostorder(cfg.getStart(), cfg::getSuccs));
     MethodDeclaration methodDeclaration = mock(MethodDeclaration.class);
     List<VariableDeclaration> parameterList = new ArrayList<>();
     when(methodDeclaration.parameters()).thenReturn(parameterList);
@@ -64,12 +71,15 @@ public class MockUtils {
   /**
    * VariableDeclarationStatement
    *    Mock that fragments() returns List<VariableDeclaration>
+   *    Mock that each fragment has an initializer, so it defines the name
    */
   public static VariableDeclarationStatement newMockForVariableDeclarationStatement(String name) {
     VariableDeclarationStatement declaration = mock(VariableDeclarationStatement.class);
     List<VariableDeclaration> vdList = new ArrayList<>();
     // Mock name and identifier via call
     VariableDeclaration variableDeclaration = newMockForVariableDeclaration(name);
+    NumberLiteral initializer = mock(NumberLiteral.class);
+    when(variableDeclaration.getInitializer()).thenReturn(initializer);
     vdList.add(variableDeclaration);
     // Mock fragments()
     when(declaration.fragments()).thenReturn(vdList);
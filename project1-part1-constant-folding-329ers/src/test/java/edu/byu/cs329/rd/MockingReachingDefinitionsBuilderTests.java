@@ -50,7 +50,7 @@ public class MockingReachingDefinitionsBuilderTests {
 
   private boolean doesDefineParam(String name, final Set<ReachingDefinitions.Definition> definitions) {
     for (ReachingDefinitions.Definition definition : definitions) {
-      if (definition.name.getIdentifier().equals(name) && definition.statement == null) {
+      if (definition.getName().getIdentifier().equals(name) && definition.getStatement() == null) {
         return true;
       }
     }
@@ -59,7 +59,7 @@ public class MockingReachingDefinitionsBuilderTests {
 
   private boolean doesDefineStatement(String name, final Set<ReachingDefinitions.Definition> definitions) {
     for (ReachingDefinitions.Definition definition : definitions) {
-      if (definition.name.getIdentifier().equals(name) && definition.statement != null) {
+      if (definition.getName().getIdentifier().equals(name) && definition.getStatement() != null) {
         return true;
       }
     }
@@ -490,8 +490,8 @@ public class MockingReachingDefinitionsBuilderTests {
     /**
      * W2
      */
-    // W2 preds
-    when(cfg.getPreds(w2)).thenReturn(createSingleSet(s1));
+    // W2 preds, including the back edge from the body
+    when(cfg.getPreds(w2)).thenReturn(createDoubleSet(s1, s3));
 
     // W2 succs
     when(cfg.getSuccs(w2)).thenReturn(createDoubleSet(s3, b0));
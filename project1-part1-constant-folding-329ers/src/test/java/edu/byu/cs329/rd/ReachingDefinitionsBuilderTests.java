@@ -5,6 +5,7 @@ import edu.byu.cs329.cfg.ControlFlowGraph;
 import edu.byu.cs329.cfg.ControlFlowGraphBuilder;
 import edu.byu.cs329.rd.ReachingDefinitions.Definition;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -41,7 +42,7 @@ public class ReachingDefinitionsBuilderTests {
 
   private boolean doesDefineParam(String name, final Set<Definition> definitions) {
     for (Definition definition : definitions) {
-      if (definition.name.getIdentifier().equals(name) && definition.statement == null) {
+      if (definition.getName().getIdentifier().equals(name) && definition.getStatement() == null) {
         return true;
       }
     }
@@ -58,7 +59,7 @@ public class ReachingDefinitionsBuilderTests {
 
   private boolean doesDefineStatement(String name, final Set<Definition> definitions) {
     for (Definition definition : definitions) {
-      if (definition.name.getIdentifier().equals(name) && definition.statement != null) {
+      if (definition.getName().getIdentifier().equals(name) && definition.getStatement() != null) {
         return true;
       }
     }
@@ -134,24 +135,19 @@ public class ReachingDefinitionsBuilderTests {
     ReachingDefinitions reachingDefinitions = getReachingDefinitions(controlFlowGraph);
 
     Statement end = controlFlowGraph.getEnd();
-    Set<Statement> ifChildStatements = controlFlowGraph.getPreds(end);
-
-    // S3 - First child
-    Statement s3 = ifChildStatements.iterator().next();
-    Set<Definition> s3Definitions = reachingDefinitions.getReachingDefinitions(s3);
-    assertAll("Assert child contains a",
-            () -> assertEquals(1, s3Definitions.size()),
-            () -> assertTrue(doesDefineStatement("a", s3Definitions))
-    );
-
-
-    // S4 - Second child
-    Statement s4 = ifChildStatements.iterator().next();
-    Set<Definition> s4Definitions = reachingDefinitions.getReachingDefinitions(s4);
-    assertAll("Assert child contains a",
-            () -> assertEquals(1, s4Definitions.size()),
-            () -> assertTrue(doesDefineStatement("a", s4Definitions))
-    );
+    Statement i2 = controlFlowGraph.getSuccs(controlFlowGraph.getStart()).iterator().next();
+    Set<Statement> ifChildStatements = new HashSet<>(controlFlowGraph.getSuccs(i2));
+    ifChildStatements.remove(end);
+    assertEquals(2, ifChildStatements.size());
+
+    // S3 and S4 - each child sees only the definition before the branch
+    for (Statement child : ifChildStatements) {
+      Set<Definition> childDefinitions = reachingDefinitions.getReachingDefinitions(child);
+      assertAll("Assert child contains a",
+              () -> assertEquals(1, childDefinitions.size()),
+              () -> assertTrue(doesDefineStatement("a", childDefinitions))
+      );
+    }
   }
 
   @Test
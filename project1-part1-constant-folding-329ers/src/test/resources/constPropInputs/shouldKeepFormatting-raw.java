@@ -0,0 +1,10 @@
+package constPropInputs;
+
+public class ShouldKeepFormatting {
+  // The comments and spacing stay as they are
+  public int name() {
+    int x = 5;      // five
+    int y = x;
+    return   y;     // y is five
+  }
+}
@@ -0,0 +1,10 @@
+public class Name {
+  public int name() {
+    Integer a = 1000;
+    Integer b = 1000;
+    if (a == b) {
+      return 1;
+    }
+    return 2;
+  }
+}
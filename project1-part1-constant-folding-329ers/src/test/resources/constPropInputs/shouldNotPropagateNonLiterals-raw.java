@@ -0,0 +1,8 @@
+public class Name {
+  public int name(int p) {
+    int a = 3;
+    int b = p;
+    int c = a + b;
+    return c;
+  }
+}
@@ -0,0 +1,9 @@
+public class Name {
+  public boolean name() {
+    String s = "ab";
+    String t = "a";
+    t = t + "b";
+    boolean q = "ab" == t;
+    return q;
+  }
+}
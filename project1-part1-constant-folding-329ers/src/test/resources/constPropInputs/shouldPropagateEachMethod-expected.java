@@ -0,0 +1,17 @@
+public class Name() {
+  public int first() {
+    int x = 3;
+    return 3;
+  }
+
+  public int second() {
+    int y = 4;
+    int z = 5;
+    return 5;
+  }
+
+  public boolean third() {
+    boolean b = true;
+    return true;
+  }
+}
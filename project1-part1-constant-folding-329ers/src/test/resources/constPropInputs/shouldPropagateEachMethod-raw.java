@@ -0,0 +1,17 @@
+public class Name() {
+  public int first() {
+    int x = 3;
+    return x;
+  }
+
+  public int second() {
+    int y = 4;
+    int z = y + 1;
+    return z;
+  }
+
+  public boolean third() {
+    boolean b = true;
+    return b;
+  }
+}
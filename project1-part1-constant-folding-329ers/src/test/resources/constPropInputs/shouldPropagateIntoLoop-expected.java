@@ -0,0 +1,10 @@
+public class Name() {
+  public int name() {
+    int i = 0;
+    int k = 3;
+    while (i < 10) {
+      i = i + 3;
+    }
+    return 3;
+  }
+}
@@ -0,0 +1,8 @@
+public class Name() {
+  public int name() {
+    int x = 1;
+    int y;
+    y = 5;
+    return 5;
+  }
+}
@@ -0,0 +1,12 @@
+public class Name() {
+  public int name() {
+    int x = 1;
+    int y;
+    if (x < 2) {
+      y = 5;
+    } else {
+      y = 6;
+    }
+    return y;
+  }
+}
@@ -0,0 +1,16 @@
+public class DataflowIntegration {
+  public int name(int p) {
+    int a = p + 1;
+    int b = a * 2;
+    int c = 0;
+    if (b > 4) {
+      c = a + p;
+    } else {
+      a = 3;
+    }
+    while (c < 10) {
+      c = c + b;
+    }
+    return a + p;
+  }
+}
@@ -0,0 +1,14 @@
+package foldingInputs.block;
+
+public class Name {
+  public int name(int a) {
+    int b = a;
+    {
+      b = b + 1;
+      {
+        b = b + 2;
+      }
+    }
+    return b;
+  }
+}
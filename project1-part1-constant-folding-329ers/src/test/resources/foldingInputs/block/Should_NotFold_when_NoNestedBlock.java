@@ -0,0 +1,11 @@
+package foldingInputs.block;
+
+public class Name {
+  public int name(int a) {
+    int b = a;
+    if (b > 0) {
+      b = b + 1;
+    }
+    return b;
+  }
+}
@@ -0,0 +1,17 @@
+package constantExpression;
+
+public class Name {
+  public void name() {
+    int arithmetic = 54;
+    int wrapped = -2;
+    int minimum = 2147483647;
+    int shifted = 13;
+    int bitwise = 63;
+    int complement = 7;
+    long longs = 1111511627776L;
+    long mixed = 2147483648L;
+    int chars = 98;
+    boolean relations = true;
+    boolean logical = true;
+  }
+}
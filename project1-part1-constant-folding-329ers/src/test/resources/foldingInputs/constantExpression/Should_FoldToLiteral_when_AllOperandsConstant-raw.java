@@ -0,0 +1,17 @@
+package constantExpression;
+
+public class Name {
+  public void name() {
+    int arithmetic = 7 * 6 - 20 / 3 % 4 + (10 - 3) * 2;
+    int wrapped = 2147483647 * 2;
+    int minimum = -2147483648 - 1;
+    int shifted = (1 << 33) + (-16 >> 2) + (-16 >>> 28);
+    int bitwise = (0xF0 & 0x3C) | (012 ^ 5);
+    int complement = ~0 + +5 - -(3);
+    long longs = 3000000000L * 4 + (1L << 40);
+    long mixed = 2147483647 + 1L;
+    int chars = 'a' + 1;
+    boolean relations = 3 >= 3 && 2 > 3 || 4 <= 5 && 6 != 7 && 'a' == 97;
+    boolean logical = (true ^ false) & !(false | false) && true == true;
+  }
+}
@@ -0,0 +1,15 @@
+package constantExpression;
+
+public class Name {
+  public void name(int a, String s) {
+    int divide = 1 / 0;
+    long remainder = 5L % 0;
+    int negative = -5;
+    long negativeLong = -9223372036854775808L;
+    int variable = a * 2 + 1;
+    boolean unknown = this.hashCode() > 0 && false;
+    double real = 1.5 * 2;
+    String text = s + 1 + 2;
+    char c = 'a';
+  }
+}
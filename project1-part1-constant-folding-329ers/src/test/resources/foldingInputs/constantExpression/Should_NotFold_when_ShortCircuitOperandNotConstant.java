@@ -0,0 +1,19 @@
+package constantExpression;
+
+public class Name {
+  boolean g() {
+    return true;
+  }
+
+  public void name() {
+    while (false && g()) {
+      g();
+    }
+    boolean skipped = false && this.hashCode() > 0;
+    boolean known = true || this.hashCode() > 0;
+    while (true || g()) {
+      g();
+    }
+    g();
+  }
+}
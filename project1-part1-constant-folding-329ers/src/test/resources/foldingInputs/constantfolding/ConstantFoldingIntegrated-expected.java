@@ -15,7 +15,7 @@ public class Name {
     int res2 = 6;
 
     int res3 = 6;
-    int res4 = 3 - 3;
+    int res4 = 0;
     bool1 = true;
 
     int a = 0;
@@ -0,0 +1,16 @@
+package foldingInputs.constantfolding;
+
+/**
+ * Only the folded spans should change.
+ */
+public class ShouldKeepFormatting {
+  public int name(int a) {
+    int x = 3;   // three
+    a = a + 1;
+    a = 3;
+    return a    +    x;   // not folded
+  }
+
+  // Not touched at all
+  public   int   other() { return 7; }
+}
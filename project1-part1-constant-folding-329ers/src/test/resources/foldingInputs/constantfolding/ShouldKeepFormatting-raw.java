@@ -0,0 +1,20 @@
+package foldingInputs.constantfolding;
+
+/**
+ * Only the folded spans should change.
+ */
+public class ShouldKeepFormatting {
+  public int name(int a) {
+    int x = 1 + 2;   // three
+    {
+      a = a + 1;
+    }
+    if (true) {
+      a = 3;
+    }
+    return a    +    x;   // not folded
+  }
+
+  // Not touched at all
+  public   int   other() { return 7; }
+}
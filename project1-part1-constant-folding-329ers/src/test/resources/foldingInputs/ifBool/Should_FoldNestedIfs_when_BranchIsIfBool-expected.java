@@ -0,0 +1,11 @@
+package foldingInputs.ifBool;
+
+public class Name {
+  public void name() {
+    int b = 0;
+    {
+      b = 10;
+    }
+    b = 1;
+  }
+}
@@ -0,0 +1,15 @@
+package foldingInputs.ifBool;
+
+public class Name {
+  public void name() {
+    int b = 0;
+    if (true)
+      if (false) {
+        b = 5;
+      } else
+        if (true) {
+          b = 10;
+        }
+    b = 1;
+  }
+}
@@ -0,0 +1,9 @@
+package numericPlusInfix;
+
+public class Name {
+  public int name(int a) {
+    int b = 15;
+    int c = (3) + a;
+    return -2147483647;
+  }
+}
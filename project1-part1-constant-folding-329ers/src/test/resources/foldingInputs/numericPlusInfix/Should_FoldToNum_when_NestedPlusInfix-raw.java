@@ -0,0 +1,9 @@
+package numericPlusInfix;
+
+public class Name {
+  public int name(int a) {
+    int b = 1 + (2 + (3 + 4)) + 5;
+    int c = (1 + 2) + a;
+    return 2147483647 + 2;
+  }
+}
@@ -0,0 +1,7 @@
+package numericPlusInfix;
+
+public class Name {
+  public int name(int a) {
+    return 1 + 2 + a;
+  }
+}
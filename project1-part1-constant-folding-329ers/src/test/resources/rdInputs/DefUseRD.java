@@ -0,0 +1,12 @@
+package rd;
+
+public class DefUseRD {
+  public int name(int p) {
+    int a = 1;
+    int b = a + p;
+    if (b < 3) {
+      a = 2;
+    }
+    return a + b;
+  }
+}
@@ -0,0 +1,34 @@
+public class MultipleMethodsRD {
+  public int first(int a) {
+    int b = a;
+    b = b + 1;
+    return b;
+  }
+
+  public int second(int a) {
+    int x = 1;
+    if (a > x) {
+      x = 2;
+    } else {
+      x = 3;
+    }
+    return x;
+  }
+
+  public int third(int a) {
+    int i = 0;
+    while (i < a) {
+      i = i + 1;
+    }
+    return i;
+  }
+
+  public void fourth() {
+  }
+
+  public int fifth(int a, int b) {
+    int c = a;
+    c = b;
+    return c;
+  }
+}